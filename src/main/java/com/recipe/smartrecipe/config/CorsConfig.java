@@ -22,6 +22,7 @@ public class CorsConfig implements WebMvcConfigurer {
                 .allowedOrigins(origins)
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders("X-Next-Cursor", "Location", "Retry-After")
                 .allowCredentials(true)
                 .maxAge(3600);
     }
@@ -35,6 +36,9 @@ public class CorsConfig implements WebMvcConfigurer {
         }
         configuration.addAllowedMethod("*");
         configuration.addAllowedHeader("*");
+        configuration.addExposedHeader("X-Next-Cursor");
+        configuration.addExposedHeader("Location");
+        configuration.addExposedHeader("Retry-After");
         configuration.setAllowCredentials(true);
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,60 @@
+package com.recipe.smartrecipe.config;
+
+import com.recipe.smartrecipe.entity.IdBlocks;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Makes sure every ID block starts above the IDs already in its table.
+ *
+ * Rows inserted before pooled IDs were introduced used AUTO_INCREMENT, so a fresh
+ * {@code id_block} row would hand out IDs that already exist. Runs once at startup,
+ * after Hibernate has updated the schema and before any request is served.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class IdBlockInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void alignIdBlocks() {
+        IdBlocks.BLOCKS.forEach(this::alignBlock);
+    }
+
+    private void alignBlock(String block, String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        // The pooled optimizer hands out (value - allocationSize, value], so stay a full block above
+        long floor = (maxId != null ? maxId : 0L) + IdBlocks.ALLOCATION_SIZE + 1;
+
+        String update = "UPDATE " + IdBlocks.TABLE + " SET " + IdBlocks.VALUE_COLUMN + " = ? WHERE "
+                + IdBlocks.NAME_COLUMN + " = ? AND " + IdBlocks.VALUE_COLUMN + " < ?";
+        if (jdbcTemplate.update(update, floor, block, floor) > 0) {
+            log.info("Raised ID block '{}' to {}", block, floor);
+            return;
+        }
+
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + IdBlocks.TABLE + " WHERE " + IdBlocks.NAME_COLUMN + " = ?",
+                Integer.class, block);
+        if (existing != null && existing > 0) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.update("INSERT INTO " + IdBlocks.TABLE + " (" + IdBlocks.NAME_COLUMN + ", "
+                    + IdBlocks.VALUE_COLUMN + ") VALUES (?, ?)", block, floor);
+            log.info("Initialized ID block '{}' at {}", block, floor);
+        } catch (DuplicateKeyException e) {
+            // Another instance created the row first; make sure it is still high enough
+            jdbcTemplate.update(update, floor, block, floor);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.recipe.smartrecipe.config;
+
+import com.recipe.smartrecipe.service.TokenBucketLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Per-user rate limits on the endpoints that cost database writes or SendGrid quota.
+ *
+ * /generate/batch has no interceptor: the controller charges one /generate permit per item.
+ */
+@Configuration
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    private final boolean enabled;
+    private final TokenBucketLimiter generateLimiter;
+    private final RateLimitInterceptor generateLimit;
+    private final RateLimitInterceptor emailLimit;
+    private final RateLimitInterceptor bulkEmailLimit;
+
+    public RateLimitConfig(MeterRegistry meterRegistry,
+                           @Value("${recipe.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${recipe.rate-limit.idle-timeout:10m}") Duration idleTimeout,
+                           @Value("${recipe.rate-limit.maximum-buckets:200000}") long maximumBuckets,
+                           @Value("${recipe.rate-limit.generate.permits-per-second:2}") double generateRate,
+                           @Value("${recipe.rate-limit.generate.burst:21}") int generateBurst,
+                           @Value("${recipe.generate.batch.max-size:21}") int maxGenerateBatchSize,
+                           @Value("${recipe.rate-limit.email.permits-per-second:1}") double emailRate,
+                           @Value("${recipe.rate-limit.email.burst:5}") int emailBurst,
+                           @Value("${recipe.rate-limit.bulk-email.permits-per-second:0.1}") double bulkEmailRate,
+                           @Value("${recipe.rate-limit.bulk-email.burst:2}") int bulkEmailBurst) {
+        if (enabled && maxGenerateBatchSize > generateBurst) {
+            throw new IllegalStateException("recipe.generate.batch.max-size (" + maxGenerateBatchSize
+                    + ") must not exceed recipe.rate-limit.generate.burst (" + generateBurst + ")");
+        }
+        this.enabled = enabled;
+        this.generateLimiter = new TokenBucketLimiter(
+                "generate", generateRate, generateBurst, idleTimeout, maximumBuckets, meterRegistry);
+        this.generateLimit = new RateLimitInterceptor(generateLimiter);
+        this.emailLimit = new RateLimitInterceptor(new TokenBucketLimiter(
+                "email", emailRate, emailBurst, idleTimeout, maximumBuckets, meterRegistry));
+        this.bulkEmailLimit = new RateLimitInterceptor(new TokenBucketLimiter(
+                "bulk-email", bulkEmailRate, bulkEmailBurst, idleTimeout, maximumBuckets, meterRegistry));
+    }
+
+    /**
+     * The /generate limiter, shared with /generate/batch so a batch cannot bypass it
+     */
+    @Bean
+    @ConditionalOnProperty(name = "recipe.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+    public TokenBucketLimiter generateRateLimiter() {
+        return generateLimiter;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        registry.addInterceptor(generateLimit)
+                .addPathPatterns("/api/recipes/generate");
+        registry.addInterceptor(emailLimit)
+                .addPathPatterns("/api/recipes/send-email", "/api/recipes/reviews/send-email", "/api/recipes/test-email");
+        registry.addInterceptor(bulkEmailLimit)
+                .addPathPatterns("/api/recipes/send-email/bulk");
+    }
+}
@@ -0,0 +1,61 @@
+package com.recipe.smartrecipe.config;
+
+import com.recipe.smartrecipe.service.TokenBucketLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects requests over a client's rate limit with 429 and a Retry-After in whole seconds.
+ *
+ * Clients are keyed by their {@code X-USER-ID} header, or by remote address when it is missing
+ * or implausibly long.
+ */
+@Slf4j
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    static final String USER_HEADER = "X-USER-ID";
+    private static final int MAX_USER_ID_LENGTH = 64;
+
+    private final TokenBucketLimiter limiter;
+
+    public RateLimitInterceptor(TokenBucketLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (CorsUtils.isPreFlightRequest(request)) {
+            return true;
+        }
+        String client = clientKey(request);
+        long waitNanos = limiter.tryAcquire(client);
+        if (waitNanos == 0) {
+            return true;
+        }
+
+        long retryAfterSeconds = retryAfterSeconds(waitNanos);
+        log.debug("Rate limited {} on {}, retry after {}s", client, request.getRequestURI(), retryAfterSeconds);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return false;
+    }
+
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    public static String clientKey(HttpServletRequest request) {
+        String userId = request.getHeader(USER_HEADER);
+        if (userId != null && !userId.isBlank() && userId.length() <= MAX_USER_ID_LENGTH) {
+            return "user:" + userId.trim();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
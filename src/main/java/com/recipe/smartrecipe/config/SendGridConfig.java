@@ -0,0 +1,55 @@
+package com.recipe.smartrecipe.config;
+
+import com.sendgrid.Client;
+import com.sendgrid.SendGrid;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One SendGrid client for the whole application, backed by a pooled HTTP client so sends reuse
+ * keep-alive connections instead of opening a new TLS connection per email.
+ */
+@Configuration
+public class SendGridConfig {
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient sendGridHttpClient(@Value("${sendgrid.pool.max-connections:20}") int maxConnections,
+                                                  @Value("${sendgrid.connect-timeout:5s}") Duration connectTimeout,
+                                                  @Value("${sendgrid.read-timeout:30s}") Duration readTimeout) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        // Every request goes to the same host
+        connectionManager.setDefaultMaxPerRoute(maxConnections);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) connectTimeout.toMillis())
+                .setConnectionRequestTimeout((int) connectTimeout.toMillis())
+                .setSocketTimeout((int) readTimeout.toMillis())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictIdleConnections(60, TimeUnit.SECONDS)
+                .build();
+    }
+
+    @Bean
+    public SendGrid sendGrid(CloseableHttpClient sendGridHttpClient,
+                             @Value("${sendgrid.api.key}") String apiKey,
+                             @Value("${sendgrid.host:api.sendgrid.com}") String host,
+                             @Value("${sendgrid.https:true}") boolean https) {
+        // The client's "test" flag switches it to plain HTTP, for a local stub server
+        SendGrid sendGrid = new SendGrid(apiKey, new Client(sendGridHttpClient, !https));
+        sendGrid.setHost(host);
+        return sendGrid;
+    }
+}
@@ -1,28 +1,64 @@
 package com.recipe.smartrecipe.controller;
 
+import com.recipe.smartrecipe.dto.CursorPage;
+import com.recipe.smartrecipe.dto.PageCursor;
 import com.recipe.smartrecipe.dto.RecipeRequest;
 import com.recipe.smartrecipe.dto.RecipeResponse;
 import com.recipe.smartrecipe.dto.EmailRequest;
+import com.recipe.smartrecipe.dto.BulkEmailRequest;
+import com.recipe.smartrecipe.dto.RecipientStatus;
 import com.recipe.smartrecipe.dto.ReviewRequest;
 import com.recipe.smartrecipe.dto.ReviewResponse;
 import com.recipe.smartrecipe.dto.ReviewEmailRequest;
 import com.recipe.smartrecipe.dto.LoggedMealRequest;
 import com.recipe.smartrecipe.dto.LoggedMealResponse;
+import com.recipe.smartrecipe.config.RateLimitInterceptor;
 import com.recipe.smartrecipe.entity.Recipe;
+import com.recipe.smartrecipe.entity.RecipeRatingStats;
 import com.recipe.smartrecipe.entity.RecipeRequestEntity;
+import com.recipe.smartrecipe.service.IngredientMatch;
+import com.recipe.smartrecipe.service.RecipeExportService;
 import com.recipe.smartrecipe.service.RecipeService;
+import com.recipe.smartrecipe.service.BulkEmailSender;
+import com.recipe.smartrecipe.service.EmailJob;
+import com.recipe.smartrecipe.service.EmailMessage;
+import com.recipe.smartrecipe.service.EmailQueue;
 import com.recipe.smartrecipe.service.EmailService;
 import com.recipe.smartrecipe.service.ReviewService;
 import com.recipe.smartrecipe.service.LoggedMealService;
+import com.recipe.smartrecipe.service.TokenBucketLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/recipes")
@@ -32,8 +68,29 @@ public class RecipeController {
 
     private final RecipeService recipeService;
     private final EmailService emailService;
+    private final EmailQueue emailQueue;
+    private final BulkEmailSender bulkEmailSender;
     private final ReviewService reviewService;
     private final LoggedMealService loggedMealService;
+    private final RecipeExportService recipeExportService;
+    private final Validator validator;
+    // Absent when rate limits are off
+    private final ObjectProvider<TokenBucketLimiter> generateRateLimiter;
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    @Value("${recipe.batch.max-size:500}")
+    private int maxBatchSize;
+
+    @Value("${recipe.generate.batch.max-size:21}")
+    private int maxGenerateBatchSize;
+
+    @Value("${recipe.pagination.max-page-size:200}")
+    private int maxPageSize;
+
+    @Value("${recipe.email.bulk.max-recipients:10000}")
+    private int maxBulkRecipients;
 
     // ===== RECIPE GENERATION =====
     @PostMapping("/generate")
@@ -52,11 +109,77 @@ public class RecipeController {
             
         } catch (Exception e) {
             log.error("Error generating recipe for user {}: {}", userId, e.getMessage(), e);
-            RecipeResponse errorResponse = new RecipeResponse("", "error");
-            errorResponse.setMessage("Failed to generate recipe: " + e.getMessage());
-            return ResponseEntity.internalServerError().body(errorResponse);
+            return ResponseEntity.internalServerError().body(RecipeResponse.error("Failed to generate recipe: " + e.getMessage()));
         }
     }
+    
+    // Generate a batch of recipes for one user; 200 with one response per request, in input order
+    @PostMapping("/generate/batch")
+    public ResponseEntity<List<RecipeResponse>> generateRecipes(
+            @RequestBody List<RecipeRequest> requests,
+            @RequestHeader("X-USER-ID") Long userId,
+            HttpServletRequest httpRequest) {
+        
+        log.info("Generating batch of {} recipes for user {}", requests.size(), userId);
+        if (requests.isEmpty() || requests.size() > maxGenerateBatchSize) {
+            log.warn("Rejected recipe generation batch with {} requests (max {})", requests.size(), maxGenerateBatchSize);
+            return ResponseEntity.badRequest().build();
+        }
+        
+        // Each item costs what one /generate call does, so it takes one permit from the same bucket
+        TokenBucketLimiter limiter = generateRateLimiter.getIfAvailable();
+        if (limiter != null) {
+            long waitNanos = limiter.tryAcquire(RateLimitInterceptor.clientKey(httpRequest), requests.size());
+            if (waitNanos > 0) {
+                log.debug("Rate limited recipe generation batch of {} for user {}", requests.size(), userId);
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, Long.toString(RateLimitInterceptor.retryAfterSeconds(waitNanos)))
+                        .build();
+            }
+        }
+        
+        try {
+            // Invalid items are answered here, so they cannot fail the rest of the batch
+            RecipeResponse[] responses = new RecipeResponse[requests.size()];
+            List<Integer> valid = new ArrayList<>(requests.size());
+            for (int i = 0; i < requests.size(); i++) {
+                String violations = violations(requests.get(i));
+                if (violations == null) {
+                    valid.add(i);
+                } else {
+                    responses[i] = RecipeResponse.error(violations);
+                }
+            }
+            
+            if (!valid.isEmpty()) {
+                List<RecipeResponse> generated = recipeService.generateRecipes(
+                        valid.stream().map(requests::get).toList(), userId);
+                for (int i = 0; i < valid.size(); i++) {
+                    responses[valid.get(i)] = generated.get(i);
+                }
+            }
+            return ResponseEntity.ok(Arrays.asList(responses));
+            
+        } catch (Exception e) {
+            log.error("Error generating recipe batch for user {}: {}", userId, e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    // Bean validation messages for one batch item, or null when it is valid
+    private String violations(RecipeRequest request) {
+        if (request == null) {
+            return "Recipe request is required";
+        }
+        Set<ConstraintViolation<RecipeRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
 
     // ===== RECIPE CRUD ENDPOINTS =====
     
@@ -73,13 +196,43 @@ public class RecipeController {
         }
     }
     
-    // Get Recipe by ID
+    // Create Recipes in bulk
+    @PostMapping("/batch")
+    public ResponseEntity<List<Recipe>> createRecipes(@Valid @RequestBody List<Recipe> recipes) {
+        log.info("Creating {} recipes in bulk", recipes.size());
+        if (recipes.isEmpty() || recipes.size() > maxBatchSize) {
+            log.warn("Rejected bulk recipe request with {} recipes (max {})", recipes.size(), maxBatchSize);
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            List<Recipe> createdRecipes = recipeService.createRecipes(recipes);
+            return ResponseEntity.ok(createdRecipes);
+        } catch (Exception e) {
+            log.error("Error creating recipes in bulk: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    // Get Recipe by ID; If-None-Match is answered from the version alone
     @GetMapping("/{id}")
-    public ResponseEntity<Recipe> getRecipeById(@PathVariable Long id) {
+    public ResponseEntity<Recipe> getRecipeById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Fetching recipe with ID: {}", id);
         try {
+            if (ifNoneMatch != null) {
+                Optional<Long> version = recipeService.getRecipeVersion(id);
+                if (version.isEmpty()) {
+                    return ResponseEntity.notFound().build();
+                }
+                if (notModified(ifNoneMatch, recipeETag(id, version.get()))) {
+                    return notModifiedResponse(recipeETag(id, version.get()));
+                }
+            }
             return recipeService.getRecipeById(id)
-                    .map(ResponseEntity::ok)
+                    .map(recipe -> ResponseEntity.ok()
+                            .eTag(recipeETag(recipe.getId(), recipe.getVersion()))
+                            .body(recipe))
                     .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
             log.error("Error fetching recipe with ID {}: {}", id, e.getMessage(), e);
@@ -104,19 +257,32 @@ public class RecipeController {
         }
     }
     
-    // Get All Recipes (Admin)
+    // Get All Recipes (Admin), paged by cursor
     @GetMapping
-    public ResponseEntity<List<Recipe>> getAllRecipes() {
+    public ResponseEntity<List<Recipe>> getAllRecipes(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
         log.info("Fetching all recipes");
         try {
-            List<Recipe> recipes = recipeService.getAllRecipes();
-            return ResponseEntity.ok(recipes);
+            return pageResponse(recipeService.getAllRecipes(cursor, pageSize(size)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected recipe page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Error fetching all recipes: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
         }
     }
     
+    // Export Recipes as NDJSON (Admin), optionally only those created since a timestamp
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportRecipes(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        log.info("Exporting recipes created since {} (gzip: {})", since, gzip);
+        return exportResponse(since, gzip, recipeExportService::exportRecipes);
+    }
+    
     // Update Recipe
     @PutMapping("/{id}")
     public ResponseEntity<Recipe> updateRecipe(
@@ -201,17 +367,30 @@ public class RecipeController {
     
     // Get All Recipe Requests (Admin)
     @GetMapping("/requests")
-    public ResponseEntity<List<RecipeRequestEntity>> getAllRecipeRequests() {
+    public ResponseEntity<List<RecipeRequestEntity>> getAllRecipeRequests(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
         log.info("Fetching all recipe requests");
         try {
-            List<RecipeRequestEntity> requests = recipeService.getAllRecipeRequests();
-            return ResponseEntity.ok(requests);
+            return pageResponse(recipeService.getAllRecipeRequests(cursor, pageSize(size)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected recipe request page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Error fetching all recipe requests: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
         }
     }
     
+    // Export Recipe Requests as NDJSON (Admin), optionally only those created since a timestamp
+    @GetMapping("/requests/export")
+    public ResponseEntity<StreamingResponseBody> exportRecipeRequests(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        log.info("Exporting recipe requests created since {} (gzip: {})", since, gzip);
+        return exportResponse(since, gzip, recipeExportService::exportRecipeRequests);
+    }
+    
     // Update Recipe Request
     @PutMapping("/requests/{id}")
     public ResponseEntity<RecipeRequestEntity> updateRecipeRequest(
@@ -250,17 +429,22 @@ public class RecipeController {
 
     // ===== SEARCH AND FILTER ENDPOINTS =====
     
-    // Search Recipes by Ingredients
+    // Search Recipes by Ingredients; comma-separated ingredients are matched "all" (default) or "any"
     @GetMapping("/user/{userId}/search")
     public ResponseEntity<List<Recipe>> searchRecipesByIngredients(
             @PathVariable Long userId,
-            @RequestParam String ingredient) {
+            @RequestParam String ingredient,
+            @RequestParam(defaultValue = "all") String match) {
         
         log.info("Searching recipes for user {} containing ingredient: {}", userId, ingredient);
         
         try {
-            List<Recipe> recipes = recipeService.searchRecipesByIngredients(userId, ingredient);
+            IngredientMatch ingredientMatch = IngredientMatch.valueOf(match.toUpperCase(Locale.ROOT));
+            List<Recipe> recipes = recipeService.searchRecipesByIngredients(userId, ingredient, ingredientMatch);
             return ResponseEntity.ok(recipes);
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected ingredient search with match '{}'", match);
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Error searching recipes for user {}: {}", userId, e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
@@ -337,28 +521,69 @@ public class RecipeController {
 
     // ===== EMAIL SERVICE =====
     
+    // Queue a recipe email; 202 with a job to poll, 503 when the send queue is full
     @PostMapping("/send-email")
-    public ResponseEntity<String> sendRecipeEmail(@Valid @RequestBody EmailRequest emailRequest) {
-        log.info("Sending recipe email to: {}", emailRequest.getEmail());
+    public ResponseEntity<EmailJob> sendRecipeEmail(@Valid @RequestBody EmailRequest emailRequest) {
+        log.info("Queueing recipe email to: {}", emailRequest.getEmail());
         
-        try {
-            boolean emailSent = emailService.sendRecipeEmail(
-                emailRequest.getEmail(), 
-                emailRequest.getRecipeContent(), 
+        return queueEmail(() -> emailService.recipeEmail(
+                emailRequest.getEmail(),
+                emailRequest.getRecipeContent(),
                 emailRequest.getRecipeTitle()
+        ));
+    }
+    
+    // Queue one recipe email for many recipients; 202 with a status per address, 503 when none could be queued
+    @PostMapping("/send-email/bulk")
+    public ResponseEntity<List<RecipientStatus>> sendBulkRecipeEmail(@Valid @RequestBody BulkEmailRequest emailRequest) {
+        log.info("Queueing recipe email to {} recipients", emailRequest.getEmails().size());
+        if (emailRequest.getEmails().size() > maxBulkRecipients) {
+            log.warn("Rejected bulk email with {} recipients (max {})", emailRequest.getEmails().size(), maxBulkRecipients);
+            return ResponseEntity.badRequest().build();
+        }
+        
+        try {
+            List<RecipientStatus> statuses = bulkEmailSender.sendRecipe(
+                    emailRequest.getEmails(),
+                    emailRequest.getRecipeContent(),
+                    emailRequest.getRecipeTitle()
             );
-            
-            if (emailSent) {
-                log.info("Recipe email sent successfully to: {}", emailRequest.getEmail());
-                return ResponseEntity.ok("Recipe sent successfully to " + emailRequest.getEmail());
-            } else {
-                log.error("Failed to send recipe email to: {}", emailRequest.getEmail());
-                return ResponseEntity.internalServerError().body("Failed to send email");
+            boolean anyQueued = statuses.stream().anyMatch(s -> s.status() == RecipientStatus.Status.QUEUED);
+            boolean anyRejected = statuses.stream().anyMatch(s -> s.status() == RecipientStatus.Status.REJECTED);
+            if (!anyQueued && anyRejected) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "5")
+                        .body(statuses);
             }
-            
+            return ResponseEntity.accepted().body(statuses);
         } catch (Exception e) {
-            log.error("Error sending recipe email to {}: {}", emailRequest.getEmail(), e.getMessage(), e);
-            return ResponseEntity.internalServerError().body("Error sending email: " + e.getMessage());
+            log.error("Error queueing bulk email: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    // Status of a queued email
+    @GetMapping("/email-jobs/{id}")
+    public ResponseEntity<EmailJob> getEmailJob(@PathVariable String id) {
+        return emailQueue.getJob(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    private ResponseEntity<EmailJob> queueEmail(Supplier<EmailMessage> message) {
+        try {
+            EmailJob job = emailQueue.submit(message.get());
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/recipes/email-jobs/" + job.getId()))
+                    .body(job);
+        } catch (RejectedExecutionException e) {
+            log.warn("Email queue is full, rejecting send");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        } catch (Exception e) {
+            log.error("Error queueing email: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
         }
     }
 
@@ -419,14 +644,43 @@ public class RecipeController {
         }
     }
     
+    // Get the latest reviews across all recipes
+    @GetMapping("/reviews/recent")
+    public ResponseEntity<List<ReviewResponse>> getRecentReviews(@RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        try {
+            return ResponseEntity.ok(reviewService.getRecentReviews(limit));
+        } catch (Exception e) {
+            log.error("Error fetching recent reviews: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
     // Get Reviews by Recipe ID
     @GetMapping("/{recipeId}/reviews")
-    public ResponseEntity<List<ReviewResponse>> getReviewsByRecipeId(@PathVariable Long recipeId) {
+    public ResponseEntity<List<ReviewResponse>> getReviewsByRecipeId(
+            @PathVariable Long recipeId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Fetching reviews for recipe ID: {}", recipeId);
         
         try {
-            List<ReviewResponse> reviews = reviewService.getReviewsByRecipeId(recipeId);
-            return ResponseEntity.ok(reviews);
+            int pageSize = pageSize(size);
+            // Read before the page, so a concurrent change can only make the tag older than the body
+            String etag = reviewsETag(recipeId, cursor, pageSize);
+            if (ifNoneMatch != null && notModified(ifNoneMatch, etag)) {
+                return notModifiedResponse(etag);
+            }
+            ResponseEntity<List<ReviewResponse>> page =
+                    pageResponse(reviewService.getReviewsByRecipeId(recipeId, cursor, pageSize));
+            return ResponseEntity.ok().headers(page.getHeaders()).eTag(etag).body(page.getBody());
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected review page request for recipe {}: {}", recipeId, e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Error fetching reviews for recipe {}: {}", recipeId, e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
@@ -435,12 +689,17 @@ public class RecipeController {
     
     // Get Reviews by User ID
     @GetMapping("/user/{userId}/reviews")
-    public ResponseEntity<List<ReviewResponse>> getReviewsByUserId(@PathVariable Long userId) {
+    public ResponseEntity<List<ReviewResponse>> getReviewsByUserId(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
         log.info("Fetching reviews for user ID: {}", userId);
         
         try {
-            List<ReviewResponse> reviews = reviewService.getReviewsByUserId(userId);
-            return ResponseEntity.ok(reviews);
+            return pageResponse(reviewService.getReviewsByUserId(userId, cursor, pageSize(size)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected review page request for user {}: {}", userId, e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Error fetching reviews for user {}: {}", userId, e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
@@ -498,20 +757,30 @@ public class RecipeController {
         }
     }
     
-    // Get Recipe Statistics
+    // Get Recipe Statistics; If-None-Match is answered from the review version alone
     @GetMapping("/{recipeId}/stats")
-    public ResponseEntity<Map<String, Object>> getRecipeStats(@PathVariable Long recipeId) {
+    public ResponseEntity<Map<String, Object>> getRecipeStats(
+            @PathVariable Long recipeId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Fetching stats for recipe ID: {}", recipeId);
         
         try {
-            Double averageRating = reviewService.getAverageRating(recipeId);
-            Long reviewCount = reviewService.getReviewCount(recipeId);
+            if (ifNoneMatch != null) {
+                String etag = statsETag(recipeId, reviewService.getReviewVersion(recipeId));
+                if (notModified(ifNoneMatch, etag)) {
+                    return notModifiedResponse(etag);
+                }
+            }
+            RecipeRatingStats ratingStats = reviewService.getRatingStats(recipeId);
             
             Map<String, Object> stats = new HashMap<>();
-            stats.put("averageRating", averageRating);
-            stats.put("reviewCount", reviewCount);
+            stats.put("averageRating", Math.round(ratingStats.averageRating() * 10.0) / 10.0);
+            stats.put("reviewCount", ratingStats.getRatingCount());
+            stats.put("ratingHistogram", ratingStats.histogram());
             
-            return ResponseEntity.ok(stats);
+            return ResponseEntity.ok()
+                    .eTag(statsETag(recipeId, ratingStats.getReviewVersion()))
+                    .body(stats);
         } catch (Exception e) {
             log.error("Error fetching stats for recipe {}: {}", recipeId, e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
@@ -520,54 +789,16 @@ public class RecipeController {
     
     // Send Review via Email
     @PostMapping("/reviews/send-email")
-    public ResponseEntity<String> sendReviewEmail(@Valid @RequestBody ReviewEmailRequest emailRequest) {
-        log.info("Sending review email to: {}", emailRequest.getEmail());
+    public ResponseEntity<EmailJob> sendReviewEmail(@Valid @RequestBody ReviewEmailRequest emailRequest) {
+        log.info("Queueing review email to: {}", emailRequest.getEmail());
         
-        try {
-            String emailContent = createReviewEmailContent(
+        return queueEmail(() -> emailService.reviewEmail(
+                emailRequest.getEmail(),
                 emailRequest.getReviewContent(),
                 emailRequest.getRecipeTitle(),
                 emailRequest.getReviewerName(),
                 emailRequest.getRating()
-            );
-            
-            boolean emailSent = emailService.sendRecipeEmail(
-                emailRequest.getEmail(),
-                emailContent,
-                "Review for: " + emailRequest.getRecipeTitle()
-            );
-            
-            if (emailSent) {
-                log.info("Review email sent successfully to: {}", emailRequest.getEmail());
-                return ResponseEntity.ok("Review sent successfully to " + emailRequest.getEmail());
-            } else {
-                log.error("Failed to send review email to: {}", emailRequest.getEmail());
-                return ResponseEntity.internalServerError().body("Failed to send email");
-            }
-            
-        } catch (Exception e) {
-            log.error("Error sending review email to {}: {}", emailRequest.getEmail(), e.getMessage(), e);
-            return ResponseEntity.internalServerError().body("Error sending email: " + e.getMessage());
-        }
-    }
-    
-    // Helper method to create review email content
-    private String createReviewEmailContent(String reviewContent, String recipeTitle, 
-                                          String reviewerName, Integer rating) {
-        String stars = "★".repeat(rating != null ? rating : 0);
-        String reviewer = reviewerName != null ? reviewerName : "Anonymous";
-        
-        return String.format(
-            "Recipe Review\n\n" +
-            "Recipe: %s\n" +
-            "Reviewer: %s\n" +
-            "Rating: %s (%d/5)\n\n" +
-            "Review:\n" +
-            "%s\n\n" +
-            "---\n" +
-            "Generated by Smart Recipe Generator",
-            recipeTitle, reviewer, stars, rating != null ? rating : 0, reviewContent
-        );
+        ));
     }
 
     // ===== LOGGED MEALS ENDPOINTS =====
@@ -588,12 +819,17 @@ public class RecipeController {
     
     // Get Logged Meals by User Email
     @GetMapping("/logged-meals/user/{userEmail}")
-    public ResponseEntity<List<LoggedMealResponse>> getLoggedMealsByUserEmail(@PathVariable String userEmail) {
+    public ResponseEntity<List<LoggedMealResponse>> getLoggedMealsByUserEmail(
+            @PathVariable String userEmail,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
         log.info("Fetching logged meals for user: {}", userEmail);
         
         try {
-            List<LoggedMealResponse> loggedMeals = loggedMealService.getLoggedMealsByUserEmail(userEmail);
-            return ResponseEntity.ok(loggedMeals);
+            return pageResponse(loggedMealService.getLoggedMealsByUserEmail(userEmail, cursor, pageSize(size)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected logged meal page request for user {}: {}", userEmail, e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Error fetching logged meals for user {}: {}", userEmail, e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
@@ -615,4 +851,84 @@ public class RecipeController {
             return ResponseEntity.internalServerError().build();
         }
     }
+
+    // ===== PAGINATION =====
+    
+    private int pageSize(int requested) {
+        if (requested < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return Math.min(requested, maxPageSize);
+    }
+    
+    // The body stays a plain list; the cursor for the next page travels in a header
+    private static <T> ResponseEntity<List<T>> pageResponse(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
+    // ===== CONDITIONAL GET =====
+    
+    private static String recipeETag(Long id, long version) {
+        return "\"recipe-" + id + "-" + version + "\"";
+    }
+    
+    private static String statsETag(Long recipeId, long reviewVersion) {
+        return "\"stats-" + recipeId + "-" + reviewVersion + "\"";
+    }
+    
+    // Listings also show the recipe title, so the recipe's own version is part of the tag
+    private String reviewsETag(Long recipeId, String cursor, int size) {
+        long reviewVersion = reviewService.getReviewVersion(recipeId);
+        long recipeVersion = recipeService.getRecipeVersion(recipeId).orElse(0L);
+        // Cursors are base64url, so they go into the tag verbatim once they parse
+        String page = cursor != null ? PageCursor.decode(cursor).encode() : "first";
+        return "\"reviews-" + recipeId + "-" + reviewVersion + "-" + recipeVersion + "-" + page + "-" + size + "\"";
+    }
+    
+    // If-None-Match uses weak comparison, so a W/ prefix on the client's copy still matches
+    static boolean notModified(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static <T> ResponseEntity<T> notModifiedResponse(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+
+    // ===== EXPORT =====
+    
+    // Rows are written after the status line is sent, so export failures can only be logged
+    private static ResponseEntity<StreamingResponseBody> exportResponse(
+            LocalDateTime since, boolean gzip, BiFunction<LocalDateTime, OutputStream, Long> exporter) {
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                try (GZIPOutputStream compressed = new GZIPOutputStream(out, 8192)) {
+                    exporter.apply(since, compressed);
+                }
+            } else {
+                exporter.apply(since, out);
+            }
+        };
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(NDJSON);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
 }
@@ -0,0 +1,21 @@
+package com.recipe.smartrecipe.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkEmailRequest {
+    
+    // Checked one by one; invalid addresses are reported per recipient instead of failing the request
+    @NotEmpty(message = "At least one email address is required")
+    private List<String> emails;
+    
+    @NotBlank(message = "Recipe content is required")
+    private String recipeContent;
+    
+    @NotBlank(message = "Recipe title is required")
+    private String recipeTitle;
+}
@@ -0,0 +1,29 @@
+package com.recipe.smartrecipe.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list; {@code nextCursor} is null on the last page
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    /**
+     * Build a page from rows fetched with a limit of {@code size + 1}; the extra row only
+     * signals that another page exists and is not returned.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size,
+                                          Function<E, PageCursor> cursorOf,
+                                          Function<E, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+
+        List<T> items = new ArrayList<>(pageRows.size());
+        for (E row : pageRows) {
+            items.add(mapper.apply(row));
+        }
+        String nextCursor = hasNext ? cursorOf.apply(pageRows.get(size - 1)).encode() : null;
+        return new CursorPage<>(items, nextCursor);
+    }
+}
@@ -23,4 +23,10 @@ public class RecipeResponse {
         this.status = status;
         this.message = status.equals("success") ? "Recipe generated successfully" : "Failed to generate recipe";
     }
+    
+    public static RecipeResponse error(String message) {
+        RecipeResponse response = new RecipeResponse("", "error");
+        response.setMessage(message);
+        return response;
+    }
 }
@@ -0,0 +1,17 @@
+package com.recipe.smartrecipe.dto;
+
+/**
+ * What happened to one address of a bulk email; {@code jobId} is set when it was queued
+ */
+public record RecipientStatus(String email, Status status, String jobId) {
+
+    public enum Status {
+        QUEUED,
+        // Not a usable email address
+        INVALID,
+        // Already listed earlier in the same request
+        DUPLICATE,
+        // The email queue was full
+        REJECTED
+    }
+}
@@ -0,0 +1,84 @@
+package com.recipe.smartrecipe.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * An email waiting to be sent, or the record of one that was. Rows are claimed by whichever
+ * instance's poller locks them first; a claim is a lease that expires if the instance dies.
+ */
+@Entity
+@Table(name = "email_outbox", indexes = {
+        @Index(name = "idx_email_outbox_status_next_attempt", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_email_outbox_job_id", columnList = "job_id", unique = true)
+})
+@Data
+@NoArgsConstructor
+public class EmailOutbox {
+
+    public static final String QUEUED = "QUEUED";
+    public static final String SENDING = "SENDING";
+    public static final String RETRYING = "RETRYING";
+    public static final String SENT = "SENT";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "email_outbox_id")
+    @TableGenerator(name = "email_outbox_id", table = IdBlocks.TABLE, pkColumnName = IdBlocks.NAME_COLUMN,
+            valueColumnName = IdBlocks.VALUE_COLUMN, pkColumnValue = "email_outbox", allocationSize = IdBlocks.ALLOCATION_SIZE)
+    private Long id;
+
+    // Public handle returned to clients; not guessable like the numeric ID
+    @Column(name = "job_id", nullable = false, length = 36)
+    private String jobId;
+
+    // First recipient; the full list is in recipients when the email goes to more than one
+    @Column(name = "recipient", nullable = false)
+    private String recipient;
+
+    @Column(name = "recipients", columnDefinition = "TEXT")
+    private String recipientList;
+
+    @Column(name = "subject", nullable = false, length = 500)
+    private String subject;
+
+    @Column(name = "text_body", nullable = false, columnDefinition = "TEXT")
+    private String textBody;
+
+    @Column(name = "html_body", nullable = false, columnDefinition = "TEXT")
+    private String htmlBody;
+
+    @Column(name = "status", nullable = false, length = 16)
+    private String status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public List<String> getRecipients() {
+        return recipientList != null ? List.of(recipientList.split("\n")) : List.of(recipient);
+    }
+
+    public void setRecipients(List<String> recipients) {
+        this.recipient = recipients.get(0);
+        this.recipientList = recipients.size() > 1 ? String.join("\n", recipients) : null;
+    }
+}
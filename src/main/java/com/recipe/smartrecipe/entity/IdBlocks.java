@@ -0,0 +1,30 @@
+package com.recipe.smartrecipe.entity;
+
+import java.util.Map;
+
+/**
+ * Pooled ID allocation shared by the batch-inserted entities.
+ *
+ * IDs are handed out in blocks from the {@code id_block} table instead of MySQL AUTO_INCREMENT,
+ * which lets Hibernate batch and reorder inserts. Each block name matches the entity's table.
+ */
+public final class IdBlocks {
+
+    public static final String TABLE = "id_block";
+    public static final String NAME_COLUMN = "entity";
+    public static final String VALUE_COLUMN = "next_id";
+    public static final int ALLOCATION_SIZE = 50;
+
+    // Block name -> table whose existing IDs the block must start above
+    public static final Map<String, String> BLOCKS = Map.of(
+            "recipe", "recipe",
+            "recipe_request", "recipe_request",
+            "reviews", "reviews",
+            "logged_meal", "logged_meal",
+            "recipe_ingredient", "recipe_ingredient",
+            "email_outbox", "email_outbox"
+    );
+
+    private IdBlocks() {
+    }
+}
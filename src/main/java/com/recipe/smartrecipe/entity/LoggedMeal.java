@@ -7,14 +7,18 @@ import lombok.AllArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "logged_meal")
+@Table(name = "logged_meal", indexes = {
+        @Index(name = "idx_logged_meal_user_created_at_id", columnList = "user_email, created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class LoggedMeal {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "logged_meal_id")
+    @TableGenerator(name = "logged_meal_id", table = IdBlocks.TABLE, pkColumnName = IdBlocks.NAME_COLUMN,
+            valueColumnName = IdBlocks.VALUE_COLUMN, pkColumnValue = "logged_meal", allocationSize = IdBlocks.ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "user_email", nullable = false)
@@ -7,14 +7,22 @@ import lombok.AllArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "recipe")
+@Table(name = "recipe", indexes = {
+        @Index(name = "idx_recipe_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_recipe_user_meal_type_created_at", columnList = "user_id, meal_type, created_at"),
+        @Index(name = "idx_recipe_user_cuisine_created_at", columnList = "user_id, cuisine, created_at"),
+        @Index(name = "idx_recipe_user_cooking_time_created_at", columnList = "user_id, cooking_time, created_at"),
+        @Index(name = "idx_recipe_user_complexity_created_at", columnList = "user_id, complexity, created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Recipe {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "recipe_id")
+    @TableGenerator(name = "recipe_id", table = IdBlocks.TABLE, pkColumnName = IdBlocks.NAME_COLUMN,
+            valueColumnName = IdBlocks.VALUE_COLUMN, pkColumnValue = "recipe", allocationSize = IdBlocks.ALLOCATION_SIZE)
     private Long id;
     
     @Column(name = "user_id", nullable = false)
@@ -26,11 +34,96 @@ public class Recipe {
     @Column(name = "content", nullable = false, columnDefinition = "TEXT")
     private String content;
     
+    // Derived from the first line of content once, so listings never load the TEXT body
+    @Column(name = "title")
+    private String title;
+    
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
     
+    // Copied from the recipe request so filters do not need to join it
+    @Column(name = "meal_type", length = 50)
+    private String mealType;
+    
+    @Column(name = "cuisine", length = 50)
+    private String cuisine;
+    
+    @Column(name = "cooking_time", length = 50)
+    private String cookingTime;
+    
+    @Column(name = "complexity", length = 50)
+    private String complexity;
+    
+    // Bumped on every change; the strong ETag for GET /api/recipes/{id}
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+    
+    public static final String UNTITLED = "Untitled Recipe";
+    
+    private static final String TITLE_EMOJI = "🍳";
+    private static final String TITLE_SUFFIX = "RECIPE";
+    
+    /**
+     * Title shown in listings: the first line of the content without the emoji and "RECIPE" suffix.
+     * Scans only the first line, so it is cheap even for long recipes.
+     */
+    public static String titleOf(String content) {
+        if (content == null || content.isEmpty()) {
+            return UNTITLED;
+        }
+        
+        int lineEnd = content.indexOf('\n');
+        String firstLine = (lineEnd < 0 ? content : content.substring(0, lineEnd)).trim();
+        if (firstLine.isEmpty()) {
+            return UNTITLED;
+        }
+        
+        // Drop every emoji together with the whitespace after it
+        StringBuilder title = new StringBuilder(firstLine.length());
+        int i = 0;
+        while (i < firstLine.length()) {
+            if (firstLine.startsWith(TITLE_EMOJI, i)) {
+                i += TITLE_EMOJI.length();
+                while (i < firstLine.length() && Character.isWhitespace(firstLine.charAt(i))) {
+                    i++;
+                }
+            } else {
+                title.append(firstLine.charAt(i++));
+            }
+        }
+        
+        // Drop a trailing " RECIPE" (only when separated by whitespace)
+        int suffixStart = title.length() - TITLE_SUFFIX.length();
+        if (suffixStart > 0 && title.lastIndexOf(TITLE_SUFFIX) == suffixStart
+                && Character.isWhitespace(title.charAt(suffixStart - 1))) {
+            int end = suffixStart;
+            while (end > 0 && Character.isWhitespace(title.charAt(end - 1))) {
+                end--;
+            }
+            title.setLength(end);
+        }
+        return title.toString();
+    }
+    
+    /**
+     * Copy the filter attributes from the request this recipe was generated for
+     */
+    public void copyFilterAttributes(RecipeRequestEntity request) {
+        this.mealType = request.getMealType();
+        this.cuisine = request.getCuisine();
+        this.cookingTime = request.getCookingTime();
+        this.complexity = request.getComplexity();
+    }
+    
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
+        // Keep a creation time assigned before a deferred (write-behind) insert
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        if (title == null) {
+            title = titleOf(content);
+        }
     }
 }
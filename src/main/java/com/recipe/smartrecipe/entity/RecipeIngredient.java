@@ -0,0 +1,41 @@
+package com.recipe.smartrecipe.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One normalized ingredient token of a recipe, used for indexed ingredient search
+ */
+@Entity
+@Table(name = "recipe_ingredient", indexes = {
+        @Index(name = "idx_recipe_ingredient_user_token", columnList = "user_id, ingredient_token, recipe_id"),
+        @Index(name = "idx_recipe_ingredient_recipe", columnList = "recipe_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeIngredient {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "recipe_ingredient_id")
+    @TableGenerator(name = "recipe_ingredient_id", table = IdBlocks.TABLE, pkColumnName = IdBlocks.NAME_COLUMN,
+            valueColumnName = IdBlocks.VALUE_COLUMN, pkColumnValue = "recipe_ingredient", allocationSize = IdBlocks.ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(name = "recipe_id", nullable = false)
+    private Long recipeId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "ingredient_token", nullable = false, length = 100)
+    private String ingredientToken;
+
+    public RecipeIngredient(Long recipeId, Long userId, String ingredientToken) {
+        this.recipeId = recipeId;
+        this.userId = userId;
+        this.ingredientToken = ingredientToken;
+    }
+}
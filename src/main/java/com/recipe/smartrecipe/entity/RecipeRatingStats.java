@@ -0,0 +1,95 @@
+package com.recipe.smartrecipe.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Running rating totals for one recipe, kept in step with its reviews by atomic SQL increments
+ */
+@Entity
+@Table(name = "recipe_rating_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeRatingStats {
+
+    @Id
+    @Column(name = "recipe_id")
+    private Long recipeId;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    @Column(name = "stars_1", nullable = false)
+    private long stars1;
+
+    @Column(name = "stars_2", nullable = false)
+    private long stars2;
+
+    @Column(name = "stars_3", nullable = false)
+    private long stars3;
+
+    @Column(name = "stars_4", nullable = false)
+    private long stars4;
+
+    @Column(name = "stars_5", nullable = false)
+    private long stars5;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Bumped on every change to the recipe's reviews or totals; the ETag for its reviews and stats
+    @Column(name = "review_version", nullable = false)
+    private long reviewVersion;
+
+    public RecipeRatingStats(Long recipeId) {
+        this.recipeId = recipeId;
+    }
+
+    public double averageRating() {
+        return ratingCount > 0 ? (double) ratingSum / ratingCount : 0.0;
+    }
+
+    /**
+     * Review count per star rating, 1 to 5
+     */
+    public Map<Integer, Long> histogram() {
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        histogram.put(1, stars1);
+        histogram.put(2, stars2);
+        histogram.put(3, stars3);
+        histogram.put(4, stars4);
+        histogram.put(5, stars5);
+        return histogram;
+    }
+
+    /**
+     * Overwrite the totals with values recomputed from the reviews table
+     */
+    public void replaceTotals(long ratingSum, long ratingCount, long[] stars) {
+        this.ratingSum = ratingSum;
+        this.ratingCount = ratingCount;
+        this.stars1 = stars[0];
+        this.stars2 = stars[1];
+        this.stars3 = stars[2];
+        this.stars4 = stars[3];
+        this.stars5 = stars[4];
+        this.updatedAt = LocalDateTime.now();
+        this.reviewVersion++;
+    }
+
+    public boolean hasTotals(long ratingSum, long ratingCount, long[] stars) {
+        return this.ratingSum == ratingSum && this.ratingCount == ratingCount
+                && stars1 == stars[0] && stars2 == stars[1] && stars3 == stars[2]
+                && stars4 == stars[3] && stars5 == stars[4];
+    }
+}
@@ -7,14 +7,18 @@ import lombok.AllArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "recipe_request")
+@Table(name = "recipe_request", indexes = {
+        @Index(name = "idx_recipe_request_created_at_id", columnList = "created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class RecipeRequestEntity {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "recipe_request_id")
+    @TableGenerator(name = "recipe_request_id", table = IdBlocks.TABLE, pkColumnName = IdBlocks.NAME_COLUMN,
+            valueColumnName = IdBlocks.VALUE_COLUMN, pkColumnValue = "recipe_request", allocationSize = IdBlocks.ALLOCATION_SIZE)
     private Long id;
     
     @Column(name = "user_id", nullable = false)
@@ -40,6 +44,9 @@ public class RecipeRequestEntity {
     
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
+        // Keep a creation time assigned before a deferred (write-behind) insert
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
     }
 }
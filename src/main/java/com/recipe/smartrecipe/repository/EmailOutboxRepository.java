@@ -0,0 +1,64 @@
+package com.recipe.smartrecipe.repository;
+
+import com.recipe.smartrecipe.entity.EmailOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+    
+    Optional<EmailOutbox> findByJobId(String jobId);
+    
+    // Due rows plus rows whose sender's lease ran out with attempts left. A lock timeout of -2 is
+    // Hibernate's SKIP_LOCKED, rendered as FOR UPDATE SKIP LOCKED on MySQL 8, so concurrent pollers
+    // on other instances pass over each other's rows instead of waiting on them.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM EmailOutbox o WHERE (o.status IN ('QUEUED', 'RETRYING') AND o.nextAttemptAt <= :now) " +
+           "OR (o.status = 'SENDING' AND o.leaseExpiresAt < :now AND o.attempts < :maxAttempts) " +
+           "ORDER BY o.nextAttemptAt LIMIT :limit")
+    List<EmailOutbox> claimDue(@Param("now") LocalDateTime now, @Param("maxAttempts") int maxAttempts,
+                               @Param("limit") int limit);
+    
+    // Expired leases with no attempts left are never reclaimed, so give up on them
+    @Modifying
+    @Query("UPDATE EmailOutbox o SET o.status = 'FAILED', o.lastError = 'Lease expired on the last attempt', " +
+           "o.leaseExpiresAt = NULL, o.updatedAt = :now " +
+           "WHERE o.status = 'SENDING' AND o.leaseExpiresAt < :now AND o.attempts >= :maxAttempts")
+    int failExpiredLeases(@Param("now") LocalDateTime now, @Param("maxAttempts") int maxAttempts);
+    
+    // Outcomes only apply to the claim that made them: once a lease expires and another sender
+    // reclaims the row, its attempt number moves on and the stale sender's update matches nothing
+    @Modifying
+    @Query("UPDATE EmailOutbox o SET o.status = 'SENT', o.lastError = NULL, o.leaseExpiresAt = NULL, o.updatedAt = :now " +
+           "WHERE o.id = :id AND o.status = 'SENDING' AND o.attempts = :attempt")
+    int markSent(@Param("id") Long id, @Param("attempt") int attempt, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE EmailOutbox o SET o.status = 'RETRYING', o.lastError = :error, o.nextAttemptAt = :nextAttemptAt, " +
+           "o.leaseExpiresAt = NULL, o.updatedAt = :now WHERE o.id = :id AND o.status = 'SENDING' AND o.attempts = :attempt")
+    int markRetrying(@Param("id") Long id, @Param("attempt") int attempt, @Param("error") String error,
+                     @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE EmailOutbox o SET o.status = 'FAILED', o.lastError = :error, o.leaseExpiresAt = NULL, o.updatedAt = :now " +
+           "WHERE o.id = :id AND o.status = 'SENDING' AND o.attempts = :attempt")
+    int markFailed(@Param("id") Long id, @Param("attempt") int attempt, @Param("error") String error,
+                   @Param("now") LocalDateTime now);
+    
+    // Finished rows only need to live as long as someone might ask for their status
+    @Modifying
+    @Query("DELETE FROM EmailOutbox o WHERE o.status IN ('SENT', 'FAILED') AND o.updatedAt < :cutoff")
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -2,12 +2,23 @@ package com.recipe.smartrecipe.repository;
 
 import com.recipe.smartrecipe.entity.LoggedMeal;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface LoggedMealRepository extends JpaRepository<LoggedMeal, Long> {
     List<LoggedMeal> findByUserEmailOrderByLoggedAtDesc(String userEmail);
     List<LoggedMeal> findByUserEmailAndRecipeTitleContainingIgnoreCaseOrderByLoggedAtDesc(String userEmail, String recipeTitle);
+
+    // Keyset pagination over a user's logged meals, newest first
+    @Query("SELECT r FROM LoggedMeal r WHERE r.userEmail = :userEmail ORDER BY r.createdAt DESC, r.id DESC LIMIT :limit")
+    List<LoggedMeal> findPageByUserEmail(@Param("userEmail") String userEmail, @Param("limit") int limit);
+
+    @Query("SELECT r FROM LoggedMeal r WHERE r.userEmail = :userEmail AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) ORDER BY r.createdAt DESC, r.id DESC LIMIT :limit")
+    List<LoggedMeal> findPageByUserEmailAfter(@Param("userEmail") String userEmail, @Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") Long id, @Param("limit") int limit);
 }
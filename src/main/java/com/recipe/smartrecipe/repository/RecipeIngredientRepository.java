@@ -0,0 +1,25 @@
+package com.recipe.smartrecipe.repository;
+
+import com.recipe.smartrecipe.entity.RecipeIngredient;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RecipeIngredientRepository extends JpaRepository<RecipeIngredient, Long> {
+    
+    @Modifying
+    @Query("DELETE FROM RecipeIngredient ri WHERE ri.recipeId IN :recipeIds")
+    int deleteByRecipeIdIn(@Param("recipeIds") Collection<Long> recipeIds);
+    
+    // Backfill: recipes in an ID window that have a request but no ingredient tokens yet (id, userId, ingredients)
+    @Query("SELECT r.id, r.userId, q.ingredients FROM Recipe r JOIN RecipeRequestEntity q ON q.id = r.requestId " +
+           "WHERE r.id >= :fromId AND r.id < :toId " +
+           "AND NOT EXISTS (SELECT 1 FROM RecipeIngredient ri WHERE ri.recipeId = r.id)")
+    List<Object[]> findUnindexedRecipes(@Param("fromId") Long fromId, @Param("toId") Long toId);
+}
@@ -0,0 +1,46 @@
+package com.recipe.smartrecipe.repository;
+
+import com.recipe.smartrecipe.entity.RecipeRatingStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecipeRatingStatsRepository extends JpaRepository<RecipeRatingStats, Long> {
+    
+    // Add a rating delta and bump the review version in one atomic statement, creating the row on first use
+    @Modifying
+    @Query(value = "INSERT INTO recipe_rating_stats " +
+                   "(recipe_id, rating_sum, rating_count, stars_1, stars_2, stars_3, stars_4, stars_5, updated_at, review_version) " +
+                   "VALUES (:recipeId, :sum, :count, :stars1, :stars2, :stars3, :stars4, :stars5, CURRENT_TIMESTAMP, 1) " +
+                   "ON DUPLICATE KEY UPDATE rating_sum = rating_sum + :sum, rating_count = rating_count + :count, " +
+                   "stars_1 = stars_1 + :stars1, stars_2 = stars_2 + :stars2, stars_3 = stars_3 + :stars3, " +
+                   "stars_4 = stars_4 + :stars4, stars_5 = stars_5 + :stars5, updated_at = CURRENT_TIMESTAMP, " +
+                   "review_version = review_version + 1",
+           nativeQuery = true)
+    int applyDelta(@Param("recipeId") Long recipeId, @Param("sum") long sum, @Param("count") long count,
+                   @Param("stars1") long stars1, @Param("stars2") long stars2, @Param("stars3") long stars3,
+                   @Param("stars4") long stars4, @Param("stars5") long stars5);
+    
+    // Version check for conditional GETs; no row means no reviews yet
+    @Query("SELECT s.reviewVersion FROM RecipeRatingStats s WHERE s.recipeId = :recipeId")
+    Optional<Long> findReviewVersion(@Param("recipeId") Long recipeId);
+    
+    // Reconciliation: lock the stats rows of a window before recomputing them
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM RecipeRatingStats s WHERE s.recipeId >= :fromId AND s.recipeId < :toId")
+    List<RecipeRatingStats> findWindowForUpdate(@Param("fromId") Long fromId, @Param("toId") Long toId);
+    
+    @Query("SELECT MIN(s.recipeId) FROM RecipeRatingStats s")
+    Long findMinRecipeId();
+    
+    @Query("SELECT MAX(s.recipeId) FROM RecipeRatingStats s")
+    Long findMaxRecipeId();
+}
@@ -2,11 +2,15 @@ package com.recipe.smartrecipe.repository;
 
 import com.recipe.smartrecipe.entity.Recipe;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface RecipeRepository extends JpaRepository<Recipe, Long> {
@@ -16,23 +20,86 @@ public interface RecipeRepository extends JpaRepository<Recipe, Long> {
     @Query("SELECT r FROM Recipe r WHERE r.userId = :userId ORDER BY r.createdAt DESC LIMIT :limit")
     List<Recipe> findRecentRecipesByUserId(@Param("userId") Long userId, @Param("limit") int limit);
     
+    // Keyset pagination over all recipes, newest first
+    @Query("SELECT r FROM Recipe r ORDER BY r.createdAt DESC, r.id DESC LIMIT :limit")
+    List<Recipe> findPage(@Param("limit") int limit);
+    
+    @Query("SELECT r FROM Recipe r WHERE (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) ORDER BY r.createdAt DESC, r.id DESC LIMIT :limit")
+    List<Recipe> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, @Param("limit") int limit);
+    
     // Find recipes by user ID and meal type
-    @Query("SELECT r FROM Recipe r JOIN RecipeRequestEntity req ON r.requestId = req.id WHERE r.userId = :userId AND req.mealType = :mealType ORDER BY r.createdAt DESC")
+    @Query("SELECT r FROM Recipe r WHERE r.userId = :userId AND r.mealType = :mealType ORDER BY r.createdAt DESC")
     List<Recipe> findByUserIdAndMealType(@Param("userId") Long userId, @Param("mealType") String mealType);
     
     // Find recipes by user ID and cuisine
-    @Query("SELECT r FROM Recipe r JOIN RecipeRequestEntity req ON r.requestId = req.id WHERE r.userId = :userId AND req.cuisine = :cuisine ORDER BY r.createdAt DESC")
+    @Query("SELECT r FROM Recipe r WHERE r.userId = :userId AND r.cuisine = :cuisine ORDER BY r.createdAt DESC")
     List<Recipe> findByUserIdAndCuisine(@Param("userId") Long userId, @Param("cuisine") String cuisine);
     
-    // Find recipes by user ID containing specific ingredient
-    @Query("SELECT r FROM Recipe r JOIN RecipeRequestEntity req ON r.requestId = req.id WHERE r.userId = :userId AND req.ingredients LIKE %:ingredient% ORDER BY r.createdAt DESC")
-    List<Recipe> findByUserIdAndIngredientsContaining(@Param("userId") Long userId, @Param("ingredient") String ingredient);
+    // Find recipes by user ID containing any of the ingredient tokens
+    @Query("SELECT r FROM Recipe r WHERE r.id IN (SELECT ri.recipeId FROM RecipeIngredient ri " +
+           "WHERE ri.userId = :userId AND ri.ingredientToken IN :tokens) ORDER BY r.createdAt DESC")
+    List<Recipe> findByUserIdAndAnyIngredient(@Param("userId") Long userId, @Param("tokens") Collection<String> tokens);
+    
+    // Find recipes by user ID containing all of the ingredient tokens
+    @Query("SELECT r FROM Recipe r WHERE r.id IN (SELECT ri.recipeId FROM RecipeIngredient ri " +
+           "WHERE ri.userId = :userId AND ri.ingredientToken IN :tokens " +
+           "GROUP BY ri.recipeId HAVING COUNT(DISTINCT ri.ingredientToken) = :tokenCount) ORDER BY r.createdAt DESC")
+    List<Recipe> findByUserIdAndAllIngredients(@Param("userId") Long userId, @Param("tokens") Collection<String> tokens,
+                                               @Param("tokenCount") long tokenCount);
     
     // Find recipes by user ID and complexity
-    @Query("SELECT r FROM Recipe r JOIN RecipeRequestEntity req ON r.requestId = req.id WHERE r.userId = :userId AND req.complexity = :complexity ORDER BY r.createdAt DESC")
+    @Query("SELECT r FROM Recipe r WHERE r.userId = :userId AND r.complexity = :complexity ORDER BY r.createdAt DESC")
     List<Recipe> findByUserIdAndComplexity(@Param("userId") Long userId, @Param("complexity") String complexity);
     
     // Find recipes by user ID and cooking time
-    @Query("SELECT r FROM Recipe r JOIN RecipeRequestEntity req ON r.requestId = req.id WHERE r.userId = :userId AND req.cookingTime = :cookingTime ORDER BY r.createdAt DESC")
+    @Query("SELECT r FROM Recipe r WHERE r.userId = :userId AND r.cookingTime = :cookingTime ORDER BY r.createdAt DESC")
     List<Recipe> findByUserIdAndCookingTime(@Param("userId") Long userId, @Param("cookingTime") String cookingTime);
+    
+    List<Recipe> findByRequestId(Long requestId);
+    
+    // Version check for conditional GETs, without reading the content
+    @Query("SELECT r.version FROM Recipe r WHERE r.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+    
+    // Keep the copied filter attributes in step when a recipe request is edited
+    @Modifying
+    @Query("UPDATE Recipe r SET r.mealType = :mealType, r.cuisine = :cuisine, r.cookingTime = :cookingTime, " +
+           "r.complexity = :complexity, r.version = r.version + 1 WHERE r.requestId = :requestId")
+    int updateFilterAttributes(@Param("requestId") Long requestId, @Param("mealType") String mealType,
+                               @Param("cuisine") String cuisine, @Param("cookingTime") String cookingTime,
+                               @Param("complexity") String complexity);
+    
+    @Query("SELECT MIN(r.id) FROM Recipe r")
+    Long findMinId();
+    
+    @Query("SELECT MAX(r.id) FROM Recipe r")
+    Long findMaxId();
+    
+    // Backfill of filter attributes for recipes created before they were stored on the recipe
+    @Query("SELECT MIN(r.id) FROM Recipe r WHERE r.mealType IS NULL")
+    Long findFirstIdWithoutFilterAttributes();
+    
+    @Query("SELECT MAX(r.id) FROM Recipe r WHERE r.mealType IS NULL")
+    Long findLastIdWithoutFilterAttributes();
+    
+    @Modifying
+    @Query("UPDATE Recipe r SET " +
+           "r.mealType = (SELECT q.mealType FROM RecipeRequestEntity q WHERE q.id = r.requestId), " +
+           "r.cuisine = (SELECT q.cuisine FROM RecipeRequestEntity q WHERE q.id = r.requestId), " +
+           "r.cookingTime = (SELECT q.cookingTime FROM RecipeRequestEntity q WHERE q.id = r.requestId), " +
+           "r.complexity = (SELECT q.complexity FROM RecipeRequestEntity q WHERE q.id = r.requestId), " +
+           "r.version = r.version + 1 " +
+           "WHERE r.id >= :fromId AND r.id < :toId AND r.mealType IS NULL " +
+           "AND EXISTS (SELECT 1 FROM RecipeRequestEntity q WHERE q.id = r.requestId)")
+    int backfillFilterAttributes(@Param("fromId") Long fromId, @Param("toId") Long toId);
+    
+    // Backfill of titles for recipes saved before the title was stored
+    @Query("SELECT MIN(r.id) FROM Recipe r WHERE r.title IS NULL")
+    Long findFirstIdWithoutTitle();
+    
+    @Query("SELECT MAX(r.id) FROM Recipe r WHERE r.title IS NULL")
+    Long findLastIdWithoutTitle();
+    
+    @Query("SELECT r FROM Recipe r WHERE r.id >= :fromId AND r.id < :toId AND r.title IS NULL")
+    List<Recipe> findWithoutTitle(@Param("fromId") Long fromId, @Param("toId") Long toId);
 }
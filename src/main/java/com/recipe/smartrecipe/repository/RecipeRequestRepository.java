@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -15,4 +16,11 @@ public interface RecipeRequestRepository extends JpaRepository<RecipeRequestEnti
     
     @Query("SELECT r FROM RecipeRequestEntity r WHERE r.userId = :userId ORDER BY r.createdAt DESC LIMIT :limit")
     List<RecipeRequestEntity> findRecentRequestsByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+    
+    // Keyset pagination over all recipe requests, newest first
+    @Query("SELECT r FROM RecipeRequestEntity r ORDER BY r.createdAt DESC, r.id DESC LIMIT :limit")
+    List<RecipeRequestEntity> findPage(@Param("limit") int limit);
+    
+    @Query("SELECT r FROM RecipeRequestEntity r WHERE (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) ORDER BY r.createdAt DESC, r.id DESC LIMIT :limit")
+    List<RecipeRequestEntity> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, @Param("limit") int limit);
 }
@@ -1,12 +1,16 @@
 package com.recipe.smartrecipe.repository;
 
+import com.recipe.smartrecipe.dto.ReviewResponse;
+import com.recipe.smartrecipe.entity.Recipe;
 import com.recipe.smartrecipe.entity.Review;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
@@ -17,6 +21,30 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     // Find all reviews by a specific user
     List<Review> findByUserIdOrderByReviewDateDesc(Long userId);
     
+    // Listings project straight into the response, joining only the stored recipe title
+    String RESPONSE = "SELECT new com.recipe.smartrecipe.dto.ReviewResponse(r.id, rc.id, " +
+                      "COALESCE(rc.title, '" + Recipe.UNTITLED + "'), r.userId, r.reviewText, r.rating, " +
+                      "r.reviewDate, r.createdAt, r.updatedAt) FROM Review r JOIN r.recipe rc ";
+    
+    @Query(RESPONSE + "WHERE r.id = :id")
+    Optional<ReviewResponse> findResponseById(@Param("id") Long id);
+    
+    // Keyset pagination over a recipe's reviews, newest first
+    @Query(RESPONSE + "WHERE rc.id = :recipeId ORDER BY r.createdAt DESC, r.id DESC LIMIT :limit")
+    List<ReviewResponse> findPageByRecipeId(@Param("recipeId") Long recipeId, @Param("limit") int limit);
+    
+    @Query(RESPONSE + "WHERE rc.id = :recipeId AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) ORDER BY r.createdAt DESC, r.id DESC LIMIT :limit")
+    List<ReviewResponse> findPageByRecipeIdAfter(@Param("recipeId") Long recipeId, @Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") Long id, @Param("limit") int limit);
+    
+    // Keyset pagination over a user's reviews, newest first
+    @Query(RESPONSE + "WHERE r.userId = :userId ORDER BY r.createdAt DESC, r.id DESC LIMIT :limit")
+    List<ReviewResponse> findPageByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+    
+    @Query(RESPONSE + "WHERE r.userId = :userId AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) ORDER BY r.createdAt DESC, r.id DESC LIMIT :limit")
+    List<ReviewResponse> findPageByUserIdAfter(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") Long id, @Param("limit") int limit);
+    
     // Find reviews for a specific recipe and user
     List<Review> findByRecipeIdAndUserIdOrderByReviewDateDesc(Long recipeId, Long userId);
     
@@ -28,7 +56,21 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     @Query("SELECT COUNT(r) FROM Review r WHERE r.recipe.id = :recipeId")
     Long getReviewCountByRecipeId(@Param("recipeId") Long recipeId);
     
-    // Find recent reviews (last N reviews)
-    @Query("SELECT r FROM Review r ORDER BY r.reviewDate DESC")
-    List<Review> findRecentReviews();
+    // Rating totals per recipe in an ID window (recipeId, sum, count, stars 1..5), for stats reconciliation
+    @Query("SELECT r.recipe.id, COALESCE(SUM(r.rating), 0), COUNT(r.rating), " +
+           "SUM(CASE WHEN r.rating = 1 THEN 1 ELSE 0 END), SUM(CASE WHEN r.rating = 2 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN r.rating = 3 THEN 1 ELSE 0 END), SUM(CASE WHEN r.rating = 4 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN r.rating = 5 THEN 1 ELSE 0 END) " +
+           "FROM Review r WHERE r.recipe.id >= :fromId AND r.recipe.id < :toId GROUP BY r.recipe.id")
+    List<Object[]> aggregateRatingsByRecipeIdWindow(@Param("fromId") Long fromId, @Param("toId") Long toId);
+    
+    @Query("SELECT MIN(r.recipe.id) FROM Review r")
+    Long findMinRecipeId();
+    
+    @Query("SELECT MAX(r.recipe.id) FROM Review r")
+    Long findMaxRecipeId();
+    
+    // Newest reviews across all recipes, used to warm the in-memory feed
+    @Query(RESPONSE + "ORDER BY r.createdAt DESC, r.id DESC LIMIT :limit")
+    List<ReviewResponse> findLatest(@Param("limit") int limit);
 }
@@ -11,6 +11,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     Optional<User> findByUsername(String username);
     
+    // Usernames are not unique in the schema, so pick the oldest of any duplicates
+    Optional<User> findFirstByUsernameOrderByIdAsc(String username);
+    
     Optional<User> findByEmail(String email);
     
     boolean existsByUsername(String username);
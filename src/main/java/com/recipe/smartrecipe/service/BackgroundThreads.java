@@ -0,0 +1,28 @@
+package com.recipe.smartrecipe.service;
+
+/**
+ * Threads for the application's own background work. With {@code spring.threads.virtual.enabled}
+ * they are virtual, like Tomcat's request threads and Spring's schedulers, so a worker blocked on
+ * JDBC or SendGrid parks instead of holding a carrier; otherwise they are named platform daemons.
+ */
+final class BackgroundThreads {
+
+    static final String VIRTUAL_PROPERTY = "${spring.threads.virtual.enabled:false}";
+
+    private BackgroundThreads() {
+    }
+
+    /**
+     * Builder for one thread with exactly this name
+     */
+    static Thread.Builder named(String name, boolean virtual) {
+        return virtual ? Thread.ofVirtual().name(name) : Thread.ofPlatform().name(name).daemon();
+    }
+
+    /**
+     * Builder for pool threads named {@code prefix1}, {@code prefix2}, ...
+     */
+    static Thread.Builder numbered(String prefix, boolean virtual) {
+        return virtual ? Thread.ofVirtual().name(prefix, 1) : Thread.ofPlatform().name(prefix, 1).daemon();
+    }
+}
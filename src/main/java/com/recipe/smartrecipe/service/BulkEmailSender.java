@@ -0,0 +1,118 @@
+package com.recipe.smartrecipe.service;
+
+import com.recipe.smartrecipe.dto.RecipientStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Sends one email to many recipients. The content is rendered once and recipients are grouped
+ * into SendGrid personalizations, so each queued job is a single mail/send request for up to
+ * {@code batchSize} addresses instead of one request per address.
+ */
+@Service
+@Slf4j
+public class BulkEmailSender {
+
+    private final EmailService emailService;
+    private final EmailQueue emailQueue;
+    private final int batchSize;
+
+    public BulkEmailSender(EmailService emailService,
+                           EmailQueue emailQueue,
+                           @Value("${recipe.email.bulk.batch-size:" + EmailService.MAX_RECIPIENTS_PER_REQUEST + "}") int batchSize) {
+        if (batchSize < 1 || batchSize > EmailService.MAX_RECIPIENTS_PER_REQUEST) {
+            throw new IllegalArgumentException("Bulk email batch size must be between 1 and "
+                    + EmailService.MAX_RECIPIENTS_PER_REQUEST + ", got " + batchSize);
+        }
+        this.emailService = emailService;
+        this.emailQueue = emailQueue;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Queue the recipe email for every valid, distinct address
+     * @return one status per address, in request order
+     */
+    public List<RecipientStatus> sendRecipe(List<String> emails, String recipeContent, String recipeTitle) {
+        RecipientStatus[] statuses = new RecipientStatus[emails.size()];
+        List<String> recipients = new ArrayList<>(emails.size());
+        // Index in the request of each address that will be sent to
+        List<Integer> positions = new ArrayList<>(emails.size());
+        Set<String> seen = new HashSet<>();
+
+        for (int i = 0; i < emails.size(); i++) {
+            String email = emails.get(i) != null ? emails.get(i).trim() : null;
+            if (!isValidAddress(email)) {
+                statuses[i] = new RecipientStatus(emails.get(i), RecipientStatus.Status.INVALID, null);
+            } else if (!seen.add(email.toLowerCase(Locale.ROOT))) {
+                statuses[i] = new RecipientStatus(email, RecipientStatus.Status.DUPLICATE, null);
+            } else {
+                recipients.add(email);
+                positions.add(i);
+            }
+        }
+
+        if (!recipients.isEmpty()) {
+            queue(emailService.recipeEmail(recipients, recipeContent, recipeTitle), positions, statuses);
+        }
+        return List.of(statuses);
+    }
+
+    private void queue(EmailMessage message, List<Integer> positions, RecipientStatus[] statuses) {
+        int next = 0;
+        int rejected = 0;
+        boolean full = false;
+        for (EmailMessage batch : message.batches(batchSize)) {
+            String jobId = null;
+            if (!full) {
+                try {
+                    jobId = emailQueue.submit(batch).getId();
+                } catch (RejectedExecutionException e) {
+                    // Later batches would be turned away too
+                    full = true;
+                }
+            }
+            RecipientStatus.Status status = jobId != null ? RecipientStatus.Status.QUEUED : RecipientStatus.Status.REJECTED;
+            for (String recipient : batch.recipients()) {
+                statuses[positions.get(next++)] = new RecipientStatus(recipient, status, jobId);
+            }
+            if (jobId == null) {
+                rejected += batch.recipients().size();
+            }
+        }
+        if (rejected > 0) {
+            log.warn("Email queue is full, rejected {} of {} bulk recipients", rejected, message.recipients().size());
+        } else {
+            log.info("Queued bulk email for {} recipients", message.recipients().size());
+        }
+    }
+
+    // Cheap shape check; SendGrid does the real validation
+    static boolean isValidAddress(String email) {
+        if (email == null || email.isEmpty()) {
+            return false;
+        }
+        int at = email.indexOf('@');
+        if (at < 1 || at != email.lastIndexOf('@')) {
+            return false;
+        }
+        int dot = email.lastIndexOf('.');
+        if (dot < at + 2 || dot == email.length() - 1) {
+            return false;
+        }
+        for (int i = 0; i < email.length(); i++) {
+            if (Character.isWhitespace(email.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,24 @@
+package com.recipe.smartrecipe.service;
+
+/**
+ * SendGrid did not accept an email. Retryable failures (I/O errors, 429 and 5xx responses) may
+ * succeed if sent again later; anything else will fail the same way every time.
+ */
+public class EmailDeliveryException extends RuntimeException {
+
+    private final boolean retryable;
+
+    public EmailDeliveryException(String message, boolean retryable) {
+        super(message);
+        this.retryable = retryable;
+    }
+
+    public EmailDeliveryException(String message, Throwable cause) {
+        super(message, cause);
+        this.retryable = true;
+    }
+
+    public boolean isRetryable() {
+        return retryable;
+    }
+}
@@ -0,0 +1,132 @@
+package com.recipe.smartrecipe.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory {@link EmailQueue}: sends emails in the background so request threads never wait on
+ * SendGrid, but loses queued emails on restart.
+ *
+ * Jobs go onto a bounded queue drained by a fixed pool of workers; when the queue is full,
+ * {@link #submit} throws {@link RejectedExecutionException} and the caller answers 503. Retryable
+ * failures are rescheduled with exponential backoff and jitter up to a maximum number of
+ * attempts. Job status is kept in memory for the retention period. The pool stays fixed-size
+ * with virtual threads too, since it is what bounds concurrent SendGrid requests.
+ */
+@Service
+@ConditionalOnProperty(name = "recipe.email.outbox.enabled", havingValue = "false")
+@Slf4j
+public class EmailDispatcher implements EmailQueue {
+
+    private final EmailService emailService;
+    private final int maxAttempts;
+    private final RetryBackoff backoff;
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService retryTimer;
+    private final Cache<String, EmailJob> jobs;
+
+    public EmailDispatcher(EmailService emailService,
+                           @Value("${recipe.email.workers:4}") int workerCount,
+                           @Value("${recipe.email.queue-capacity:1000}") int queueCapacity,
+                           @Value("${recipe.email.max-attempts:5}") int maxAttempts,
+                           @Value("${recipe.email.initial-backoff:1s}") Duration initialBackoff,
+                           @Value("${recipe.email.max-backoff:1m}") Duration maxBackoff,
+                           @Value("${recipe.email.job-retention:1h}") Duration jobRetention,
+                           @Value(BackgroundThreads.VIRTUAL_PROPERTY) boolean virtualThreads) {
+        this.emailService = emailService;
+        this.maxAttempts = maxAttempts;
+        this.backoff = new RetryBackoff(initialBackoff, maxBackoff);
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), BackgroundThreads.numbered("email-sender-", virtualThreads).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryTimer = Executors.newSingleThreadScheduledExecutor(
+                BackgroundThreads.named("email-retry", virtualThreads).factory());
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(jobRetention)
+                .build();
+    }
+
+    /**
+     * Queue an email and return its job right away
+     * @throws RejectedExecutionException when the queue is full
+     */
+    @Override
+    public EmailJob submit(EmailMessage message) {
+        EmailJob job = new EmailJob(UUID.randomUUID().toString(), message.recipients().get(0),
+                message.recipients().size());
+        jobs.put(job.getId(), job);
+        try {
+            workers.execute(() -> attempt(job, message));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.getId());
+            throw e;
+        }
+        log.info("Queued email job {} for {}", job.getId(), message.describeRecipients());
+        return job;
+    }
+
+    @Override
+    public Optional<EmailJob> getJob(String id) {
+        return Optional.ofNullable(jobs.getIfPresent(id));
+    }
+
+    private void attempt(EmailJob job, EmailMessage message) {
+        job.sending();
+        try {
+            emailService.deliver(message);
+            job.sent();
+        } catch (EmailDeliveryException e) {
+            if (!e.isRetryable() || job.getAttempts() >= maxAttempts) {
+                log.error("Email job {} failed after {} attempts: {}", job.getId(), job.getAttempts(), e.getMessage());
+                job.failed(e.getMessage());
+                return;
+            }
+            job.retrying(e.getMessage());
+            scheduleRetry(job, message, backoff.delayMillis(job.getAttempts()));
+        } catch (RuntimeException e) {
+            log.error("Email job {} failed: {}", job.getId(), e.getMessage(), e);
+            job.failed(e.getMessage());
+        }
+    }
+
+    private void scheduleRetry(EmailJob job, EmailMessage message, long delayMillis) {
+        retryTimer.schedule(() -> {
+            try {
+                workers.execute(() -> attempt(job, message));
+            } catch (RejectedExecutionException e) {
+                // Queue is full of new work; wait another round rather than drop the job
+                scheduleRetry(job, message, backoff.delayMillis(job.getAttempts()));
+            }
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryTimer.shutdownNow();
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("{} queued emails were not sent before shutdown", workers.getQueue().size());
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.recipe.smartrecipe.service;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of one queued email, as reported by the job-status endpoint
+ */
+@Getter
+public class EmailJob {
+
+    public enum Status { QUEUED, SENDING, RETRYING, SENT, FAILED }
+
+    private final String id;
+    private final String recipient;
+    private final int recipientCount;
+    private final LocalDateTime createdAt;
+
+    private volatile Status status = Status.QUEUED;
+    private volatile int attempts;
+    private volatile String lastError;
+    private volatile LocalDateTime updatedAt;
+
+    public EmailJob(String id, String recipient) {
+        this(id, recipient, 1);
+    }
+
+    /**
+     * A job sending one copy to each of several recipients, reported by the first one
+     */
+    public EmailJob(String id, String recipient, int recipientCount) {
+        this.id = id;
+        this.recipient = recipient;
+        this.recipientCount = recipientCount;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = createdAt;
+    }
+
+    /**
+     * Snapshot of a job stored elsewhere
+     */
+    EmailJob(String id, String recipient, int recipientCount, LocalDateTime createdAt, Status status,
+             int attempts, String lastError, LocalDateTime updatedAt) {
+        this.id = id;
+        this.recipient = recipient;
+        this.recipientCount = recipientCount;
+        this.createdAt = createdAt;
+        this.status = status;
+        this.attempts = attempts;
+        this.lastError = lastError;
+        this.updatedAt = updatedAt;
+    }
+
+    void sending() {
+        attempts++;
+        update(Status.SENDING, lastError);
+    }
+
+    void retrying(String error) {
+        update(Status.RETRYING, error);
+    }
+
+    void sent() {
+        update(Status.SENT, null);
+    }
+
+    void failed(String error) {
+        update(Status.FAILED, error);
+    }
+
+    private void update(Status status, String error) {
+        this.lastError = error;
+        this.updatedAt = LocalDateTime.now();
+        this.status = status;
+    }
+}
@@ -0,0 +1,45 @@
+package com.recipe.smartrecipe.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A rendered email, ready to hand to SendGrid. Each recipient gets their own copy.
+ */
+public record EmailMessage(List<String> recipients, String subject, String text, String html) {
+
+    public EmailMessage {
+        recipients = List.copyOf(recipients);
+        if (recipients.isEmpty()) {
+            throw new IllegalArgumentException("An email needs at least one recipient");
+        }
+    }
+
+    public EmailMessage(String to, String subject, String text, String html) {
+        this(List.of(to), subject, text, html);
+    }
+
+    /**
+     * Split into emails of at most {@code maxRecipients} recipients each, sharing the rendered bodies
+     */
+    public List<EmailMessage> batches(int maxRecipients) {
+        if (recipients.size() <= maxRecipients) {
+            return List.of(this);
+        }
+        List<EmailMessage> batches = new ArrayList<>((recipients.size() + maxRecipients - 1) / maxRecipients);
+        for (int from = 0; from < recipients.size(); from += maxRecipients) {
+            List<String> batch = recipients.subList(from, Math.min(from + maxRecipients, recipients.size()));
+            batches.add(new EmailMessage(batch, subject, text, html));
+        }
+        return batches;
+    }
+
+    /**
+     * The recipient for logs: the address itself, or the first address and how many others
+     */
+    public String describeRecipients() {
+        return recipients.size() == 1
+                ? recipients.get(0)
+                : recipients.get(0) + " and " + (recipients.size() - 1) + " others";
+    }
+}
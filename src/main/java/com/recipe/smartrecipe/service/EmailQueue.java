@@ -0,0 +1,22 @@
+package com.recipe.smartrecipe.service;
+
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Accepts emails for background delivery and reports their progress.
+ *
+ * {@link OutboxEmailQueue} (the default) keeps jobs in the {@code email_outbox} table so they
+ * survive restarts and can be drained by several instances; {@link EmailDispatcher} keeps them
+ * in memory and is selected with {@code recipe.email.outbox.enabled=false}.
+ */
+public interface EmailQueue {
+
+    /**
+     * Accept an email and return its job right away
+     * @throws RejectedExecutionException when the queue cannot take more work
+     */
+    EmailJob submit(EmailMessage message);
+
+    Optional<EmailJob> getJob(String id);
+}
@@ -7,29 +7,57 @@ import com.sendgrid.SendGrid;
 import com.sendgrid.helpers.mail.Mail;
 import com.sendgrid.helpers.mail.objects.Content;
 import com.sendgrid.helpers.mail.objects.Email;
-import lombok.RequiredArgsConstructor;
+import com.sendgrid.helpers.mail.objects.Personalization;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class EmailService {
 
-    @Value("${sendgrid.api.key}")
-    private String sendGridApiKey;
+    // SendGrid's limit on personalizations (and on total recipients) in one mail/send request
+    public static final int MAX_RECIPIENTS_PER_REQUEST = 1000;
 
-    @Value("${sendgrid.from.email}")
-    private String fromEmail;
+    // Compiled once; rendering only copies fragments and values
+    private static final EmailTemplate RECIPE_HTML =
+            EmailTemplate.html(EmailTemplate.load("email-templates/recipe.html"), "title", "content");
+    private static final EmailTemplate RECIPE_TEXT =
+            EmailTemplate.text(EmailTemplate.load("email-templates/recipe.txt"), "title", "content");
+    private static final EmailTemplate REVIEW_TEXT =
+            EmailTemplate.text(EmailTemplate.load("email-templates/review.txt"),
+                    "title", "reviewer", "stars", "rating", "review");
 
-    @Value("${sendgrid.from.name}")
-    private String fromName;
+    private final SendGrid sendGrid;
+    private final String fromEmail;
+    private final String fromName;
+    // email.send by outcome: sent, rejected by SendGrid (retryable or not), or no response
+    private final Timer sentTimer;
+    private final Timer retryableTimer;
+    private final Timer rejectedTimer;
+    private final Timer ioErrorTimer;
+
+    public EmailService(SendGrid sendGrid,
+                        MeterRegistry meterRegistry,
+                        @Value("${sendgrid.from.email}") String fromEmail,
+                        @Value("${sendgrid.from.name}") String fromName) {
+        this.sendGrid = sendGrid;
+        this.fromEmail = fromEmail;
+        this.fromName = fromName;
+        this.sentTimer = sendTimer(meterRegistry, "success");
+        this.retryableTimer = sendTimer(meterRegistry, "retryable-error");
+        this.rejectedTimer = sendTimer(meterRegistry, "error");
+        this.ioErrorTimer = sendTimer(meterRegistry, "io-error");
+    }
 
     /**
-     * Send a recipe via email using SendGrid
+     * Send a recipe via email using SendGrid, blocking until SendGrid answers
      * @param toEmail recipient email address
      * @param recipeContent the recipe content to send
      * @param recipeTitle title for the email
@@ -37,107 +65,114 @@ public class EmailService {
      */
     public boolean sendRecipeEmail(String toEmail, String recipeContent, String recipeTitle) {
         try {
-            log.info("Attempting to send email to: {}", toEmail);
-            log.info("From email: {}, From name: {}", fromEmail, fromName);
-            log.info("API key present: {}", sendGridApiKey != null && !sendGridApiKey.isEmpty());
-            
-            Email from = new Email(fromEmail, fromName);
-            Email to = new Email(toEmail);
-            
-            String subject = "🍳 Your Recipe: " + recipeTitle;
-            String htmlContent = createHtmlEmail(recipeContent, recipeTitle);
-            String textContent = createTextEmail(recipeContent, recipeTitle);
-            
-            // SendGrid requires text/plain first, then text/html
-            Content textContentObj = new Content("text/plain", textContent);
-            Content htmlContentObj = new Content("text/html", htmlContent);
-            
-            Mail mail = new Mail(from, subject, to, textContentObj);
-            mail.addContent(htmlContentObj);
-            
-            SendGrid sg = new SendGrid(sendGridApiKey);
+            deliver(recipeEmail(toEmail, recipeContent, recipeTitle));
+            return true;
+        } catch (EmailDeliveryException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Render the recipe email without sending it
+     */
+    public EmailMessage recipeEmail(String toEmail, String recipeContent, String recipeTitle) {
+        return recipeEmail(List.of(toEmail), recipeContent, recipeTitle);
+    }
+
+    /**
+     * Render the recipe email once for several recipients (at most {@link #MAX_RECIPIENTS_PER_REQUEST})
+     */
+    public EmailMessage recipeEmail(List<String> recipients, String recipeContent, String recipeTitle) {
+        String subject = "🍳 Your Recipe: " + recipeTitle;
+        return new EmailMessage(recipients, subject,
+                createTextEmail(recipeContent, recipeTitle),
+                createHtmlEmail(recipeContent, recipeTitle));
+    }
+
+    /**
+     * Send one email over the shared SendGrid client
+     * @throws EmailDeliveryException when SendGrid does not accept it
+     */
+    public void deliver(EmailMessage message) {
+        if (message.recipients().size() > MAX_RECIPIENTS_PER_REQUEST) {
+            throw new IllegalArgumentException("SendGrid accepts at most " + MAX_RECIPIENTS_PER_REQUEST
+                    + " recipients per request, got " + message.recipients().size());
+        }
+        log.info("Attempting to send email to: {}", message.describeRecipients());
+        
+        Mail mail = new Mail();
+        mail.setFrom(new Email(fromEmail, fromName));
+        mail.setSubject(message.subject());
+        // One personalization per recipient: everyone gets their own copy and sees only their address
+        for (String recipient : message.recipients()) {
+            Personalization personalization = new Personalization();
+            personalization.addTo(new Email(recipient));
+            mail.addPersonalization(personalization);
+        }
+        // SendGrid requires text/plain first, then text/html
+        mail.addContent(new Content("text/plain", message.text()));
+        mail.addContent(new Content("text/html", message.html()));
+        
+        Response response;
+        long start = System.nanoTime();
+        try {
             Request request = new Request();
             request.setMethod(Method.POST);
             request.setEndpoint("mail/send");
             request.setBody(mail.build());
-            
-            Response response = sg.api(request);
-            
-            if (response.getStatusCode() >= 200 && response.getStatusCode() < 300) {
-                log.info("Recipe email sent successfully to: {}", toEmail);
-                return true;
-            } else {
-                log.error("Failed to send recipe email. Status: {}, Body: {}", 
-                         response.getStatusCode(), response.getBody());
-                return false;
-            }
-            
+            response = sendGrid.api(request);
         } catch (IOException e) {
-            log.error("Error sending recipe email to {}: {}", toEmail, e.getMessage());
-            return false;
+            ioErrorTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.error("Error sending email to {}: {}", message.describeRecipients(), e.getMessage());
+            throw new EmailDeliveryException("SendGrid request failed: " + e.getMessage(), e);
+        }
+        
+        long elapsed = System.nanoTime() - start;
+        int status = response.getStatusCode();
+        if (status >= 200 && status < 300) {
+            sentTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            log.info("Email sent successfully to: {}", message.describeRecipients());
+            return;
         }
+        log.error("Failed to send email. Status: {}, Body: {}", status, response.getBody());
+        boolean retryable = status == 429 || status >= 500;
+        (retryable ? retryableTimer : rejectedTimer).record(elapsed, TimeUnit.NANOSECONDS);
+        throw new EmailDeliveryException("SendGrid returned " + status, retryable);
+    }
+
+    /**
+     * Render the email sent when a review is shared; the review becomes the recipe content
+     */
+    public EmailMessage reviewEmail(String toEmail, String reviewContent, String recipeTitle,
+                                    String reviewerName, Integer rating) {
+        int stars = rating != null ? rating : 0;
+        String content = REVIEW_TEXT.render(
+                recipeTitle,
+                reviewerName != null ? reviewerName : "Anonymous",
+                "★".repeat(stars),
+                Integer.toString(stars),
+                reviewContent);
+        return recipeEmail(toEmail, content, "Review for: " + recipeTitle);
+    }
+
+    private static Timer sendTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("email.send")
+                .description("SendGrid mail/send requests")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
     /**
      * Create HTML version of the email
      */
     private String createHtmlEmail(String recipeContent, String recipeTitle) {
-        return String.format("""
-            <!DOCTYPE html>
-            <html>
-            <head>
-                <meta charset="utf-8">
-                <meta name="viewport" content="width=device-width, initial-scale=1.0">
-                <title>Your Recipe</title>
-                <style>
-                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
-                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
-                    .header { background: linear-gradient(135deg, #e74c3c 0%%, #c0392b 100%%); 
-                             color: white; padding: 30px; border-radius: 10px; text-align: center; }
-                    .recipe-content { background: #f8f9fa; padding: 25px; border-radius: 10px; 
-                                    margin: 20px 0; border-left: 5px solid #e74c3c; }
-                    .footer { text-align: center; margin-top: 30px; color: #666; font-size: 14px; }
-                    .btn { display: inline-block; background: #e74c3c; color: white; 
-                           padding: 12px 25px; text-decoration: none; border-radius: 5px; 
-                           margin: 10px 5px; }
-                </style>
-            </head>
-            <body>
-                <div class="container">
-                    <div class="header">
-                        <h1>🍳 Smart Recipe Generator</h1>
-                        <p>Your delicious recipe is ready!</p>
-                    </div>
-                    
-                    <div class="recipe-content">
-                        <h2>%s</h2>
-                        <pre style="white-space: pre-wrap; font-family: inherit;">%s</pre>
-                    </div>
-                    
-                    <div class="footer">
-                        <p>Generated by Smart Recipe Generator</p>
-                        <p>Happy cooking! 👨‍🍳</p>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """, recipeTitle, recipeContent);
+        return RECIPE_HTML.render(recipeTitle, recipeContent);
     }
 
     /**
      * Create plain text version of the email
      */
     private String createTextEmail(String recipeContent, String recipeTitle) {
-        return String.format("""
-            🍳 Smart Recipe Generator
-            
-            Your Recipe: %s
-            
-            %s
-            
-            ---
-            Generated by Smart Recipe Generator
-            Happy cooking! 👨‍🍳
-            """, recipeTitle, recipeContent);
+        return RECIPE_TEXT.render(recipeTitle, recipeContent);
     }
 }
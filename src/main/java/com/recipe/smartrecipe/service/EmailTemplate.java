@@ -0,0 +1,160 @@
+package com.recipe.smartrecipe.service;
+
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An email body split once into static fragments and {@code {{name}}} slots.
+ *
+ * Rendering appends the fragments and slot values into one builder sized up front, so a send
+ * costs a single copy of the text instead of reparsing a format string. HTML templates escape
+ * every value while copying it in.
+ */
+public final class EmailTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String[] fragments;
+    // For each slot occurrence, the index of its value in render's arguments
+    private final int[] slots;
+    private final int slotCount;
+    private final boolean escapeHtml;
+    private final int staticLength;
+
+    private EmailTemplate(String[] fragments, int[] slots, int slotCount, boolean escapeHtml) {
+        this.fragments = fragments;
+        this.slots = slots;
+        this.slotCount = slotCount;
+        this.escapeHtml = escapeHtml;
+        int length = 0;
+        for (String fragment : fragments) {
+            length += fragment.length();
+        }
+        this.staticLength = length;
+    }
+
+    /**
+     * Compile a template whose values are HTML-escaped
+     * @param slotNames the placeholders, in the order render takes their values
+     */
+    public static EmailTemplate html(String source, String... slotNames) {
+        return compile(source, true, slotNames);
+    }
+
+    /**
+     * Compile a plain text template; values are copied as they are
+     */
+    public static EmailTemplate text(String source, String... slotNames) {
+        return compile(source, false, slotNames);
+    }
+
+    /**
+     * Read a template from the classpath
+     */
+    public static String load(String resource) {
+        try (InputStream in = new ClassPathResource(resource).getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read email template " + resource, e);
+        }
+    }
+
+    private static EmailTemplate compile(String source, boolean escapeHtml, String... slotNames) {
+        List<String> fragments = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        boolean[] used = new boolean[slotNames.length];
+
+        int from = 0;
+        int open;
+        while ((open = source.indexOf(OPEN, from)) >= 0) {
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at offset " + open);
+            }
+            String name = source.substring(open + OPEN.length(), close).trim();
+            int slot = indexOf(slotNames, name);
+            if (slot < 0) {
+                throw new IllegalArgumentException("Unknown placeholder {{" + name + "}}");
+            }
+            used[slot] = true;
+            fragments.add(source.substring(from, open));
+            slots.add(slot);
+            from = close + CLOSE.length();
+        }
+        fragments.add(source.substring(from));
+
+        for (int i = 0; i < used.length; i++) {
+            if (!used[i]) {
+                throw new IllegalArgumentException("Template has no {{" + slotNames[i] + "}} placeholder");
+            }
+        }
+        return new EmailTemplate(fragments.toArray(String[]::new),
+                slots.stream().mapToInt(Integer::intValue).toArray(), slotNames.length, escapeHtml);
+    }
+
+    /**
+     * Fill the slots; null values render as empty
+     * @param values one per slot name, in the order given at compile time
+     */
+    public String render(String... values) {
+        if (values.length != slotCount) {
+            throw new IllegalArgumentException("Expected " + slotCount + " values, got " + values.length);
+        }
+        int length = staticLength;
+        for (int slot : slots) {
+            length += values[slot] != null ? values[slot].length() : 0;
+        }
+        // Room for a few escapes before the builder has to grow
+        StringBuilder out = new StringBuilder(escapeHtml ? length + length / 16 : length);
+
+        out.append(fragments[0]);
+        for (int i = 0; i < slots.length; i++) {
+            String value = values[slots[i]];
+            if (value != null) {
+                if (escapeHtml) {
+                    appendEscaped(out, value);
+                } else {
+                    out.append(value);
+                }
+            }
+            out.append(fragments[i + 1]);
+        }
+        return out.toString();
+    }
+
+    static void appendEscaped(StringBuilder out, String value) {
+        // Copy unescaped runs in one call rather than char by char
+        int run = 0;
+        for (int i = 0; i < value.length(); i++) {
+            String entity = switch (value.charAt(i)) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                default -> null;
+            };
+            if (entity != null) {
+                out.append(value, run, i).append(entity);
+                run = i + 1;
+            }
+        }
+        out.append(value, run, value.length());
+    }
+
+    private static int indexOf(String[] names, String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
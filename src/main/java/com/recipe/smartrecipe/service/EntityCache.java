@@ -0,0 +1,114 @@
+package com.recipe.smartrecipe.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Read-through cache of one entity type by ID, bounded by the estimated bytes of its entries.
+ *
+ * As in {@link UserCache}, loads run on the caller's thread after an empty future is installed.
+ * Invalidating an ID while its load is in flight therefore drops that load's result as well, and
+ * the next read goes back to the database. Absent IDs are not cached.
+ */
+final class EntityCache<T> {
+
+    private final Function<Long, Optional<T>> loader;
+    private final AsyncCache<Long, T> cache;
+
+    EntityCache(String name,
+                Function<Long, Optional<T>> loader,
+                ToIntFunction<T> weigher,
+                DataSize maximumWeight,
+                Duration expireAfterWrite,
+                MeterRegistry meterRegistry) {
+        this.loader = loader;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight.toBytes())
+                .weigher((Long id, T entity) -> weigher.applyAsInt(entity))
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+
+        Cache<Long, T> view = cache.synchronous();
+        CaffeineCacheMetrics.monitor(meterRegistry, view, name);
+        Gauge.builder("cache.weighted.size", view,
+                        c -> c.policy().eviction().map(e -> e.weightedSize().orElse(0)).orElse(0L))
+                .tag("cache", name)
+                .baseUnit(BaseUnits.BYTES)
+                .description("Estimated bytes held by the cache")
+                .register(meterRegistry);
+        Gauge.builder("cache.hit.ratio", view, c -> c.stats().hitRate())
+                .tag("cache", name)
+                .description("Share of lookups answered from the cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Find an entity by ID, loading and caching it on a miss
+     */
+    Optional<T> find(Long id) {
+        CompletableFuture<T> load = new CompletableFuture<>();
+        CompletableFuture<T> cached = cache.get(id, (key, executor) -> load);
+        if (cached != load) {
+            return Optional.ofNullable(await(cached));
+        }
+        try {
+            // Completing with null removes the entry, so unknown IDs are looked up again next time
+            T found = loader.apply(id).orElse(null);
+            load.complete(found);
+            return Optional.ofNullable(found);
+        } catch (RuntimeException e) {
+            // Failed futures are dropped from the cache
+            load.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * The cached entity for an ID, without loading it
+     */
+    Optional<T> getIfPresent(Long id) {
+        CompletableFuture<T> cached = cache.getIfPresent(id);
+        if (cached == null || !cached.isDone() || cached.isCompletedExceptionally()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cached.join());
+    }
+
+    void invalidate(Collection<Long> ids) {
+        cache.synchronous().invalidateAll(ids);
+    }
+
+    /**
+     * Drop every cached ID in {@code [fromId, toId)}
+     */
+    void invalidateRange(long fromId, long toId) {
+        cache.asMap().keySet().removeIf(id -> id >= fromId && id < toId);
+    }
+
+    // Another caller's load; its failure is rethrown as thrown
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
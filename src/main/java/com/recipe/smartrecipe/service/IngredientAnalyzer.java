@@ -0,0 +1,139 @@
+package com.recipe.smartrecipe.service;
+
+import com.recipe.smartrecipe.dto.RecipeRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Analyzes a recipe request once and produces the {@link RecipeFeatures} shared by every generator.
+ *
+ * All known ingredient keywords are compiled into an Aho-Corasick automaton at startup, so the
+ * ingredient list is matched against every keyword in a single pass without lowercasing or
+ * copying the input.
+ */
+@Component
+public class IngredientAnalyzer {
+
+    private static final int ALPHABET = 26;
+
+    // Full transition table: transitions[state * ALPHABET + letter] -> next state
+    private final int[] transitions;
+
+    // Bitmask of the keywords that end in each state (including those reached via failure links)
+    private final long[] outputs;
+
+    public IngredientAnalyzer() {
+        List<int[]> gotoTable = new ArrayList<>();
+        List<Long> outputList = new ArrayList<>();
+        gotoTable.add(newState());
+        outputList.add(0L);
+
+        // Build the keyword trie
+        for (IngredientKeyword keyword : IngredientKeyword.values()) {
+            int state = 0;
+            for (char c : keyword.getToken().toCharArray()) {
+                int letter = c - 'a';
+                if (gotoTable.get(state)[letter] < 0) {
+                    gotoTable.get(state)[letter] = gotoTable.size();
+                    gotoTable.add(newState());
+                    outputList.add(0L);
+                }
+                state = gotoTable.get(state)[letter];
+            }
+            outputList.set(state, outputList.get(state) | keyword.mask());
+        }
+
+        // Resolve failure links breadth-first and turn the trie into a complete DFA
+        int stateCount = gotoTable.size();
+        int[] failure = new int[stateCount];
+        this.transitions = new int[stateCount * ALPHABET];
+        this.outputs = new long[stateCount];
+        for (int i = 0; i < stateCount; i++) {
+            outputs[i] = outputList.get(i);
+        }
+
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int letter = 0; letter < ALPHABET; letter++) {
+            int next = gotoTable.get(0)[letter];
+            if (next < 0) {
+                transitions[letter] = 0;
+            } else {
+                transitions[letter] = next;
+                failure[next] = 0;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs[state] |= outputs[failure[state]];
+            for (int letter = 0; letter < ALPHABET; letter++) {
+                int next = gotoTable.get(state)[letter];
+                if (next < 0) {
+                    transitions[state * ALPHABET + letter] = transitions[failure[state] * ALPHABET + letter];
+                } else {
+                    transitions[state * ALPHABET + letter] = next;
+                    failure[next] = transitions[failure[state] * ALPHABET + letter];
+                    queue.add(next);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tokenize and match the request in one pass over the ingredient list
+     */
+    public RecipeFeatures analyze(RecipeRequest request) {
+        String raw = request.getIngredients();
+        long ingredientMask = 0L;
+        long firstIngredientMask = 0L;
+        boolean inFirstIngredient = true;
+        int state = 0;
+
+        for (int i = 0, length = raw.length(); i < length; i++) {
+            char c = Character.toLowerCase(raw.charAt(i));
+            if (c >= 'a' && c <= 'z') {
+                state = transitions[state * ALPHABET + (c - 'a')];
+                long matched = outputs[state];
+                if (matched != 0L) {
+                    ingredientMask |= matched;
+                    if (inFirstIngredient) {
+                        firstIngredientMask |= matched;
+                    }
+                }
+            } else {
+                // Keywords only contain letters, so any other character ends a partial match
+                state = 0;
+                if (c == ',') {
+                    inFirstIngredient = false;
+                }
+            }
+        }
+
+        String[] items = raw.split(",");
+        String[] trimmed = new String[items.length];
+        for (int i = 0; i < items.length; i++) {
+            trimmed[i] = items[i].trim();
+        }
+
+        return new RecipeFeatures(
+                List.of(trimmed),
+                ingredientMask,
+                firstIngredientMask,
+                request.getMealType(),
+                request.getCuisine().toLowerCase(),
+                request.getComplexity().toLowerCase(),
+                request.getCookingTime()
+        );
+    }
+
+    private static int[] newState() {
+        int[] state = new int[ALPHABET];
+        Arrays.fill(state, -1);
+        return state;
+    }
+}
@@ -0,0 +1,36 @@
+package com.recipe.smartrecipe.service;
+
+/**
+ * Ingredient keywords that influence generated instructions, tips and estimates.
+ * Matching follows substring semantics, e.g. "eggs" and "eggplant" both match EGG.
+ */
+public enum IngredientKeyword {
+    EGG("egg"),
+    MILK("milk"),
+    TOMATO("tomato"),
+    POTATO("potato"),
+    ONION("onion"),
+    CHICKEN("chicken"),
+    SALMON("salmon"),
+    BEEF("beef"),
+    FISH("fish"),
+    RICE("rice"),
+    PASTA("pasta"),
+    CARROT("carrot"),
+    SPINACH("spinach"),
+    MUSHROOM("mushroom");
+
+    private final String token;
+
+    IngredientKeyword(String token) {
+        this.token = token;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    long mask() {
+        return 1L << ordinal();
+    }
+}
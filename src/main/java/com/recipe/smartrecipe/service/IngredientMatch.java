@@ -0,0 +1,11 @@
+package com.recipe.smartrecipe.service;
+
+/**
+ * How a multi-ingredient search combines its ingredients
+ */
+public enum IngredientMatch {
+    /** Recipes containing at least one of the ingredients */
+    ANY,
+    /** Recipes containing every ingredient */
+    ALL
+}
@@ -0,0 +1,62 @@
+package com.recipe.smartrecipe.service;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits free-text ingredient lists into the normalized tokens stored in {@code recipe_ingredient}.
+ *
+ * Tokens are lowercase words of at least two letters with simple English plurals folded
+ * ("tomatoes" and "tomato" both become "tomato"), so search matches whole ingredients
+ * rather than substrings ("egg" no longer matches "eggplant").
+ */
+public final class IngredientTokenizer {
+
+    static final int MAX_TOKEN_LENGTH = 100;
+
+    private IngredientTokenizer() {
+    }
+
+    public static Set<String> tokens(String ingredients) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (ingredients == null) {
+            return tokens;
+        }
+
+        String text = ingredients.toLowerCase(Locale.ROOT);
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (c >= 'a' && c <= 'z') {
+                word.append(c);
+            } else if (!word.isEmpty()) {
+                addToken(tokens, word);
+                word.setLength(0);
+            }
+        }
+        return tokens;
+    }
+
+    private static void addToken(Set<String> tokens, CharSequence word) {
+        if (word.length() < 2 || word.length() > MAX_TOKEN_LENGTH) {
+            return;
+        }
+        tokens.add(singular(word.toString()));
+    }
+
+    static String singular(String word) {
+        int length = word.length();
+        if (length > 4 && word.endsWith("ies")) {
+            return word.substring(0, length - 3) + "y";
+        }
+        if (length > 4 && (word.endsWith("oes") || word.endsWith("ches") || word.endsWith("shes")
+                || word.endsWith("sses") || word.endsWith("xes"))) {
+            return word.substring(0, length - 2);
+        }
+        if (length > 3 && word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us")) {
+            return word.substring(0, length - 1);
+        }
+        return word;
+    }
+}
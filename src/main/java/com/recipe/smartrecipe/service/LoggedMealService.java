@@ -1,7 +1,9 @@
 package com.recipe.smartrecipe.service;
 
+import com.recipe.smartrecipe.dto.CursorPage;
 import com.recipe.smartrecipe.dto.LoggedMealRequest;
 import com.recipe.smartrecipe.dto.LoggedMealResponse;
+import com.recipe.smartrecipe.dto.PageCursor;
 import com.recipe.smartrecipe.entity.LoggedMeal;
 import com.recipe.smartrecipe.repository.LoggedMealRepository;
 import lombok.RequiredArgsConstructor;
@@ -49,15 +51,21 @@ public class LoggedMealService {
     }
     
     /**
-     * Get all logged meals for a user
+     * Get one page of logged meals for a user, newest first
      */
-    public List<LoggedMealResponse> getLoggedMealsByUserEmail(String userEmail) {
+    public CursorPage<LoggedMealResponse> getLoggedMealsByUserEmail(String userEmail, String cursor, int size) {
         log.info("Fetching logged meals for user: {}", userEmail);
         
-        List<LoggedMeal> loggedMeals = loggedMealRepository.findByUserEmailOrderByLoggedAtDesc(userEmail);
-        return loggedMeals.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        List<LoggedMeal> loggedMeals;
+        if (cursor == null) {
+            loggedMeals = loggedMealRepository.findPageByUserEmail(userEmail, size + 1);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            loggedMeals = loggedMealRepository.findPageByUserEmailAfter(userEmail, after.createdAt(), after.id(), size + 1);
+        }
+        return CursorPage.of(loggedMeals, size,
+                loggedMeal -> new PageCursor(loggedMeal.getCreatedAt(), loggedMeal.getId()),
+                this::convertToResponse);
     }
     
     /**
@@ -0,0 +1,268 @@
+package com.recipe.smartrecipe.service;
+
+import com.recipe.smartrecipe.entity.EmailOutbox;
+import com.recipe.smartrecipe.repository.EmailOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Durable {@link EmailQueue} backed by the {@code email_outbox} table.
+ *
+ * Submitting an email is a single insert, so it survives restarts and SendGrid outages. A poller
+ * on every instance claims due rows in a short transaction ({@code FOR UPDATE SKIP LOCKED}),
+ * marks them SENDING under a lease and commits, then sends them on a worker pool outside any
+ * transaction and records the outcome. Several instances therefore drain the outbox in parallel
+ * without claiming the same row; a row whose instance dies mid-send is picked up again once its
+ * lease expires, so delivery is at least once.
+ */
+@Service
+@ConditionalOnProperty(name = "recipe.email.outbox.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OutboxEmailQueue implements EmailQueue, SmartLifecycle {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final Duration CLEANUP_INTERVAL = Duration.ofMinutes(1);
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final RetryBackoff backoff;
+    private final Duration jobRetention;
+    private final boolean virtualThreads;
+    private final ExecutorService workers;
+    private final Semaphore wakeup = new Semaphore(0);
+
+    private volatile boolean running;
+    private Thread poller;
+    private LocalDateTime lastCleanup = LocalDateTime.MIN;
+
+    public OutboxEmailQueue(EmailOutboxRepository emailOutboxRepository,
+                            EmailService emailService,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${recipe.email.workers:4}") int workerCount,
+                            @Value("${recipe.email.outbox.batch-size:50}") int batchSize,
+                            @Value("${recipe.email.outbox.poll-interval:1s}") Duration pollInterval,
+                            @Value("${recipe.email.outbox.lease:2m}") Duration lease,
+                            @Value("${recipe.email.max-attempts:5}") int maxAttempts,
+                            @Value("${recipe.email.initial-backoff:1s}") Duration initialBackoff,
+                            @Value("${recipe.email.max-backoff:1m}") Duration maxBackoff,
+                            @Value("${recipe.email.job-retention:1h}") Duration jobRetention,
+                            @Value(BackgroundThreads.VIRTUAL_PROPERTY) boolean virtualThreads) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Claim no more rows than there are workers, so every claimed row starts sending at once
+        // and its lease only has to outlast a single send
+        this.batchSize = Math.min(batchSize, workerCount);
+        this.pollInterval = pollInterval;
+        this.lease = lease;
+        this.maxAttempts = maxAttempts;
+        this.backoff = new RetryBackoff(initialBackoff, maxBackoff);
+        this.jobRetention = jobRetention;
+        this.virtualThreads = virtualThreads;
+        this.workers = Executors.newFixedThreadPool(workerCount,
+                BackgroundThreads.numbered("email-outbox-sender-", virtualThreads).factory());
+    }
+
+    @Override
+    public EmailJob submit(EmailMessage message) {
+        LocalDateTime now = LocalDateTime.now();
+        EmailOutbox row = new EmailOutbox();
+        row.setJobId(UUID.randomUUID().toString());
+        row.setRecipients(message.recipients());
+        row.setSubject(message.subject());
+        row.setTextBody(message.text());
+        row.setHtmlBody(message.html());
+        row.setStatus(EmailOutbox.QUEUED);
+        row.setNextAttemptAt(now);
+        row.setCreatedAt(now);
+        row.setUpdatedAt(now);
+        EmailOutbox saved = transactionTemplate.execute(status -> emailOutboxRepository.save(row));
+
+        // Don't wait for the next poll when this instance is idle
+        wakeup.release();
+        log.info("Queued email job {} for {}", saved.getJobId(), message.describeRecipients());
+        return toJob(saved);
+    }
+
+    @Override
+    public Optional<EmailJob> getJob(String id) {
+        return emailOutboxRepository.findByJobId(id).map(OutboxEmailQueue::toJob);
+    }
+
+    // ===== POLLER =====
+
+    private void runPoller() {
+        while (running) {
+            try {
+                int claimed = drainOnce();
+                cleanUpIfDue();
+                if (claimed < batchSize) {
+                    wakeup.tryAcquire(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    wakeup.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Email outbox poll failed: {}", e.getMessage());
+                try {
+                    Thread.sleep(pollInterval.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Claim one batch of due emails, send them and record the outcomes; returns the batch size
+     */
+    int drainOnce() throws InterruptedException {
+        List<EmailOutbox> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            int abandoned = emailOutboxRepository.failExpiredLeases(now, maxAttempts);
+            if (abandoned > 0) {
+                log.error("Failed {} email jobs whose last attempt never reported back", abandoned);
+            }
+            List<EmailOutbox> due = emailOutboxRepository.claimDue(now, maxAttempts, batchSize);
+            for (EmailOutbox row : due) {
+                row.setStatus(EmailOutbox.SENDING);
+                row.setAttempts(row.getAttempts() + 1);
+                row.setLeaseExpiresAt(now.plus(lease));
+                row.setUpdatedAt(now);
+            }
+            return due;
+        });
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+
+        List<Future<?>> sends = new ArrayList<>(claimed.size());
+        for (EmailOutbox row : claimed) {
+            sends.add(workers.submit(() -> send(row)));
+        }
+        for (Future<?> send : sends) {
+            try {
+                send.get();
+            } catch (ExecutionException e) {
+                log.error("Email outbox send failed: {}", e.getCause().getMessage());
+            }
+        }
+        return claimed.size();
+    }
+
+    private void send(EmailOutbox row) {
+        EmailMessage message = new EmailMessage(row.getRecipients(), row.getSubject(), row.getTextBody(), row.getHtmlBody());
+        try {
+            emailService.deliver(message);
+        } catch (EmailDeliveryException e) {
+            recordFailure(row, e.getMessage(), e.isRetryable());
+            return;
+        } catch (RuntimeException e) {
+            // Anything else is retried like a transient failure, so the row never stays leased
+            recordFailure(row, e.toString(), true);
+            return;
+        }
+        record(row, () -> emailOutboxRepository.markSent(row.getId(), row.getAttempts(), LocalDateTime.now()));
+    }
+
+    private void recordFailure(EmailOutbox row, String message, boolean retryable) {
+        String error = truncate(message);
+        if (retryable && row.getAttempts() < maxAttempts) {
+            LocalDateTime nextAttempt = LocalDateTime.now().plus(Duration.ofMillis(backoff.delayMillis(row.getAttempts())));
+            record(row, () -> emailOutboxRepository.markRetrying(
+                    row.getId(), row.getAttempts(), error, nextAttempt, LocalDateTime.now()));
+        } else {
+            log.error("Email job {} failed after {} attempts: {}", row.getJobId(), row.getAttempts(), error);
+            record(row, () -> emailOutboxRepository.markFailed(row.getId(), row.getAttempts(), error, LocalDateTime.now()));
+        }
+    }
+
+    private void record(EmailOutbox row, IntSupplier update) {
+        Integer updated = transactionTemplate.execute(status -> update.getAsInt());
+        if (updated == null || updated == 0) {
+            log.warn("Email job {} was reclaimed after its lease expired; dropped the outcome of attempt {}",
+                    row.getJobId(), row.getAttempts());
+        }
+    }
+
+    private void cleanUpIfDue() {
+        LocalDateTime now = LocalDateTime.now();
+        if (lastCleanup.isAfter(now.minus(CLEANUP_INTERVAL))) {
+            return;
+        }
+        lastCleanup = now;
+        Integer deleted = transactionTemplate.execute(status ->
+                emailOutboxRepository.deleteFinishedBefore(now.minus(jobRetention)));
+        if (deleted != null && deleted > 0) {
+            log.info("Removed {} finished email jobs from the outbox", deleted);
+        }
+    }
+
+    private static EmailJob toJob(EmailOutbox row) {
+        return new EmailJob(row.getJobId(), row.getRecipient(), row.getRecipients().size(), row.getCreatedAt(),
+                EmailJob.Status.valueOf(row.getStatus()), row.getAttempts(), row.getLastError(), row.getUpdatedAt());
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    // ===== LIFECYCLE =====
+
+    @Override
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        poller = BackgroundThreads.named("email-outbox-poller", virtualThreads).start(this::runPoller);
+        log.info("Email outbox poller started (batch size {}, lease {})", batchSize, lease);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        wakeup.release();
+        try {
+            // Let the current batch finish so its rows are not left leased until expiry
+            poller.join(lease.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        workers.shutdown();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,143 @@
+package com.recipe.smartrecipe.service;
+
+import com.recipe.smartrecipe.dto.ReviewResponse;
+import com.recipe.smartrecipe.repository.ReviewRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The latest reviews, newest first, served from memory.
+ *
+ * A fixed-size ring of slots: writers claim a sequence number and store into its slot, readers
+ * walk back from the newest sequence. Each slot remembers the sequence it was written for, so a
+ * reader skips slots that a slow writer has not filled yet or that were already overwritten.
+ * Warmed from the database once at startup; reads never query it. Review writes reach the feed
+ * only after they commit, so a rolled-back review is never shown.
+ */
+@Component
+@Slf4j
+public class RecentReviewFeed {
+
+    private record Slot(long sequence, ReviewResponse review) {
+    }
+
+    private final ReviewRepository reviewRepository;
+    private final int capacity;
+    private final AtomicReferenceArray<Slot> slots;
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    public RecentReviewFeed(ReviewRepository reviewRepository,
+                            @Value("${recipe.reviews.recent.capacity:200}") int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("recipe.reviews.recent.capacity must be positive");
+        }
+        this.reviewRepository = reviewRepository;
+        this.capacity = capacity;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Load the newest reviews before the application starts serving requests
+     */
+    @PostConstruct
+    void warm() {
+        try {
+            List<ReviewResponse> newest = reviewRepository.findLatest(capacity);
+            for (int i = newest.size() - 1; i >= 0; i--) {
+                append(newest.get(i));
+            }
+            log.info("Warmed recent review feed with {} reviews", newest.size());
+        } catch (Exception e) {
+            log.warn("Recent review feed starts empty: {}", e.getMessage());
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Apply a committed review change. Runs at once when it is published outside a transaction.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReviewChanged(ReviewChanged event) {
+        switch (event.kind()) {
+            case CREATED -> append(event.review());
+            case UPDATED -> replace(event.review());
+            case DELETED -> remove(event.reviewId());
+        }
+    }
+
+    public void append(ReviewResponse review) {
+        store(nextSequence.getAndIncrement(), review);
+    }
+
+    // A slow writer whose slot was already taken by a newer sequence leaves it alone
+    void store(long sequence, ReviewResponse review) {
+        int index = index(sequence);
+        Slot slot = new Slot(sequence, review);
+        while (true) {
+            Slot current = slots.get(index);
+            if (current != null && current.sequence() >= sequence) {
+                return;
+            }
+            if (slots.compareAndSet(index, current, slot)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Swap in the updated copy of a review that is still in the feed
+     */
+    public void replace(ReviewResponse review) {
+        for (int i = 0; i < capacity; i++) {
+            Slot slot = slots.get(i);
+            if (slot != null && slot.review() != null && Objects.equals(slot.review().getId(), review.getId())) {
+                slots.compareAndSet(i, slot, new Slot(slot.sequence(), review));
+            }
+        }
+    }
+
+    /**
+     * Drop a deleted review from the feed
+     */
+    public void remove(Long reviewId) {
+        for (int i = 0; i < capacity; i++) {
+            Slot slot = slots.get(i);
+            if (slot != null && slot.review() != null && Objects.equals(slot.review().getId(), reviewId)) {
+                slots.compareAndSet(i, slot, new Slot(slot.sequence(), null));
+            }
+        }
+    }
+
+    /**
+     * Up to {@code limit} reviews, newest first
+     */
+    public List<ReviewResponse> latest(int limit) {
+        int wanted = Math.min(limit, capacity);
+        List<ReviewResponse> latest = new ArrayList<>(Math.max(wanted, 0));
+        long newest = nextSequence.get() - 1;
+        for (long sequence = newest; sequence >= 0 && sequence > newest - capacity && latest.size() < wanted; sequence--) {
+            Slot slot = slots.get(index(sequence));
+            if (slot != null && slot.sequence() == sequence && slot.review() != null) {
+                latest.add(slot.review());
+            }
+        }
+        return latest;
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence % capacity);
+    }
+}
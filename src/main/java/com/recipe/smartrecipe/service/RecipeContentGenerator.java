@@ -0,0 +1,382 @@
+package com.recipe.smartrecipe.service;
+
+import com.recipe.smartrecipe.dto.RecipeRequest;
+import com.recipe.smartrecipe.service.RecipeTemplateCatalog.CuisinePhrases;
+import com.recipe.smartrecipe.service.RecipeTemplateCatalog.IngredientTips;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.recipe.smartrecipe.service.IngredientKeyword.*;
+import static com.recipe.smartrecipe.service.RecipeTemplateCatalog.pick;
+
+/**
+ * Renders recipe content from a request. The request is analyzed once by the
+ * {@link IngredientAnalyzer} and every generation step reads the shared {@link RecipeFeatures};
+ * phrases come from the {@link RecipeTemplateCatalog}.
+ */
+@Component
+@RequiredArgsConstructor
+public class RecipeContentGenerator {
+
+    private static final DateTimeFormatter GENERATED_ON_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    // Rendered recipes run to about 1,600 characters; sizing the builder once avoids regrowing it
+    private static final int RECIPE_CAPACITY = 2048;
+    private static final int HEADER_CAPACITY = 64;
+
+    private final IngredientAnalyzer ingredientAnalyzer;
+    private final RecipeTemplateCatalog catalog;
+
+    public String generate(RecipeRequest request) {
+        return generate(request, new Random());
+    }
+    
+    /**
+     * Render a full recipe using the given source of randomness
+     */
+    public String generate(RecipeRequest request, Random random) {
+        StringBuilder recipe = new StringBuilder(RECIPE_CAPACITY);
+        appendHeader(recipe, request);
+        appendBody(recipe, request, random);
+        return recipe.toString();
+    }
+    
+    /**
+     * Title of the recipe generated for a request, as stored on {@code Recipe}
+     */
+    public static String title(RecipeRequest request) {
+        return String.valueOf(request.getMealType());
+    }
+    
+    /**
+     * Title and timestamp lines; the only part of a recipe that depends on the current time
+     */
+    String renderHeader(RecipeRequest request) {
+        return appendHeader(new StringBuilder(HEADER_CAPACITY), request).toString();
+    }
+
+    private static StringBuilder appendHeader(StringBuilder recipe, RecipeRequest request) {
+        recipe.append("🍳 ").append(title(request)).append(" RECIPE\n");
+        recipe.append("⏰ Generated on: ");
+        GENERATED_ON_FORMAT.formatTo(LocalDateTime.now(), recipe);
+        return recipe.append("\n");
+    }
+    
+    /**
+     * Everything after the header. Output depends only on the request and the random sequence.
+     */
+    String renderBody(RecipeRequest request, Random random) {
+        return appendBody(new StringBuilder(RECIPE_CAPACITY), request, random).toString();
+    }
+
+    private StringBuilder appendBody(StringBuilder recipe, RecipeRequest request, Random random) {
+        RecipeFeatures features = ingredientAnalyzer.analyze(request);
+        
+        recipe.append("🌍 Cuisine: ").append(request.getCuisine()).append("\n");
+        recipe.append("⏱️  Cooking Time: ").append(catalog.cookingTimeLabel(request.getCookingTime())).append("\n");
+        recipe.append("📊 Difficulty: ").append(request.getComplexity()).append("\n\n");
+        
+        recipe.append("📝 INGREDIENTS:\n");
+        List<String> ingredients = features.ingredients();
+        for (int i = 0; i < ingredients.size(); i++) {
+            recipe.append("   ").append(i + 1).append(". ").append(ingredients.get(i)).append("\n");
+        }
+        
+        // Generate unique instructions based on ingredients and preferences
+        recipe.append("\n👨‍🍳 INSTRUCTIONS:\n");
+        String[] instructions = generateUniqueInstructions(features, random);
+        for (int i = 0; i < instructions.length; i++) {
+            recipe.append("   ").append(i + 1).append(". ").append(instructions[i]).append("\n");
+        }
+        
+        // Generate unique cooking tips based on cuisine and complexity
+        recipe.append("\n💡 COOKING TIPS:\n");
+        String[] tips = generateUniqueCookingTips(features, random);
+        for (String tip : tips) {
+            recipe.append("   • ").append(tip).append("\n");
+        }
+        
+        // Generate dynamic prep time, servings, and calories
+        recipe.append("\n⏰ Estimated Prep Time: ").append(getDynamicPrepTime(features, random)).append("\n");
+        recipe.append("👥 Servings: ").append(getDynamicServings(features, random)).append("\n");
+        recipe.append("🔥 Calories per serving: ").append(getDynamicCalories(features, random)).append("\n\n");
+        
+        return recipe.append("Bon appétit! 🎉");
+    }
+    
+    private String[] generateUniqueInstructions(RecipeFeatures features, Random random) {
+        CuisinePhrases cuisine = catalog.cuisine(features.cuisine());
+        String complexity = features.complexity();
+        
+        // Base instructions that adapt to ingredients and preferences
+        List<String> baseInstructions = new ArrayList<>();
+        
+        // Step 1: Ingredient preparation (varies by ingredients)
+        if (features.ingredientCount() > 0) {
+            if (features.firstIngredientHas(EGG)) {
+                baseInstructions.add("Crack and whisk the eggs in a bowl, season with salt and pepper");
+            } else if (features.firstIngredientHas(MILK)) {
+                baseInstructions.add("Measure and warm the milk slightly (not boiling)");
+            } else if (features.firstIngredientHas(TOMATO)) {
+                baseInstructions.add("Wash and dice the tomatoes into small cubes");
+            } else if (features.firstIngredientHas(POTATO)) {
+                baseInstructions.add("Wash and dice the potatoes into small cubes");
+            } else if (features.firstIngredientHas(ONION)) {
+                baseInstructions.add("Peel and finely dice the onion");
+            } else if (features.firstIngredientHas(CHICKEN)) {
+                baseInstructions.add("Cut the chicken into bite-sized pieces and season with salt and pepper");
+            } else {
+                baseInstructions.add("Prepare your ingredients by washing and chopping as needed");
+            }
+        }
+        
+        // Step 2: Cooking method (varies by cuisine)
+        baseInstructions.add(pick(cuisine.cooking(), random));
+        
+        // Step 3: Ingredient cooking (varies by ingredients and combinations)
+        if (features.ingredientCount() > 1) {
+            // Special handling for common ingredient combinations
+            boolean hasEggs = features.has(EGG);
+            boolean hasTomatoes = features.has(TOMATO);
+            boolean hasMilk = features.has(MILK);
+            boolean hasPotatoes = features.has(POTATO);
+            boolean hasOnions = features.has(ONION);
+            
+            if (hasEggs && hasTomatoes && !hasMilk) {
+                // Scrambled eggs with tomatoes
+                baseInstructions.add("Add diced tomatoes to the pan and sauté for 2-3 minutes until softened");
+                baseInstructions.add("Pour the whisked eggs over the tomatoes and cook, stirring gently until eggs are set");
+            } else if (hasMilk && hasEggs) {
+                // Custard or creamy egg dish
+                baseInstructions.add("Slowly pour the warm milk into the eggs while whisking constantly");
+                baseInstructions.add("Cook over low heat, stirring continuously until thickened to custard consistency");
+            } else if (hasPotatoes && hasOnions) {
+                // Potato and onion dish
+                baseInstructions.add("Add diced onions to the pan and sauté until translucent");
+                baseInstructions.add("Add potato cubes and cook, stirring occasionally, until potatoes are tender");
+            } else if (hasTomatoes && hasOnions) {
+                // Tomato and onion base
+                baseInstructions.add("Sauté onions until golden, then add tomatoes and cook until they break down");
+            } else {
+                baseInstructions.add("Add your prepared ingredients to the pan in order of cooking time needed");
+                baseInstructions.add("Cook each ingredient until tender before adding the next");
+            }
+        } else {
+            baseInstructions.add("Add your prepared ingredients to the pan and cook until fragrant and tender");
+        }
+        
+        // Step 4: Seasoning and finishing (varies by cuisine)
+        baseInstructions.add(pick(cuisine.seasoning(), random));
+        
+        // Step 5: Final cooking (varies by cooking time)
+        baseInstructions.add(pick(catalog.cookingTime(features.cookingTime()).cooking(), random));
+        
+        // Step 6: Serving (varies by complexity and meal type)
+        if (complexity.equals("beginner")) {
+            baseInstructions.add("Serve hot and enjoy your delicious " + features.mealType().toLowerCase() + "!");
+        } else if (complexity.equals("intermediate")) {
+            baseInstructions.add("Plate with care, ensuring good visual presentation before serving");
+        } else {
+            baseInstructions.add("Plate beautifully with garnishes and arrange ingredients artistically");
+        }
+        
+        return baseInstructions.toArray(new String[0]);
+    }
+    
+    private String[] generateUniqueCookingTips(RecipeFeatures features, Random random) {
+        
+        List<String> tips = new ArrayList<>();
+        
+        // Tip 1: Cuisine-specific advice
+        tips.add(pick(catalog.cuisine(features.cuisine()).tips(), random));
+        
+        // Tip 2: Complexity-based advice
+        tips.add(pick(catalog.complexityTips(features.complexity()), random));
+        
+        // Tip 3: Ingredient-specific tips
+        for (IngredientTips ingredientTips : catalog.ingredientTips()) {
+            if (features.has(ingredientTips.ingredient())) {
+                tips.add(pick(ingredientTips.tipsFor(features), random));
+            }
+        }
+        
+        // Tip 4: Cooking time specific tips
+        tips.add(pick(catalog.cookingTime(features.cookingTime()).tips(), random));
+        
+        // Tip 5: Meal type specific tips
+        List<String> mealTypeTips = catalog.mealTypeTips(features.mealType());
+        if (!mealTypeTips.isEmpty()) {
+            tips.add(pick(mealTypeTips, random));
+        }
+        
+        // Tip 6: General cooking advice
+        tips.addAll(catalog.generalTips());
+        
+        return tips.toArray(new String[0]);
+    }
+    
+    private String getDynamicPrepTime(RecipeFeatures features, Random random) {
+        String complexity = features.complexity();
+        String cookingTime = features.cookingTime();
+        
+        int basePrepTime = 15; // Reduced base preparation time
+        
+        // Add time for ingredient preparation
+        if (features.has(SALMON)) {
+            basePrepTime += 8 + random.nextInt(4); // Add 8-12 minutes for salmon preparation
+        }
+        if (features.has(CHICKEN)) {
+            basePrepTime += 8 + random.nextInt(4); // Add 8-12 minutes for chicken preparation
+        }
+        if (features.has(BEEF)) {
+            basePrepTime += 10 + random.nextInt(5); // Add 10-15 minutes for beef preparation
+        }
+        if (features.has(FISH)) {
+            basePrepTime += 8 + random.nextInt(4); // Add 8-12 minutes for fish preparation
+        }
+        if (features.has(EGG)) {
+            basePrepTime += 5 + random.nextInt(3); // Add 5-8 minutes for egg preparation
+        }
+        if (features.has(TOMATO)) {
+            basePrepTime += 3 + random.nextInt(2); // Add 3-5 minutes for tomato preparation
+        }
+        if (features.has(MILK)) {
+            basePrepTime += 3 + random.nextInt(2); // Add 3-5 minutes for milk preparation
+        }
+        if (features.has(POTATO)) {
+            basePrepTime += 8 + random.nextInt(4); // Add 8-12 minutes for potato preparation
+        }
+        if (features.has(ONION)) {
+            basePrepTime += 3 + random.nextInt(2); // Add 3-5 minutes for onion preparation
+        }
+        if (features.has(RICE)) {
+            basePrepTime += 5 + random.nextInt(3); // Add 5-8 minutes for rice preparation
+        }
+        if (features.has(PASTA)) {
+            basePrepTime += 3 + random.nextInt(2); // Add 3-5 minutes for pasta preparation
+        }
+        if (features.has(CARROT)) {
+            basePrepTime += 5 + random.nextInt(3); // Add 5-8 minutes for carrot preparation
+        }
+        if (features.has(SPINACH)) {
+            basePrepTime += 3 + random.nextInt(2); // Add 3-5 minutes for spinach preparation
+        }
+        if (features.has(MUSHROOM)) {
+            basePrepTime += 5 + random.nextInt(3); // Add 5-8 minutes for mushroom preparation
+        }
+        
+        // Adjust for complexity (but respect cooking time preference)
+        if (complexity.equals("intermediate")) {
+            basePrepTime += 5 + random.nextInt(3); // Add 5-8 minutes for intermediate complexity
+        } else if (complexity.equals("advanced")) {
+            basePrepTime += 8 + random.nextInt(4); // Add 8-12 minutes for advanced complexity
+        }
+        
+        // RESPECT the cooking time preference - this is the key fix!
+        if (cookingTime.equals("UNDER_30")) {
+            // For UNDER_30, ensure total time doesn't exceed 30 minutes
+            basePrepTime = Math.min(basePrepTime, 25); // Cap at 25 minutes to stay under 30 total
+        } else if (cookingTime.equals("MIN_30_60")) {
+            basePrepTime += 10 + random.nextInt(5); // Add 10-15 minutes for longer cooking times
+        } else if (cookingTime.equals("OVER_60")) {
+            basePrepTime += 15 + random.nextInt(10); // Add 15-25 minutes for very long cooking times
+        }
+        
+        return basePrepTime + " minutes";
+    }
+    
+    private String getDynamicServings(RecipeFeatures features, Random random) {
+        String complexity = features.complexity();
+        String cookingTime = features.cookingTime();
+        
+        int baseServings = 2; // Default servings
+        
+        if (features.has(EGG)) {
+            baseServings += 1 + random.nextInt(2); // Add 1-3 servings for egg dishes
+        }
+        if (features.has(TOMATO)) {
+            baseServings += 1; // Add 1 serving for tomato dishes
+        }
+        if (features.has(MILK)) {
+            baseServings += 1; // Add 1 serving for milk-based dishes
+        }
+        if (features.has(POTATO)) {
+            baseServings += 1 + random.nextInt(2); // Add 1-3 servings for potato dishes
+        }
+        if (features.has(ONION)) {
+            baseServings += 1; // Add 1 serving for onion dishes
+        }
+        
+        if (complexity.equals("intermediate")) {
+            baseServings += 1; // Add 1 serving for intermediate complexity
+        } else if (complexity.equals("advanced")) {
+            baseServings += 1 + random.nextInt(2); // Add 1-3 servings for advanced complexity
+        }
+        
+        if (cookingTime.equals("MIN_30_60")) {
+            baseServings += 1; // Add 1 serving for longer cooking times
+        } else if (cookingTime.equals("OVER_60")) {
+            baseServings += 1 + random.nextInt(2); // Add 1-3 servings for very long cooking times
+        }
+        
+        // Ensure reasonable range
+        baseServings = Math.max(2, Math.min(8, baseServings));
+        
+        if (baseServings == 1) {
+            return "1 serving";
+        } else if (baseServings == 2) {
+            return "2 servings";
+        } else if (baseServings <= 4) {
+            return "2-4 servings";
+        } else if (baseServings <= 6) {
+            return "4-6 servings";
+        } else {
+            return "6-8 servings";
+        }
+    }
+    
+    private String getDynamicCalories(RecipeFeatures features, Random random) {
+        String complexity = features.complexity();
+        String cookingTime = features.cookingTime();
+        
+        int baseCalories = 350; // Default calories per serving
+        
+        if (features.has(EGG)) {
+            baseCalories += 100 + random.nextInt(50); // Add 100-150 calories for egg dishes
+        }
+        if (features.has(TOMATO)) {
+            baseCalories += 50 + random.nextInt(25); // Add 50-75 calories for tomato dishes
+        }
+        if (features.has(MILK)) {
+            baseCalories += 100 + random.nextInt(50); // Add 100-150 calories for milk-based dishes
+        }
+        if (features.has(POTATO)) {
+            baseCalories += 150 + random.nextInt(75); // Add 150-225 calories for potato dishes
+        }
+        if (features.has(ONION)) {
+            baseCalories += 50 + random.nextInt(25); // Add 50-75 calories for onion dishes
+        }
+        
+        if (complexity.equals("intermediate")) {
+            baseCalories += 50 + random.nextInt(25); // Add 50-75 calories for intermediate complexity
+        } else if (complexity.equals("advanced")) {
+            baseCalories += 100 + random.nextInt(50); // Add 100-150 calories for advanced complexity
+        }
+        
+        if (cookingTime.equals("MIN_30_60")) {
+            baseCalories += 50 + random.nextInt(25); // Add 50-75 calories for longer cooking times
+        } else if (cookingTime.equals("OVER_60")) {
+            baseCalories += 100 + random.nextInt(50); // Add 100-150 calories for very long cooking times
+        }
+        
+        // Round to nearest 25 for cleaner display
+        baseCalories = ((baseCalories + 12) / 25) * 25;
+        
+        return "~" + baseCalories + " kcal";
+    }
+}
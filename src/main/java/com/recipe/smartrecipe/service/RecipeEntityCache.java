@@ -0,0 +1,93 @@
+package com.recipe.smartrecipe.service;
+
+import com.recipe.smartrecipe.entity.Recipe;
+import com.recipe.smartrecipe.entity.RecipeRequestEntity;
+import com.recipe.smartrecipe.repository.RecipeRepository;
+import com.recipe.smartrecipe.repository.RecipeRequestRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Read-through caches of recipes and recipe requests by ID, in front of the single-row reads.
+ *
+ * Recipes are written once and read many times. Each cache is bounded by the bytes of text its
+ * entries hold. Entries also expire, so rows changed outside this service are picked up
+ * eventually. Writers publish {@link RecipesChanged}, and cached copies are dropped after the
+ * writing transaction completes. A read that starts after the commit therefore always loads the
+ * new row. Cached entities are shared between callers and must not be modified; writers load
+ * their own copy from the repository. Metrics are the {@code cache.*} meters tagged
+ * {@code cache=recipes} and {@code cache=recipe-requests}, including {@code cache.evictions},
+ * {@code cache.weighted.size} and {@code cache.hit.ratio}.
+ */
+@Component
+public class RecipeEntityCache {
+
+    static final String RECIPES = "recipes";
+    static final String RECIPE_REQUESTS = "recipe-requests";
+
+    // Object header, boxed IDs, timestamps and the short attribute strings
+    static final int ENTITY_OVERHEAD_BYTES = 256;
+
+    private final EntityCache<Recipe> recipes;
+    private final EntityCache<RecipeRequestEntity> requests;
+
+    public RecipeEntityCache(RecipeRepository recipeRepository,
+                             RecipeRequestRepository recipeRequestRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${recipe.entity-cache.recipes.maximum-weight:64MB}") DataSize recipesMaximumWeight,
+                             @Value("${recipe.entity-cache.recipe-requests.maximum-weight:16MB}") DataSize requestsMaximumWeight,
+                             @Value("${recipe.entity-cache.expire-after-write:30m}") Duration expireAfterWrite) {
+        this.recipes = new EntityCache<>(RECIPES, recipeRepository::findById, RecipeEntityCache::weighRecipe,
+                recipesMaximumWeight, expireAfterWrite, meterRegistry);
+        this.requests = new EntityCache<>(RECIPE_REQUESTS, recipeRequestRepository::findById, RecipeEntityCache::weighRequest,
+                requestsMaximumWeight, expireAfterWrite, meterRegistry);
+    }
+
+    public Optional<Recipe> findRecipe(Long id) {
+        return recipes.find(id);
+    }
+
+    /**
+     * The cached recipe for an ID, without going to the database on a miss
+     */
+    public Optional<Recipe> cachedRecipe(Long id) {
+        return recipes.getIfPresent(id);
+    }
+
+    public Optional<RecipeRequestEntity> findRecipeRequest(Long id) {
+        return requests.find(id);
+    }
+
+    /**
+     * Drop changed rows once the writing transaction has committed or rolled back. Runs at once
+     * when it is published outside a transaction.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onRecipesChanged(RecipesChanged event) {
+        recipes.invalidate(event.recipeIds());
+        requests.invalidate(event.requestIds());
+        if (event.fromRecipeId() < event.toRecipeId()) {
+            recipes.invalidateRange(event.fromRecipeId(), event.toRecipeId());
+        }
+    }
+
+    // Strings are weighed as UTF-16, which recipe text is once it holds an emoji
+    static int weighRecipe(Recipe recipe) {
+        return ENTITY_OVERHEAD_BYTES + 2 * (length(recipe.getContent()) + length(recipe.getTitle()));
+    }
+
+    static int weighRequest(RecipeRequestEntity request) {
+        return ENTITY_OVERHEAD_BYTES + 2 * length(request.getIngredients());
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+}
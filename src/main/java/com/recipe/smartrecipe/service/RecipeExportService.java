@@ -0,0 +1,111 @@
+package com.recipe.smartrecipe.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recipe.smartrecipe.entity.Recipe;
+import com.recipe.smartrecipe.entity.RecipeRequestEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+/**
+ * Streams recipes and recipe requests as newline-delimited JSON, oldest first.
+ *
+ * Rows are read through a forward-only cursor inside a read-only transaction and written one
+ * at a time. Each entity is detached once written, so memory stays flat regardless of table size.
+ * The fetch size is set on the export queries only; on MySQL it is {@code Integer.MIN_VALUE},
+ * which makes Connector/J stream rows instead of buffering the whole result, and leaves every
+ * other statement in the app on client-side prepares.
+ */
+@Service
+@Slf4j
+public class RecipeExportService {
+
+    // Flush the response every this many rows so clients see steady progress
+    private static final int FLUSH_INTERVAL = 500;
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int fetchSize;
+
+    public RecipeExportService(EntityManager entityManager,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${recipe.export.fetch-size:500}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Write every recipe created at or after {@code since} (all recipes when null)
+     */
+    public long exportRecipes(LocalDateTime since, OutputStream out) {
+        return export("recipes", out, () -> stream(Recipe.class, since));
+    }
+
+    /**
+     * Write every recipe request created at or after {@code since} (all requests when null)
+     */
+    public long exportRecipeRequests(LocalDateTime since, OutputStream out) {
+        return export("recipe requests", out, () -> stream(RecipeRequestEntity.class, since));
+    }
+
+    // Oldest first; the caller must hold a transaction and close the stream before it commits
+    private <T> Stream<T> stream(Class<T> type, LocalDateTime since) {
+        String where = since != null ? " WHERE r.createdAt >= :since" : "";
+        TypedQuery<T> query = entityManager.createQuery(
+                "SELECT r FROM " + type.getSimpleName() + " r" + where + " ORDER BY r.createdAt, r.id", type);
+        if (since != null) {
+            query.setParameter("since", since);
+        }
+        return query.setHint(HINT_FETCH_SIZE, fetchSize)
+                .setHint(HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private <T> long export(String kind, OutputStream out, Supplier<Stream<T>> rows) {
+        long started = System.currentTimeMillis();
+        Long written = readOnlyTransaction.execute(status -> {
+            long count = 0;
+            try (Stream<T> stream = rows.get();
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                // Keep the caller's stream open; the servlet container closes it
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+
+                for (T row : (Iterable<T>) stream::iterator) {
+                    generator.writeObject(row);
+                    generator.writeRaw('\n');
+                    entityManager.detach(row);
+                    if (++count % FLUSH_INTERVAL == 0) {
+                        generator.flush();
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to export " + kind + " after " + count + " rows", e);
+            }
+            return count;
+        });
+
+        log.info("Exported {} {} in {} ms", written, kind, System.currentTimeMillis() - started);
+        return written != null ? written : 0L;
+    }
+}
@@ -0,0 +1,36 @@
+package com.recipe.smartrecipe.service;
+
+import java.util.List;
+
+/**
+ * Immutable result of analyzing a recipe request, computed once per generation.
+ *
+ * @param ingredients         trimmed ingredients in the order they were requested
+ * @param ingredientMask      keywords found anywhere in the ingredient list
+ * @param firstIngredientMask keywords found in the first ingredient
+ * @param mealType            meal type as requested
+ * @param cuisine             lowercased cuisine
+ * @param complexity          lowercased complexity
+ * @param cookingTime         cooking time as requested
+ */
+public record RecipeFeatures(
+        List<String> ingredients,
+        long ingredientMask,
+        long firstIngredientMask,
+        String mealType,
+        String cuisine,
+        String complexity,
+        String cookingTime) {
+
+    public boolean has(IngredientKeyword keyword) {
+        return (ingredientMask & keyword.mask()) != 0L;
+    }
+
+    public boolean firstIngredientHas(IngredientKeyword keyword) {
+        return (firstIngredientMask & keyword.mask()) != 0L;
+    }
+
+    public int ingredientCount() {
+        return ingredients.size();
+    }
+}
@@ -0,0 +1,47 @@
+package com.recipe.smartrecipe.service;
+
+import com.recipe.smartrecipe.repository.RecipeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Copies meal type, cuisine, cooking time and complexity from recipe requests onto recipes
+ * created before those columns existed.
+ */
+@Component
+public class RecipeFilterBackfill extends WindowedBackfill {
+
+    private final RecipeRepository recipeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public RecipeFilterBackfill(RecipeRepository recipeRepository,
+                                ApplicationEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${recipe.backfill.filter-attributes.enabled:true}") boolean enabled,
+                                @Value("${recipe.backfill.filter-attributes.window-size:1000}") int windowSize) {
+        super("recipe-filter-backfill", transactionManager, enabled, windowSize);
+        this.recipeRepository = recipeRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    protected Long firstId() {
+        return recipeRepository.findFirstIdWithoutFilterAttributes();
+    }
+
+    @Override
+    protected Long lastId() {
+        return recipeRepository.findLastIdWithoutFilterAttributes();
+    }
+
+    @Override
+    protected int processWindow(long fromId, long toId) {
+        int updated = recipeRepository.backfillFilterAttributes(fromId, toId);
+        if (updated > 0) {
+            eventPublisher.publishEvent(RecipesChanged.recipeWindow(fromId, toId));
+        }
+        return updated;
+    }
+}
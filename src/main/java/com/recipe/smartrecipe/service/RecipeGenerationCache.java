@@ -0,0 +1,115 @@
+package com.recipe.smartrecipe.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.recipe.smartrecipe.dto.RecipeRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Entry point for recipe content generation.
+ *
+ * By default every call renders fresh, randomized content. In deterministic mode the request
+ * is normalized (ingredients lowercased and sorted), generation is seeded from a stable hash of
+ * the normalized request, and rendered bodies are kept in a bounded cache with TTL eviction so
+ * repeated ingredient combinations are served without regenerating. Cache hits, misses and
+ * evictions are published as {@code cache.*} metrics tagged {@code cache=recipe.generation}.
+ */
+@Component
+@Slf4j
+public class RecipeGenerationCache {
+
+    static final String CACHE_NAME = "recipe.generation";
+
+    private final RecipeContentGenerator recipeContentGenerator;
+    private final boolean deterministic;
+    private final Cache<GenerationKey, String> bodies;
+
+    public RecipeGenerationCache(RecipeContentGenerator recipeContentGenerator,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${recipe.generation.deterministic:false}") boolean deterministic,
+                                 @Value("${recipe.generation.cache.maximum-size:10000}") long maximumSize,
+                                 @Value("${recipe.generation.cache.expire-after-write:30m}") Duration expireAfterWrite) {
+        this.recipeContentGenerator = recipeContentGenerator;
+        this.deterministic = deterministic;
+
+        if (deterministic) {
+            this.bodies = Caffeine.newBuilder()
+                    .maximumSize(maximumSize)
+                    .expireAfterWrite(expireAfterWrite)
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, bodies, CACHE_NAME);
+            log.info("Deterministic recipe generation enabled (cache size {}, ttl {})", maximumSize, expireAfterWrite);
+        } else {
+            this.bodies = null;
+        }
+    }
+
+    public String generate(RecipeRequest request) {
+        if (!deterministic) {
+            return recipeContentGenerator.generate(request);
+        }
+
+        RecipeRequest normalized = normalize(request);
+        GenerationKey key = GenerationKey.of(normalized);
+        String body = bodies.get(key, k -> recipeContentGenerator.renderBody(normalized, new Random(k.seed())));
+
+        // The header carries the generation timestamp, so it is never cached
+        return recipeContentGenerator.renderHeader(normalized) + body;
+    }
+
+    static RecipeRequest normalize(RecipeRequest request) {
+        String ingredients = Arrays.stream(request.getIngredients().split(","))
+                .map(ingredient -> ingredient.trim().toLowerCase(Locale.ROOT))
+                .filter(ingredient -> !ingredient.isEmpty())
+                .sorted()
+                .collect(Collectors.joining(", "));
+
+        return new RecipeRequest(
+                ingredients,
+                request.getMealType().trim(),
+                request.getCuisine().trim(),
+                request.getCookingTime().trim(),
+                request.getComplexity().trim()
+        );
+    }
+
+    /**
+     * Cache key built from a normalized request
+     */
+    record GenerationKey(String ingredients, String mealType, String cuisine, String cookingTime, String complexity) {
+
+        static GenerationKey of(RecipeRequest normalized) {
+            return new GenerationKey(
+                    normalized.getIngredients(),
+                    normalized.getMealType(),
+                    normalized.getCuisine(),
+                    normalized.getCookingTime(),
+                    normalized.getComplexity()
+            );
+        }
+
+        /**
+         * Seed derived only from String.hashCode, which is specified, so it is stable across restarts
+         */
+        long seed() {
+            long seed = 1125899906842597L;
+            seed = 31 * seed + ingredients.hashCode();
+            seed = 31 * seed + mealType.hashCode();
+            seed = 31 * seed + cuisine.hashCode();
+            seed = 31 * seed + cookingTime.hashCode();
+            seed = 31 * seed + complexity.hashCode();
+            return seed;
+        }
+    }
+}
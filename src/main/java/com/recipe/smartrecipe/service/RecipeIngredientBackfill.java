@@ -0,0 +1,67 @@
+package com.recipe.smartrecipe.service;
+
+import com.recipe.smartrecipe.entity.Recipe;
+import com.recipe.smartrecipe.repository.RecipeIngredientRepository;
+import com.recipe.smartrecipe.repository.RecipeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds ingredient tokens for recipes saved before the ingredient index existed.
+ */
+@Component
+public class RecipeIngredientBackfill extends WindowedBackfill {
+
+    private final RecipeRepository recipeRepository;
+    private final RecipeIngredientRepository recipeIngredientRepository;
+    private final RecipeIngredientIndex recipeIngredientIndex;
+
+    public RecipeIngredientBackfill(RecipeRepository recipeRepository,
+                                    RecipeIngredientRepository recipeIngredientRepository,
+                                    RecipeIngredientIndex recipeIngredientIndex,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${recipe.backfill.ingredient-index.enabled:true}") boolean enabled,
+                                    @Value("${recipe.backfill.ingredient-index.window-size:1000}") int windowSize) {
+        super("recipe-ingredient-backfill", transactionManager, enabled, windowSize);
+        this.recipeRepository = recipeRepository;
+        this.recipeIngredientRepository = recipeIngredientRepository;
+        this.recipeIngredientIndex = recipeIngredientIndex;
+    }
+
+    @Override
+    protected Long firstId() {
+        return recipeRepository.findMinId();
+    }
+
+    @Override
+    protected Long lastId() {
+        return recipeRepository.findMaxId();
+    }
+
+    @Override
+    protected int processWindow(long fromId, long toId) {
+        List<Object[]> unindexed = recipeIngredientRepository.findUnindexedRecipes(fromId, toId);
+        if (unindexed.isEmpty()) {
+            return 0;
+        }
+
+        List<Recipe> recipes = new ArrayList<>(unindexed.size());
+        Map<Long, String> ingredients = new HashMap<>();
+        for (Object[] row : unindexed) {
+            // Only the ID and user are needed to write tokens
+            Recipe recipe = new Recipe();
+            recipe.setId((Long) row[0]);
+            recipe.setUserId((Long) row[1]);
+            recipes.add(recipe);
+            ingredients.put(recipe.getId(), (String) row[2]);
+        }
+        recipeIngredientIndex.index(recipes, recipe -> ingredients.get(recipe.getId()));
+        return recipes.size();
+    }
+}
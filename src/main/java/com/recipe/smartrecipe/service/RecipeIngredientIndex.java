@@ -0,0 +1,59 @@
+package com.recipe.smartrecipe.service;
+
+import com.recipe.smartrecipe.entity.Recipe;
+import com.recipe.smartrecipe.entity.RecipeIngredient;
+import com.recipe.smartrecipe.repository.RecipeIngredientRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Maintains the {@code recipe_ingredient} token rows behind ingredient search.
+ *
+ * Callers run these inside the transaction that writes the recipe, so tokens and recipes
+ * never disagree. Token rows use pooled IDs and are inserted in JDBC batches.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RecipeIngredientIndex {
+
+    private final RecipeIngredientRepository recipeIngredientRepository;
+
+    /**
+     * Add tokens for newly saved recipes; {@code ingredientsOf} returns null for recipes without ingredients
+     */
+    public void index(Collection<Recipe> recipes, Function<Recipe, String> ingredientsOf) {
+        List<RecipeIngredient> rows = new ArrayList<>();
+        for (Recipe recipe : recipes) {
+            for (String token : IngredientTokenizer.tokens(ingredientsOf.apply(recipe))) {
+                rows.add(new RecipeIngredient(recipe.getId(), recipe.getUserId(), token));
+            }
+        }
+        recipeIngredientRepository.saveAll(rows);
+        log.debug("Indexed {} ingredient tokens for {} recipes", rows.size(), recipes.size());
+    }
+
+    public void index(Recipe recipe, String ingredients) {
+        index(List.of(recipe), r -> ingredients);
+    }
+
+    /**
+     * Replace the tokens of existing recipes, e.g. after their ingredients changed
+     */
+    public void reindex(Collection<Recipe> recipes, Function<Recipe, String> ingredientsOf) {
+        remove(recipes.stream().map(Recipe::getId).toList());
+        index(recipes, ingredientsOf);
+    }
+
+    public void remove(Collection<Long> recipeIds) {
+        if (!recipeIds.isEmpty()) {
+            recipeIngredientRepository.deleteByRecipeIdIn(recipeIds);
+        }
+    }
+}
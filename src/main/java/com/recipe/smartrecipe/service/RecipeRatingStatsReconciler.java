@@ -0,0 +1,108 @@
+package com.recipe.smartrecipe.service;
+
+import com.recipe.smartrecipe.entity.RecipeRatingStats;
+import com.recipe.smartrecipe.repository.RecipeRatingStatsRepository;
+import com.recipe.smartrecipe.repository.ReviewRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recomputes {@code recipe_rating_stats} from the reviews table and repairs rows that drifted.
+ *
+ * Runs after startup, which also seeds stats for reviews written before the table existed, and
+ * then on a fixed schedule. Each window locks its stats rows before aggregating reviews, so a
+ * review written concurrently either shows up in the aggregate or applies its delta afterwards.
+ */
+@Component
+@Slf4j
+public class RecipeRatingStatsReconciler extends WindowedBackfill {
+
+    private final ReviewRepository reviewRepository;
+    private final RecipeRatingStatsRepository recipeRatingStatsRepository;
+
+    public RecipeRatingStatsReconciler(ReviewRepository reviewRepository,
+                                       RecipeRatingStatsRepository recipeRatingStatsRepository,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${recipe.rating-stats.reconcile.enabled:true}") boolean enabled,
+                                       @Value("${recipe.rating-stats.reconcile.window-size:1000}") int windowSize) {
+        super("recipe-rating-stats-reconciliation", transactionManager, enabled, windowSize);
+        this.reviewRepository = reviewRepository;
+        this.recipeRatingStatsRepository = recipeRatingStatsRepository;
+    }
+
+    @Scheduled(initialDelayString = "${recipe.rating-stats.reconcile.interval:PT6H}",
+               fixedDelayString = "${recipe.rating-stats.reconcile.interval:PT6H}")
+    public void reconcile() {
+        backfill();
+    }
+
+    @Override
+    protected Long firstId() {
+        return bound(reviewRepository.findMinRecipeId(), recipeRatingStatsRepository.findMinRecipeId(), true);
+    }
+
+    @Override
+    protected Long lastId() {
+        return bound(reviewRepository.findMaxRecipeId(), recipeRatingStatsRepository.findMaxRecipeId(), false);
+    }
+
+    @Override
+    protected int processWindow(long fromId, long toId) {
+        Map<Long, RecipeRatingStats> stored = new HashMap<>();
+        for (RecipeRatingStats stats : recipeRatingStatsRepository.findWindowForUpdate(fromId, toId)) {
+            stored.put(stats.getRecipeId(), stats);
+        }
+
+        List<RecipeRatingStats> repaired = new ArrayList<>();
+        for (Object[] row : reviewRepository.aggregateRatingsByRecipeIdWindow(fromId, toId)) {
+            Long recipeId = (Long) row[0];
+            long sum = ((Number) row[1]).longValue();
+            long count = ((Number) row[2]).longValue();
+            long[] stars = new long[5];
+            for (int i = 0; i < stars.length; i++) {
+                stars[i] = ((Number) row[3 + i]).longValue();
+            }
+
+            RecipeRatingStats stats = stored.remove(recipeId);
+            if (stats == null) {
+                stats = new RecipeRatingStats(recipeId);
+            } else if (stats.hasTotals(sum, count, stars)) {
+                continue;
+            }
+            stats.replaceTotals(sum, count, stars);
+            repaired.add(stats);
+        }
+
+        // Stats left over belong to recipes whose reviews are all gone
+        for (RecipeRatingStats stats : stored.values()) {
+            if (!stats.hasTotals(0, 0, new long[5])) {
+                stats.replaceTotals(0, 0, new long[5]);
+                repaired.add(stats);
+            }
+        }
+
+        if (!repaired.isEmpty()) {
+            recipeRatingStatsRepository.saveAll(repaired);
+            log.warn("Repaired rating stats for {} recipes between IDs {} and {}", repaired.size(), fromId, toId);
+        }
+        return repaired.size();
+    }
+
+    private static Long bound(Long a, Long b, boolean min) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return min ? Math.min(a, b) : Math.max(a, b);
+    }
+}
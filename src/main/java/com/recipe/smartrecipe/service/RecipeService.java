@@ -1,22 +1,35 @@
 package com.recipe.smartrecipe.service;
 
+import com.recipe.smartrecipe.dto.CursorPage;
+import com.recipe.smartrecipe.dto.PageCursor;
 import com.recipe.smartrecipe.dto.RecipeRequest;
+import com.recipe.smartrecipe.dto.RecipeResponse;
 import com.recipe.smartrecipe.entity.Recipe;
 import com.recipe.smartrecipe.entity.RecipeRequestEntity;
 import com.recipe.smartrecipe.entity.User;
 import com.recipe.smartrecipe.repository.RecipeRepository;
 import com.recipe.smartrecipe.repository.RecipeRequestRepository;
 import com.recipe.smartrecipe.repository.UserRepository;
+import com.recipe.smartrecipe.service.GenerationStageTimers.Stage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
@@ -26,6 +39,14 @@ public class RecipeService {
     private final RecipeRepository recipeRepository;
     private final RecipeRequestRepository recipeRequestRepository;
     private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final RecipeGenerationCache recipeGenerationCache;
+    private final RecipeWriteBehindQueue recipeWriteBehindQueue;
+    private final RecipeIngredientIndex recipeIngredientIndex;
+    private final GenerationStageTimers stageTimers;
+    private final RecipeEntityCache recipeEntityCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     // ===== RECIPE GENERATION =====
     public String generateRecipe(RecipeRequest request, Long userId) {
@@ -34,54 +55,129 @@ public class RecipeService {
         // Ensure user exists, create demo user if needed
         User user = ensureUserExists(userId);
         
-        // First save the recipe request
+        // Build the recipe request
+        RecipeRequestEntity requestEntity = newRequestEntity(request, user.getId(), LocalDateTime.now());
+        
+        // Generate the recipe content
+        String recipeContent = stageTimers.time(Stage.RENDER, () -> recipeGenerationCache.generate(request));
+        
+        Recipe recipe = newRecipe(request, requestEntity, recipeContent);
+        
+        if (recipeWriteBehindQueue.isEnabled()) {
+            // Respond now, the background writer persists both rows
+            stageTimers.run(Stage.ENQUEUE, () -> recipeWriteBehindQueue.enqueue(requestEntity, recipe));
+            log.info("Recipe for user {} queued for persistence", user.getId());
+            return recipeContent;
+        }
+        
+        // One transaction, so the ingredient tokens are committed together with the recipe
+        transactionTemplate.executeWithoutResult(status -> {
+            RecipeRequestEntity savedRequest = stageTimers.time(Stage.SAVE_REQUEST, () -> recipeRequestRepository.save(requestEntity));
+            log.info("Recipe request saved with ID: {}", savedRequest.getId());
+            
+            // Save the generated recipe
+            recipe.setRequestId(savedRequest.getId());
+            Recipe savedRecipe = stageTimers.time(Stage.SAVE_RECIPE, () -> recipeRepository.save(recipe));
+            log.info("Recipe saved to database with ID: {}", savedRecipe.getId());
+            stageTimers.run(Stage.INDEX_INGREDIENTS, () -> recipeIngredientIndex.index(savedRecipe, savedRequest.getIngredients()));
+        });
+        
+        return recipeContent;
+    }
+
+    /**
+     * Generate recipes for several requests of one user; the responses keep the input order.
+     * Content is rendered in parallel, and all rows are then written in one batched transaction
+     * (or handed to the write-behind queue when it is enabled). An item that fails to generate
+     * gets an error response without affecting the rest.
+     */
+    public List<RecipeResponse> generateRecipes(List<RecipeRequest> requests, Long userId) {
+        log.info("Generating {} recipes for user {}", requests.size(), userId);
+        User user = ensureUserExists(userId);
+        LocalDateTime createdAt = LocalDateTime.now();
+        
+        // Rendering is CPU-bound, so spread it across cores; each item writes only its own slot
+        RecipeRequestEntity[] requestEntities = new RecipeRequestEntity[requests.size()];
+        Recipe[] recipes = new Recipe[requests.size()];
+        RecipeResponse[] responses = new RecipeResponse[requests.size()];
+        IntStream.range(0, requests.size()).parallel().forEach(i -> {
+            RecipeRequest request = requests.get(i);
+            try {
+                RecipeRequestEntity requestEntity = newRequestEntity(request, user.getId(), createdAt);
+                String recipeContent = stageTimers.time(Stage.RENDER, () -> recipeGenerationCache.generate(request));
+                recipes[i] = newRecipe(request, requestEntity, recipeContent);
+                requestEntities[i] = requestEntity;
+                responses[i] = new RecipeResponse(recipeContent);
+            } catch (RuntimeException e) {
+                log.error("Error generating recipe {} of batch for user {}: {}", i, user.getId(), e.getMessage(), e);
+                responses[i] = RecipeResponse.error("Failed to generate recipe: " + e.getMessage());
+            }
+        });
+        
+        List<Integer> generated = IntStream.range(0, recipes.length).filter(i -> recipes[i] != null).boxed().toList();
+        if (generated.isEmpty()) {
+            return Arrays.asList(responses);
+        }
+        
+        if (recipeWriteBehindQueue.isEnabled()) {
+            stageTimers.run(Stage.ENQUEUE, () ->
+                    generated.forEach(i -> recipeWriteBehindQueue.enqueue(requestEntities[i], recipes[i])));
+            log.info("{} recipes for user {} queued for persistence", generated.size(), user.getId());
+            return Arrays.asList(responses);
+        }
+        
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<RecipeRequestEntity> batch = generated.stream().map(i -> requestEntities[i]).toList();
+                List<RecipeRequestEntity> savedRequests = stageTimers.time(Stage.SAVE_REQUEST, () -> recipeRequestRepository.saveAll(batch));
+                List<Recipe> savedRecipes = new ArrayList<>(generated.size());
+                for (int i = 0; i < generated.size(); i++) {
+                    Recipe recipe = recipes[generated.get(i)];
+                    recipe.setRequestId(savedRequests.get(i).getId());
+                    savedRecipes.add(recipe);
+                }
+                stageTimers.run(Stage.SAVE_RECIPE, () -> recipeRepository.saveAll(savedRecipes));
+                Map<Recipe, String> ingredients = new IdentityHashMap<>(generated.size());
+                generated.forEach(i -> ingredients.put(recipes[i], requestEntities[i].getIngredients()));
+                stageTimers.run(Stage.INDEX_INGREDIENTS, () -> recipeIngredientIndex.index(savedRecipes, ingredients::get));
+            });
+            log.info("Saved {} generated recipes for user {}", generated.size(), user.getId());
+        } catch (RuntimeException e) {
+            // Nothing was saved, so none of the generated recipes can be reported as done
+            log.error("Error saving batch of {} recipes for user {}: {}", generated.size(), user.getId(), e.getMessage(), e);
+            generated.forEach(i -> responses[i] = RecipeResponse.error("Failed to save recipe: " + e.getMessage()));
+        }
+        return Arrays.asList(responses);
+    }
+    
+    private static RecipeRequestEntity newRequestEntity(RecipeRequest request, Long userId, LocalDateTime createdAt) {
         RecipeRequestEntity requestEntity = new RecipeRequestEntity();
-        requestEntity.setUserId(user.getId());
+        requestEntity.setUserId(userId);
         requestEntity.setIngredients(request.getIngredients());
         requestEntity.setMealType(request.getMealType());
         requestEntity.setCuisine(request.getCuisine());
         requestEntity.setCookingTime(request.getCookingTime());
         requestEntity.setComplexity(request.getComplexity());
-        
-        RecipeRequestEntity savedRequest = recipeRequestRepository.save(requestEntity);
-        log.info("Recipe request saved with ID: {}", savedRequest.getId());
-        
-        // Generate the recipe content
-        String recipeContent = generateMockRecipe(request);
-        
-        // Save the generated recipe
+        requestEntity.setCreatedAt(createdAt);
+        return requestEntity;
+    }
+    
+    private static Recipe newRecipe(RecipeRequest request, RecipeRequestEntity requestEntity, String recipeContent) {
         Recipe recipe = new Recipe();
-        recipe.setUserId(user.getId());
-        recipe.setRequestId(savedRequest.getId());
+        recipe.setUserId(requestEntity.getUserId());
         recipe.setContent(recipeContent);
-        
-        Recipe savedRecipe = recipeRepository.save(recipe);
-        log.info("Recipe saved to database with ID: {}", savedRecipe.getId());
-        
-        return recipeContent;
+        recipe.setTitle(RecipeContentGenerator.title(request));
+        recipe.setCreatedAt(requestEntity.getCreatedAt());
+        recipe.copyFilterAttributes(requestEntity);
+        return recipe;
     }
-
+    
     // ===== USER MANAGEMENT =====
     
     private User ensureUserExists(Long userId) {
-        Optional<User> existingUser = userRepository.findById(userId);
-        if (existingUser.isPresent()) {
-            return existingUser.get();
-        }
-        
         try {
-            // Create demo user if it doesn't exist
-            User demoUser = new User();
-            // Don't set ID, let MySQL auto-generate it
-            demoUser.setUsername("demo_user_" + userId);
-            demoUser.setEmail("demo" + userId + "@example.com");
-            demoUser.setPassword("demo_password");
-            demoUser.setHash("demo_hash");
-            demoUser.setPasswordHash("demo_password_hash");
-            
-            User savedUser = userRepository.save(demoUser);
-            log.info("Created demo user with ID: {}", savedUser.getId());
-            return savedUser;
+            // Cached; concurrent first requests for the same ID create a single demo user
+            return stageTimers.time(Stage.ENSURE_USER, () -> userCache.resolve(userId, this::findOrCreateDemoUser));
         } catch (Exception e) {
             log.error("Failed to create user: {}", e.getMessage());
             // If user creation fails, create a minimal user object for the session
@@ -92,20 +188,84 @@ public class RecipeService {
             return tempUser;
         }
     }
+    
+    private User findOrCreateDemoUser(Long userId) {
+        String username = "demo_user_" + userId;
+        // The demo user gets its own generated ID, so look it up by name after a cache eviction
+        Optional<User> existingDemoUser = userRepository.findFirstByUsernameOrderByIdAsc(username);
+        if (existingDemoUser.isPresent()) {
+            return existingDemoUser.get();
+        }
+        
+        // Create demo user if it doesn't exist
+        User demoUser = new User();
+        // Don't set ID, let MySQL auto-generate it
+        demoUser.setUsername(username);
+        demoUser.setEmail("demo" + userId + "@example.com");
+        demoUser.setPassword("demo_password");
+        demoUser.setHash("demo_hash");
+        demoUser.setPasswordHash("demo_password_hash");
+        
+        User savedUser = userRepository.save(demoUser);
+        log.info("Created demo user with ID: {}", savedUser.getId());
+        return savedUser;
+    }
 
     // ===== RECIPE CRUD OPERATIONS =====
     
     // Create Recipe
+    @Transactional
     public Recipe createRecipe(Recipe recipe) {
         log.info("Creating new recipe for user: {}", recipe.getUserId());
         recipe.setCreatedAt(LocalDateTime.now());
-        return recipeRepository.save(recipe);
+        Optional<RecipeRequestEntity> request = copyFilterAttributesFromRequest(recipe);
+        Recipe savedRecipe = recipeRepository.save(recipe);
+        request.ifPresent(r -> recipeIngredientIndex.index(savedRecipe, r.getIngredients()));
+        return savedRecipe;
     }
     
-    // Read Recipe by ID
+    // Create Recipes in bulk (one transaction, batched inserts)
+    @Transactional
+    public List<Recipe> createRecipes(List<Recipe> recipes) {
+        log.info("Creating {} recipes in bulk", recipes.size());
+        LocalDateTime now = LocalDateTime.now();
+        recipes.forEach(recipe -> {
+            recipe.setId(null);
+            recipe.setCreatedAt(now);
+        });
+        
+        // One lookup for all referenced requests, not one per recipe
+        Set<Long> requestIds = recipes.stream()
+                .map(Recipe::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, RecipeRequestEntity> requests = recipeRequestRepository.findAllById(requestIds).stream()
+                .collect(Collectors.toMap(RecipeRequestEntity::getId, Function.identity()));
+        recipes.forEach(recipe -> {
+            RecipeRequestEntity request = requests.get(recipe.getRequestId());
+            if (request != null) {
+                recipe.copyFilterAttributes(request);
+            }
+        });
+        List<Recipe> savedRecipes = recipeRepository.saveAll(recipes);
+        recipeIngredientIndex.index(savedRecipes, recipe -> {
+            RecipeRequestEntity request = requests.get(recipe.getRequestId());
+            return request != null ? request.getIngredients() : null;
+        });
+        return savedRecipes;
+    }
+    
+    // Read Recipe by ID (cached; the returned recipe is shared and must not be modified)
     public Optional<Recipe> getRecipeById(Long id) {
         log.info("Fetching recipe by ID: {}", id);
-        return recipeRepository.findById(id);
+        return recipeEntityCache.findRecipe(id);
+    }
+    
+    // Read a recipe's version for conditional GETs, without loading its content
+    public Optional<Long> getRecipeVersion(Long id) {
+        return recipeEntityCache.cachedRecipe(id)
+                .map(Recipe::getVersion)
+                .or(() -> recipeRepository.findVersionById(id));
     }
     
     // Read All Recipes for User
@@ -114,30 +274,48 @@ public class RecipeService {
         return recipeRepository.findRecentRecipesByUserId(userId, limit);
     }
     
-    // Read All Recipes (Admin)
-    public List<Recipe> getAllRecipes() {
-        log.info("Fetching all recipes");
-        return recipeRepository.findAll();
+    // Read All Recipes (Admin), one keyset page at a time
+    public CursorPage<Recipe> getAllRecipes(String cursor, int size) {
+        log.info("Fetching page of {} recipes", size);
+        List<Recipe> rows;
+        if (cursor == null) {
+            rows = recipeRepository.findPage(size + 1);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            rows = recipeRepository.findPageAfter(after.createdAt(), after.id(), size + 1);
+        }
+        return CursorPage.of(rows, size, recipe -> new PageCursor(recipe.getCreatedAt(), recipe.getId()), recipe -> recipe);
     }
     
     // Update Recipe
+    @Transactional
     public Optional<Recipe> updateRecipe(Long id, Recipe recipeDetails) {
         log.info("Updating recipe with ID: {}", id);
         
         return recipeRepository.findById(id).map(existingRecipe -> {
             existingRecipe.setContent(recipeDetails.getContent());
+            existingRecipe.setTitle(Recipe.titleOf(recipeDetails.getContent()));
             existingRecipe.setUserId(recipeDetails.getUserId());
             existingRecipe.setRequestId(recipeDetails.getRequestId());
-            return recipeRepository.save(existingRecipe);
+            Optional<RecipeRequestEntity> request = copyFilterAttributesFromRequest(existingRecipe);
+            Recipe savedRecipe = recipeRepository.save(existingRecipe);
+            // User or request may have changed, so rebuild the ingredient tokens
+            recipeIngredientIndex.reindex(List.of(savedRecipe),
+                    recipe -> request.map(RecipeRequestEntity::getIngredients).orElse(null));
+            eventPublisher.publishEvent(RecipesChanged.recipes(List.of(id)));
+            return savedRecipe;
         });
     }
     
     // Delete Recipe
+    @Transactional
     public boolean deleteRecipe(Long id) {
         log.info("Deleting recipe with ID: {}", id);
         
         if (recipeRepository.existsById(id)) {
+            recipeIngredientIndex.remove(List.of(id));
             recipeRepository.deleteById(id);
+            eventPublisher.publishEvent(RecipesChanged.recipes(List.of(id)));
             log.info("Recipe deleted successfully");
             return true;
         } else {
@@ -155,10 +333,10 @@ public class RecipeService {
         return recipeRequestRepository.save(request);
     }
     
-    // Read Recipe Request by ID
+    // Read Recipe Request by ID (cached; the returned request is shared and must not be modified)
     public Optional<RecipeRequestEntity> getRecipeRequestById(Long id) {
         log.info("Fetching recipe request by ID: {}", id);
-        return recipeRequestRepository.findById(id);
+        return recipeEntityCache.findRecipeRequest(id);
     }
     
     // Read All Recipe Requests for User
@@ -167,13 +345,21 @@ public class RecipeService {
         return recipeRequestRepository.findRecentRequestsByUserId(userId, limit);
     }
     
-    // Read All Recipe Requests (Admin)
-    public List<RecipeRequestEntity> getAllRecipeRequests() {
-        log.info("Fetching all recipe requests");
-        return recipeRequestRepository.findAll();
+    // Read All Recipe Requests (Admin), one keyset page at a time
+    public CursorPage<RecipeRequestEntity> getAllRecipeRequests(String cursor, int size) {
+        log.info("Fetching page of {} recipe requests", size);
+        List<RecipeRequestEntity> rows;
+        if (cursor == null) {
+            rows = recipeRequestRepository.findPage(size + 1);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            rows = recipeRequestRepository.findPageAfter(after.createdAt(), after.id(), size + 1);
+        }
+        return CursorPage.of(rows, size, request -> new PageCursor(request.getCreatedAt(), request.getId()), request -> request);
     }
     
-    // Update Recipe Request
+    // Update Recipe Request, keeping the attributes copied onto its recipes in step
+    @Transactional
     public Optional<RecipeRequestEntity> updateRecipeRequest(Long id, RecipeRequestEntity requestDetails) {
         log.info("Updating recipe request with ID: {}", id);
         
@@ -183,16 +369,34 @@ public class RecipeService {
             existingRequest.setCuisine(requestDetails.getCuisine());
             existingRequest.setCookingTime(requestDetails.getCookingTime());
             existingRequest.setComplexity(requestDetails.getComplexity());
-            return recipeRequestRepository.save(existingRequest);
+            RecipeRequestEntity savedRequest = recipeRequestRepository.save(existingRequest);
+            int recipes = recipeRepository.updateFilterAttributes(savedRequest.getId(), savedRequest.getMealType(),
+                    savedRequest.getCuisine(), savedRequest.getCookingTime(), savedRequest.getComplexity());
+            log.info("Updated filter attributes on {} recipes for request {}", recipes, savedRequest.getId());
+            List<Recipe> requestRecipes = recipeRepository.findByRequestId(savedRequest.getId());
+            recipeIngredientIndex.reindex(requestRecipes, recipe -> savedRequest.getIngredients());
+            eventPublisher.publishEvent(RecipesChanged.request(id, requestRecipes.stream().map(Recipe::getId).toList()));
+            return savedRequest;
         });
     }
     
+    // Filter attributes live on the recipe request; copy them so filters stay single-table
+    private Optional<RecipeRequestEntity> copyFilterAttributesFromRequest(Recipe recipe) {
+        if (recipe.getRequestId() == null) {
+            return Optional.empty();
+        }
+        Optional<RecipeRequestEntity> request = recipeRequestRepository.findById(recipe.getRequestId());
+        request.ifPresent(recipe::copyFilterAttributes);
+        return request;
+    }
+    
     // Delete Recipe Request
     public boolean deleteRecipeRequest(Long id) {
         log.info("Deleting recipe request with ID: {}", id);
         
         if (recipeRequestRepository.existsById(id)) {
             recipeRequestRepository.deleteById(id);
+            eventPublisher.publishEvent(RecipesChanged.request(id, List.of()));
             log.info("Recipe request deleted successfully");
             return true;
         } else {
@@ -203,10 +407,16 @@ public class RecipeService {
 
     // ===== SEARCH AND FILTER OPERATIONS =====
     
-    // Search Recipes by Ingredients
-    public List<Recipe> searchRecipesByIngredients(Long userId, String ingredient) {
-        log.info("Searching recipes for user {} containing ingredient: {}", userId, ingredient);
-        return recipeRepository.findByUserIdAndIngredientsContaining(userId, ingredient);
+    // Search Recipes by Ingredients (exact ingredient tokens, any or all of them)
+    public List<Recipe> searchRecipesByIngredients(Long userId, String ingredients, IngredientMatch match) {
+        log.info("Searching recipes for user {} containing {} of: {}", userId, match, ingredients);
+        Set<String> tokens = IngredientTokenizer.tokens(ingredients);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        return match == IngredientMatch.ALL
+                ? recipeRepository.findByUserIdAndAllIngredients(userId, tokens, tokens.size())
+                : recipeRepository.findByUserIdAndAnyIngredient(userId, tokens);
     }
     
     // Get Recipes by Meal Type
@@ -232,626 +442,4 @@ public class RecipeService {
         log.info("Fetching {} recipes for user {}", cookingTime, userId);
         return recipeRepository.findByUserIdAndCookingTime(userId, cookingTime);
     }
-
-    // ===== UTILITY METHODS =====
-    
-    private String generateMockRecipe(RecipeRequest request) {
-        StringBuilder recipe = new StringBuilder();
-        String currentTime = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
-        
-        recipe.append("🍳 ").append(request.getMealType()).append(" RECIPE\n");
-        recipe.append("⏰ Generated on: ").append(currentTime).append("\n");
-        recipe.append("🌍 Cuisine: ").append(request.getCuisine()).append("\n");
-        recipe.append("⏱️  Cooking Time: ").append(formatCookingTime(request.getCookingTime())).append("\n");
-        recipe.append("📊 Difficulty: ").append(request.getComplexity()).append("\n\n");
-        
-        recipe.append("📝 INGREDIENTS:\n");
-        String[] ingredients = request.getIngredients().split(",");
-        for (int i = 0; i < ingredients.length; i++) {
-            recipe.append("   ").append(i + 1).append(". ").append(ingredients[i].trim()).append("\n");
-        }
-        
-        // Generate unique instructions based on ingredients and preferences
-        recipe.append("\n👨‍🍳 INSTRUCTIONS:\n");
-        String[] instructions = generateUniqueInstructions(request);
-        for (int i = 0; i < instructions.length; i++) {
-            recipe.append("   ").append(i + 1).append(". ").append(instructions[i]).append("\n");
-        }
-        
-        // Generate unique cooking tips based on cuisine and complexity
-        recipe.append("\n💡 COOKING TIPS:\n");
-        String[] tips = generateUniqueCookingTips(request);
-        for (String tip : tips) {
-            recipe.append("   • ").append(tip).append("\n");
-        }
-        
-        // Generate dynamic prep time, servings, and calories
-        recipe.append("\n⏰ Estimated Prep Time: ").append(getDynamicPrepTime(request)).append("\n");
-        recipe.append("👥 Servings: ").append(getDynamicServings(request)).append("\n");
-        recipe.append("🔥 Calories per serving: ").append(getDynamicCalories(request)).append("\n\n");
-        
-        recipe.append("Bon appétit! 🎉");
-        
-        return recipe.toString();
-    }
-    
-    private String[] generateUniqueInstructions(RecipeRequest request) {
-        String[] ingredients = request.getIngredients().toLowerCase().split(",");
-        String cuisine = request.getCuisine().toLowerCase();
-        String complexity = request.getComplexity().toLowerCase();
-        String cookingTime = request.getCookingTime();
-        Random random = new Random();
-        
-        // Base instructions that adapt to ingredients and preferences
-        List<String> baseInstructions = new ArrayList<>();
-        
-        // Step 1: Ingredient preparation (varies by ingredients)
-        if (ingredients.length > 0) {
-            String firstIngredient = ingredients[0].trim();
-            if (firstIngredient.contains("egg")) {
-                baseInstructions.add("Crack and whisk the eggs in a bowl, season with salt and pepper");
-            } else if (firstIngredient.contains("milk")) {
-                baseInstructions.add("Measure and warm the milk slightly (not boiling)");
-            } else if (firstIngredient.contains("tomato")) {
-                baseInstructions.add("Wash and dice the tomatoes into small cubes");
-            } else if (firstIngredient.contains("potato")) {
-                baseInstructions.add("Wash and dice the potatoes into small cubes");
-            } else if (firstIngredient.contains("onion")) {
-                baseInstructions.add("Peel and finely dice the onion");
-            } else if (firstIngredient.contains("chicken")) {
-                baseInstructions.add("Cut the chicken into bite-sized pieces and season with salt and pepper");
-            } else {
-                baseInstructions.add("Prepare your ingredients by washing and chopping as needed");
-            }
-        }
-        
-        // Step 2: Cooking method (varies by cuisine and complexity)
-        if (cuisine.equals("italian")) {
-            baseInstructions.add(getRandomVariation("italian_cooking", random));
-        } else if (cuisine.equals("asian")) {
-            baseInstructions.add(getRandomVariation("asian_cooking", random));
-        } else if (cuisine.equals("mexican")) {
-            baseInstructions.add(getRandomVariation("mexican_cooking", random));
-        } else if (cuisine.equals("indian")) {
-            baseInstructions.add(getRandomVariation("indian_cooking", random));
-        } else {
-            baseInstructions.add(getRandomVariation("general_cooking", random));
-        }
-        
-        // Step 3: Ingredient cooking (varies by ingredients and combinations)
-        if (ingredients.length > 1) {
-            // Special handling for common ingredient combinations
-            boolean hasEggs = request.getIngredients().toLowerCase().contains("egg");
-            boolean hasTomatoes = request.getIngredients().toLowerCase().contains("tomato");
-            boolean hasMilk = request.getIngredients().toLowerCase().contains("milk");
-            boolean hasPotatoes = request.getIngredients().toLowerCase().contains("potato");
-            boolean hasOnions = request.getIngredients().toLowerCase().contains("onion");
-            
-            if (hasEggs && hasTomatoes && !hasMilk) {
-                // Scrambled eggs with tomatoes
-                baseInstructions.add("Add diced tomatoes to the pan and sauté for 2-3 minutes until softened");
-                baseInstructions.add("Pour the whisked eggs over the tomatoes and cook, stirring gently until eggs are set");
-            } else if (hasMilk && hasEggs) {
-                // Custard or creamy egg dish
-                baseInstructions.add("Slowly pour the warm milk into the eggs while whisking constantly");
-                baseInstructions.add("Cook over low heat, stirring continuously until thickened to custard consistency");
-            } else if (hasPotatoes && hasOnions) {
-                // Potato and onion dish
-                baseInstructions.add("Add diced onions to the pan and sauté until translucent");
-                baseInstructions.add("Add potato cubes and cook, stirring occasionally, until potatoes are tender");
-            } else if (hasTomatoes && hasOnions) {
-                // Tomato and onion base
-                baseInstructions.add("Sauté onions until golden, then add tomatoes and cook until they break down");
-            } else {
-                baseInstructions.add("Add your prepared ingredients to the pan in order of cooking time needed");
-                baseInstructions.add("Cook each ingredient until tender before adding the next");
-            }
-        } else {
-            baseInstructions.add("Add your prepared ingredients to the pan and cook until fragrant and tender");
-        }
-        
-        // Step 4: Seasoning and finishing (varies by cuisine)
-        if (cuisine.equals("italian")) {
-            baseInstructions.add(getRandomVariation("italian_seasoning", random));
-        } else if (cuisine.equals("mexican")) {
-            baseInstructions.add(getRandomVariation("mexican_seasoning", random));
-        } else if (cuisine.equals("asian")) {
-            baseInstructions.add(getRandomVariation("asian_seasoning", random));
-        } else if (cuisine.equals("indian")) {
-            baseInstructions.add(getRandomVariation("indian_seasoning", random));
-        } else if (cuisine.equals("french")) {
-            baseInstructions.add(getRandomVariation("french_seasoning", random));
-        } else {
-            baseInstructions.add("Season with salt, pepper, and herbs that complement your ingredients");
-        }
-        
-        // Step 5: Final cooking (varies by complexity and cooking time)
-        if (cookingTime.equals("UNDER_30")) {
-            baseInstructions.add(getRandomVariation("quick_cooking", random));
-        } else if (cookingTime.equals("MIN_30_60")) {
-            baseInstructions.add(getRandomVariation("medium_cooking", random));
-        } else {
-            baseInstructions.add(getRandomVariation("slow_cooking", random));
-        }
-        
-        // Step 6: Serving (varies by complexity and meal type)
-        if (complexity.equals("beginner")) {
-            baseInstructions.add("Serve hot and enjoy your delicious " + request.getMealType().toLowerCase() + "!");
-        } else if (complexity.equals("intermediate")) {
-            baseInstructions.add("Plate with care, ensuring good visual presentation before serving");
-        } else {
-            baseInstructions.add("Plate beautifully with garnishes and arrange ingredients artistically");
-        }
-        
-        return baseInstructions.toArray(new String[0]);
-    }
-    
-    private String getRandomVariation(String type, Random random) {
-        switch (type) {
-            case "italian_cooking":
-                String[] italianMethods = {
-                    "Heat extra virgin olive oil in a large pan over medium heat",
-                    "Warm olive oil in a deep skillet until shimmering",
-                    "Heat a generous amount of olive oil in a heavy-bottomed pan"
-                };
-                return italianMethods[random.nextInt(italianMethods.length)];
-                
-            case "asian_cooking":
-                String[] asianMethods = {
-                    "Heat a wok or large pan with a tablespoon of vegetable oil until smoking hot",
-                    "Get your wok smoking hot with oil before adding ingredients",
-                    "Heat oil in a wok until it's almost smoking, then add aromatics"
-                };
-                return asianMethods[random.nextInt(asianMethods.length)];
-                
-            case "mexican_cooking":
-                String[] mexicanMethods = {
-                    "Heat a cast-iron skillet over medium-high heat with oil",
-                    "Get your comal or skillet very hot before starting",
-                    "Heat oil in a heavy pan until it shimmers and is hot"
-                };
-                return mexicanMethods[random.nextInt(mexicanMethods.length)];
-                
-            case "indian_cooking":
-                String[] indianMethods = {
-                    "Heat ghee or oil in a deep pan and add whole spices until fragrant",
-                    "Warm oil in a kadai and temper with whole spices",
-                    "Heat oil and add whole spices, letting them crackle and release aroma"
-                };
-                return indianMethods[random.nextInt(indianMethods.length)];
-                
-            case "general_cooking":
-                String[] generalMethods = {
-                    "Heat a large pan over medium heat with cooking oil",
-                    "Warm oil in a skillet until it's hot but not smoking",
-                    "Heat a pan with oil over medium heat until shimmering"
-                };
-                return generalMethods[random.nextInt(generalMethods.length)];
-                
-            case "italian_seasoning":
-                String[] italianSeasonings = {
-                    "Season with Italian herbs like basil, oregano, and garlic",
-                    "Add fresh basil, dried oregano, and minced garlic for authentic flavor",
-                    "Finish with Italian seasoning blend and fresh garlic"
-                };
-                return italianSeasonings[random.nextInt(italianSeasonings.length)];
-                
-            case "mexican_seasoning":
-                String[] mexicanSeasonings = {
-                    "Season with cumin, chili powder, and fresh cilantro",
-                    "Add ground cumin, smoked paprika, and chopped cilantro",
-                    "Season with Mexican spices and finish with fresh herbs"
-                };
-                return mexicanSeasonings[random.nextInt(mexicanSeasonings.length)];
-                
-            case "asian_seasoning":
-                String[] asianSeasonings = {
-                    "Season with soy sauce, ginger, and garlic",
-                    "Add light soy sauce, fresh ginger, and minced garlic",
-                    "Season with Asian sauces and aromatics for authentic flavor"
-                };
-                return asianSeasonings[random.nextInt(asianSeasonings.length)];
-                
-            case "indian_seasoning":
-                String[] indianSeasonings = {
-                    "Add ground spices like turmeric, cumin, and coriander",
-                    "Season with garam masala, turmeric, and ground spices",
-                    "Add Indian spice blend and ground aromatics"
-                };
-                return indianSeasonings[random.nextInt(indianSeasonings.length)];
-                
-            case "french_seasoning":
-                String[] frenchSeasonings = {
-                    "Finish with fresh herbs like thyme, rosemary, and a splash of wine",
-                    "Add French herbs and deglaze with white wine",
-                    "Season with herbes de Provence and finish with wine"
-                };
-                return frenchSeasonings[random.nextInt(frenchSeasonings.length)];
-                
-            case "quick_cooking":
-                String[] quickMethods = {
-                    "Cook quickly over medium-high heat until all ingredients are well combined and heated through",
-                    "Stir-fry over high heat for quick, even cooking",
-                    "Cook rapidly over medium-high heat to preserve texture and flavor"
-                };
-                return quickMethods[random.nextInt(quickMethods.length)];
-                
-            case "medium_cooking":
-                String[] mediumMethods = {
-                    "Simmer over medium heat for 15-20 minutes until flavors meld and develop depth",
-                    "Cook gently over medium heat to allow flavors to combine",
-                    "Simmer slowly to develop rich, layered flavors"
-                };
-                return mediumMethods[random.nextInt(mediumMethods.length)];
-                
-            case "slow_cooking":
-                String[] slowMethods = {
-                    "Cook over low heat for 30-45 minutes until rich, complex flavors develop",
-                    "Simmer gently over low heat to build deep, complex flavors",
-                    "Cook slowly to allow all flavors to meld and develop richness"
-                };
-                return slowMethods[random.nextInt(slowMethods.length)];
-                
-            default:
-                return "Cook until ingredients are well combined and flavorful";
-        }
-    }
-    
-    private String[] generateUniqueCookingTips(RecipeRequest request) {
-        String cuisine = request.getCuisine().toLowerCase();
-        String complexity = request.getComplexity().toLowerCase();
-        String[] ingredients = request.getIngredients().toLowerCase().split(",");
-        Random random = new Random();
-        
-        List<String> tips = new ArrayList<>();
-        
-        // Tip 1: Cuisine-specific advice
-        if (cuisine.equals("italian")) {
-            tips.add(getRandomTip("italian_tips", random));
-        } else if (cuisine.equals("mexican")) {
-            tips.add(getRandomTip("mexican_tips", random));
-        } else if (cuisine.equals("asian")) {
-            tips.add(getRandomTip("asian_tips", random));
-        } else if (cuisine.equals("indian")) {
-            tips.add(getRandomTip("indian_tips", random));
-        } else if (cuisine.equals("french")) {
-            tips.add(getRandomTip("french_tips", random));
-        } else {
-            tips.add("Experiment with different cooking methods to discover new flavors");
-        }
-        
-        // Tip 2: Complexity-based advice
-        if (complexity.equals("beginner")) {
-            tips.add(getRandomTip("beginner_tips", random));
-        } else if (complexity.equals("intermediate")) {
-            tips.add(getRandomTip("intermediate_tips", random));
-        } else {
-            tips.add(getRandomTip("advanced_tips", random));
-        }
-        
-        // Tip 3: Ingredient-specific tips
-        if (request.getIngredients().toLowerCase().contains("egg")) {
-            if (request.getIngredients().toLowerCase().contains("milk")) {
-                tips.add("For creamier eggs, add a splash of milk before whisking");
-            } else {
-                tips.add("For fluffier eggs, add a splash of water before whisking");
-            }
-        }
-        if (request.getIngredients().toLowerCase().contains("tomato")) {
-            if (request.getIngredients().toLowerCase().contains("egg")) {
-                tips.add("Use ripe tomatoes for the best flavor in your egg dish");
-            } else {
-                tips.add("Use ripe tomatoes for the best flavor, or roast them for deeper taste");
-            }
-        }
-        if (request.getIngredients().toLowerCase().contains("milk")) {
-            if (request.getIngredients().toLowerCase().contains("egg")) {
-                tips.add("Warm milk slightly before using to prevent curdling in custards");
-            } else {
-                tips.add("Use whole milk for richer flavor, or skim for lighter dishes");
-            }
-        }
-        if (request.getIngredients().toLowerCase().contains("potato")) {
-            tips.add("Cut potatoes into uniform sizes for even cooking");
-        }
-        if (request.getIngredients().toLowerCase().contains("onion")) {
-            tips.add("Let onions cook slowly to develop natural sweetness");
-        }
-        
-        // Tip 4: Cooking time specific tips
-        if (request.getCookingTime().equals("UNDER_30")) {
-            tips.add(getRandomTip("quick_tips", random));
-        } else if (request.getCookingTime().equals("MIN_30_60")) {
-            tips.add(getRandomTip("medium_tips", random));
-        } else {
-            tips.add(getRandomTip("slow_tips", random));
-        }
-        
-        // Tip 5: Meal type specific tips
-        if (request.getMealType().equals("BREAKFAST")) {
-            tips.add("Prep ingredients the night before for a stress-free morning");
-        } else if (request.getMealType().equals("LUNCH")) {
-            tips.add("This recipe works great for meal prep and leftovers");
-        } else if (request.getMealType().equals("DINNER")) {
-            tips.add("Pair with a simple side dish for a complete meal");
-        } else if (request.getMealType().equals("SNACK")) {
-            tips.add("Perfect for sharing or enjoying as a light meal");
-        }
-        
-        // Tip 6: General cooking advice
-        tips.add("Taste as you cook and adjust seasoning gradually");
-        tips.add("Don't be afraid to make this recipe your own with personal touches");
-        
-        return tips.toArray(new String[0]);
-    }
-    
-    private String getRandomTip(String type, Random random) {
-        switch (type) {
-            case "italian_tips":
-                String[] italianTips = {
-                    "Use extra virgin olive oil for authentic Italian flavor",
-                    "Finish with a drizzle of good quality olive oil",
-                    "Use fresh herbs for the most authentic taste"
-                };
-                return italianTips[random.nextInt(italianTips.length)];
-                
-            case "mexican_tips":
-                String[] mexicanTips = {
-                    "Toast your spices briefly in a dry pan to enhance their flavor",
-                    "Use fresh lime juice to brighten the flavors",
-                    "Add a pinch of Mexican oregano for authentic taste"
-                };
-                return mexicanTips[random.nextInt(mexicanTips.length)];
-                
-            case "asian_tips":
-                String[] asianTips = {
-                    "Prepare all ingredients before starting (mise en place) for quick cooking",
-                    "Use high heat for authentic stir-fry technique",
-                    "Finish with a splash of sesame oil for authentic flavor"
-                };
-                return asianTips[random.nextInt(asianTips.length)];
-                
-            case "indian_tips":
-                String[] indianTips = {
-                    "Bloom whole spices in hot oil to release their essential oils",
-                    "Use fresh ginger and garlic for the best flavor",
-                    "Finish with fresh cilantro for authentic Indian taste"
-                };
-                return indianTips[random.nextInt(indianTips.length)];
-                
-            case "french_tips":
-                String[] frenchTips = {
-                    "Use butter and wine to create rich, layered flavors",
-                    "Deglaze the pan with wine to capture all the flavors",
-                    "Use fresh herbs and quality butter for authentic French cooking"
-                };
-                return frenchTips[random.nextInt(frenchTips.length)];
-                
-            case "beginner_tips":
-                String[] beginnerTips = {
-                    "This recipe is perfect for beginner cooks - take your time and don't rush",
-                    "Don't worry about perfection, focus on learning and enjoying the process",
-                    "Keep it simple and build your confidence step by step"
-                };
-                return beginnerTips[random.nextInt(beginnerTips.length)];
-                
-            case "intermediate_tips":
-                String[] intermediateTips = {
-                    "Try adjusting the seasoning to develop your palate and confidence",
-                    "Experiment with different herb combinations to find your favorites",
-                    "Practice your knife skills while preparing ingredients"
-                };
-                return intermediateTips[random.nextInt(intermediateTips.length)];
-                
-            case "advanced_tips":
-                String[] advancedTips = {
-                    "Feel free to experiment with advanced techniques and flavor combinations",
-                    "Try different cooking methods to achieve different textures",
-                    "Use this as a base recipe and add your own creative twists"
-                };
-                return advancedTips[random.nextInt(advancedTips.length)];
-                
-            case "quick_tips":
-                String[] quickTips = {
-                    "Keep ingredients small and uniform for quick, even cooking",
-                    "Use high heat for fast cooking while preserving texture",
-                    "Prep everything before starting to ensure quick execution"
-                };
-                return quickTips[random.nextInt(quickTips.length)];
-                
-            case "medium_tips":
-                String[] mediumTips = {
-                    "Low and slow cooking develops deeper, more complex flavors",
-                    "Take time to build layers of flavor during cooking",
-                    "Medium heat allows flavors to develop without burning"
-                };
-                return mediumTips[random.nextInt(mediumTips.length)];
-                
-            case "slow_tips":
-                String[] slowTips = {
-                    "Long cooking times allow flavors to meld and develop richness",
-                    "Patience is key - let the flavors develop naturally",
-                    "Low heat prevents burning while building complex flavors"
-                };
-                return slowTips[random.nextInt(slowTips.length)];
-                
-            default:
-                return "Experiment with different techniques to discover what works best for you";
-        }
-    }
-    
-    private String formatCookingTime(String cookingTime) {
-        switch (cookingTime) {
-            case "UNDER_30": return "Under 30 minutes";
-            case "MIN_30_60": return "30-60 minutes";
-            case "OVER_60": return "Over 60 minutes";
-            default: return cookingTime;
-        }
-    }
-    
-    private String getDynamicPrepTime(RecipeRequest request) {
-        String[] ingredients = request.getIngredients().toLowerCase().split(",");
-        String complexity = request.getComplexity().toLowerCase();
-        String cookingTime = request.getCookingTime();
-        Random random = new Random();
-        
-        int basePrepTime = 15; // Reduced base preparation time
-        
-        // Add time for ingredient preparation
-        if (request.getIngredients().toLowerCase().contains("salmon")) {
-            basePrepTime += 8 + random.nextInt(4); // Add 8-12 minutes for salmon preparation
-        }
-        if (request.getIngredients().toLowerCase().contains("chicken")) {
-            basePrepTime += 8 + random.nextInt(4); // Add 8-12 minutes for chicken preparation
-        }
-        if (request.getIngredients().toLowerCase().contains("beef")) {
-            basePrepTime += 10 + random.nextInt(5); // Add 10-15 minutes for beef preparation
-        }
-        if (request.getIngredients().toLowerCase().contains("fish")) {
-            basePrepTime += 8 + random.nextInt(4); // Add 8-12 minutes for fish preparation
-        }
-        if (request.getIngredients().toLowerCase().contains("egg")) {
-            basePrepTime += 5 + random.nextInt(3); // Add 5-8 minutes for egg preparation
-        }
-        if (request.getIngredients().toLowerCase().contains("tomato")) {
-            basePrepTime += 3 + random.nextInt(2); // Add 3-5 minutes for tomato preparation
-        }
-        if (request.getIngredients().toLowerCase().contains("milk")) {
-            basePrepTime += 3 + random.nextInt(2); // Add 3-5 minutes for milk preparation
-        }
-        if (request.getIngredients().toLowerCase().contains("potato")) {
-            basePrepTime += 8 + random.nextInt(4); // Add 8-12 minutes for potato preparation
-        }
-        if (request.getIngredients().toLowerCase().contains("onion")) {
-            basePrepTime += 3 + random.nextInt(2); // Add 3-5 minutes for onion preparation
-        }
-        if (request.getIngredients().toLowerCase().contains("rice")) {
-            basePrepTime += 5 + random.nextInt(3); // Add 5-8 minutes for rice preparation
-        }
-        if (request.getIngredients().toLowerCase().contains("pasta")) {
-            basePrepTime += 3 + random.nextInt(2); // Add 3-5 minutes for pasta preparation
-        }
-        if (request.getIngredients().toLowerCase().contains("carrot")) {
-            basePrepTime += 5 + random.nextInt(3); // Add 5-8 minutes for carrot preparation
-        }
-        if (request.getIngredients().toLowerCase().contains("spinach")) {
-            basePrepTime += 3 + random.nextInt(2); // Add 3-5 minutes for spinach preparation
-        }
-        if (request.getIngredients().toLowerCase().contains("mushroom")) {
-            basePrepTime += 5 + random.nextInt(3); // Add 5-8 minutes for mushroom preparation
-        }
-        
-        // Adjust for complexity (but respect cooking time preference)
-        if (complexity.equals("intermediate")) {
-            basePrepTime += 5 + random.nextInt(3); // Add 5-8 minutes for intermediate complexity
-        } else if (complexity.equals("advanced")) {
-            basePrepTime += 8 + random.nextInt(4); // Add 8-12 minutes for advanced complexity
-        }
-        
-        // RESPECT the cooking time preference - this is the key fix!
-        if (cookingTime.equals("UNDER_30")) {
-            // For UNDER_30, ensure total time doesn't exceed 30 minutes
-            basePrepTime = Math.min(basePrepTime, 25); // Cap at 25 minutes to stay under 30 total
-        } else if (cookingTime.equals("MIN_30_60")) {
-            basePrepTime += 10 + random.nextInt(5); // Add 10-15 minutes for longer cooking times
-        } else if (cookingTime.equals("OVER_60")) {
-            basePrepTime += 15 + random.nextInt(10); // Add 15-25 minutes for very long cooking times
-        }
-        
-        return basePrepTime + " minutes";
-    }
-    
-    private String getDynamicServings(RecipeRequest request) {
-        String[] ingredients = request.getIngredients().toLowerCase().split(",");
-        String complexity = request.getComplexity().toLowerCase();
-        String cookingTime = request.getCookingTime();
-        Random random = new Random();
-        
-        int baseServings = 2; // Default servings
-        
-        if (request.getIngredients().toLowerCase().contains("egg")) {
-            baseServings += 1 + random.nextInt(2); // Add 1-3 servings for egg dishes
-        }
-        if (request.getIngredients().toLowerCase().contains("tomato")) {
-            baseServings += 1; // Add 1 serving for tomato dishes
-        }
-        if (request.getIngredients().toLowerCase().contains("milk")) {
-            baseServings += 1; // Add 1 serving for milk-based dishes
-        }
-        if (request.getIngredients().toLowerCase().contains("potato")) {
-            baseServings += 1 + random.nextInt(2); // Add 1-3 servings for potato dishes
-        }
-        if (request.getIngredients().toLowerCase().contains("onion")) {
-            baseServings += 1; // Add 1 serving for onion dishes
-        }
-        
-        if (complexity.equals("intermediate")) {
-            baseServings += 1; // Add 1 serving for intermediate complexity
-        } else if (complexity.equals("advanced")) {
-            baseServings += 1 + random.nextInt(2); // Add 1-3 servings for advanced complexity
-        }
-        
-        if (cookingTime.equals("MIN_30_60")) {
-            baseServings += 1; // Add 1 serving for longer cooking times
-        } else if (cookingTime.equals("OVER_60")) {
-            baseServings += 1 + random.nextInt(2); // Add 1-3 servings for very long cooking times
-        }
-        
-        // Ensure reasonable range
-        baseServings = Math.max(2, Math.min(8, baseServings));
-        
-        if (baseServings == 1) {
-            return "1 serving";
-        } else if (baseServings == 2) {
-            return "2 servings";
-        } else if (baseServings <= 4) {
-            return "2-4 servings";
-        } else if (baseServings <= 6) {
-            return "4-6 servings";
-        } else {
-            return "6-8 servings";
-        }
-    }
-    
-    private String getDynamicCalories(RecipeRequest request) {
-        String[] ingredients = request.getIngredients().toLowerCase().split(",");
-        String complexity = request.getComplexity().toLowerCase();
-        String cookingTime = request.getCookingTime();
-        Random random = new Random();
-        
-        int baseCalories = 350; // Default calories per serving
-        
-        if (request.getIngredients().toLowerCase().contains("egg")) {
-            baseCalories += 100 + random.nextInt(50); // Add 100-150 calories for egg dishes
-        }
-        if (request.getIngredients().toLowerCase().contains("tomato")) {
-            baseCalories += 50 + random.nextInt(25); // Add 50-75 calories for tomato dishes
-        }
-        if (request.getIngredients().toLowerCase().contains("milk")) {
-            baseCalories += 100 + random.nextInt(50); // Add 100-150 calories for milk-based dishes
-        }
-        if (request.getIngredients().toLowerCase().contains("potato")) {
-            baseCalories += 150 + random.nextInt(75); // Add 150-225 calories for potato dishes
-        }
-        if (request.getIngredients().toLowerCase().contains("onion")) {
-            baseCalories += 50 + random.nextInt(25); // Add 50-75 calories for onion dishes
-        }
-        
-        if (complexity.equals("intermediate")) {
-            baseCalories += 50 + random.nextInt(25); // Add 50-75 calories for intermediate complexity
-        } else if (complexity.equals("advanced")) {
-            baseCalories += 100 + random.nextInt(50); // Add 100-150 calories for advanced complexity
-        }
-        
-        if (cookingTime.equals("MIN_30_60")) {
-            baseCalories += 50 + random.nextInt(25); // Add 50-75 calories for longer cooking times
-        } else if (cookingTime.equals("OVER_60")) {
-            baseCalories += 100 + random.nextInt(50); // Add 100-150 calories for very long cooking times
-        }
-        
-        // Round to nearest 25 for cleaner display
-        baseCalories = ((baseCalories + 12) / 25) * 25;
-        
-        return "~" + baseCalories + " kcal";
-    }
 }
@@ -0,0 +1,206 @@
+package com.recipe.smartrecipe.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Immutable catalog of the phrase pools used to render recipes.
+ *
+ * Loaded once at startup from {@code recipe-templates.json}; adding a cuisine, complexity
+ * or ingredient tip is a change to that file only. All pools are shared across requests,
+ * so rendering a recipe never allocates phrase arrays.
+ */
+@Component
+@Slf4j
+public class RecipeTemplateCatalog {
+
+    static final String DEFAULT_RESOURCE = "recipe-templates.json";
+
+    private final Map<String, CuisinePhrases> cuisines;
+    private final CuisinePhrases defaultCuisine;
+    private final Map<String, List<String>> complexityTips;
+    private final List<String> defaultComplexityTips;
+    private final Map<String, CookingTimePhrases> cookingTimes;
+    private final CookingTimePhrases defaultCookingTime;
+    private final List<IngredientTips> ingredientTips;
+    private final Map<String, List<String>> mealTypeTips;
+    private final List<String> generalTips;
+
+    @Autowired
+    public RecipeTemplateCatalog(ObjectMapper objectMapper) {
+        this(load(objectMapper, DEFAULT_RESOURCE));
+    }
+
+    RecipeTemplateCatalog(TemplateFile file) {
+        this.defaultCuisine = file.defaultCuisine().immutableCopy();
+
+        Map<String, CuisinePhrases> cuisineMap = new HashMap<>();
+        file.cuisines().forEach((name, phrases) ->
+                cuisineMap.put(name.toLowerCase(), phrases.withFallback(defaultCuisine)));
+        this.cuisines = Map.copyOf(cuisineMap);
+
+        Map<String, List<String>> complexityMap = new HashMap<>();
+        file.complexityTips().forEach((name, tips) -> complexityMap.put(name.toLowerCase(), List.copyOf(tips)));
+        this.complexityTips = Map.copyOf(complexityMap);
+        this.defaultComplexityTips = requireEntry(complexityTips, file.defaultComplexity().toLowerCase(), "complexity");
+
+        Map<String, CookingTimePhrases> cookingTimeMap = new HashMap<>();
+        file.cookingTimes().forEach((name, phrases) -> cookingTimeMap.put(name, phrases.immutableCopy()));
+        this.cookingTimes = Map.copyOf(cookingTimeMap);
+        this.defaultCookingTime = requireEntry(cookingTimes, file.defaultCookingTime(), "cooking time");
+
+        List<IngredientTips> ingredientTipList = new ArrayList<>();
+        for (IngredientTips tips : file.ingredientTips()) {
+            ingredientTipList.add(tips.immutableCopy());
+        }
+        this.ingredientTips = List.copyOf(ingredientTipList);
+
+        Map<String, List<String>> mealTypeMap = new HashMap<>();
+        file.mealTypeTips().forEach((name, tips) -> mealTypeMap.put(name, List.copyOf(tips)));
+        this.mealTypeTips = Map.copyOf(mealTypeMap);
+
+        this.generalTips = List.copyOf(file.generalTips());
+
+        log.info("Loaded recipe template catalog with {} cuisines", cuisines.size());
+    }
+
+    /**
+     * Phrases for a lowercased cuisine, falling back to the default pools
+     */
+    public CuisinePhrases cuisine(String cuisine) {
+        return cuisines.getOrDefault(cuisine, defaultCuisine);
+    }
+
+    /**
+     * Tips for a lowercased complexity, falling back to the default complexity
+     */
+    public List<String> complexityTips(String complexity) {
+        return complexityTips.getOrDefault(complexity, defaultComplexityTips);
+    }
+
+    /**
+     * Phrases for a cooking time, falling back to the default cooking time
+     */
+    public CookingTimePhrases cookingTime(String cookingTime) {
+        return cookingTimes.getOrDefault(cookingTime, defaultCookingTime);
+    }
+
+    /**
+     * Display label for a cooking time; unknown values are shown as given
+     */
+    public String cookingTimeLabel(String cookingTime) {
+        CookingTimePhrases phrases = cookingTimes.get(cookingTime);
+        return phrases != null ? phrases.label() : cookingTime;
+    }
+
+    /**
+     * Ingredient tips in the order they should appear in a recipe
+     */
+    public List<IngredientTips> ingredientTips() {
+        return ingredientTips;
+    }
+
+    public List<String> mealTypeTips(String mealType) {
+        return mealTypeTips.getOrDefault(mealType, List.of());
+    }
+
+    public List<String> generalTips() {
+        return generalTips;
+    }
+
+    /**
+     * Pick one phrase from a pool. Single-phrase pools do not consume randomness.
+     */
+    public static String pick(List<String> pool, Random random) {
+        return pool.size() == 1 ? pool.get(0) : pool.get(random.nextInt(pool.size()));
+    }
+
+    private static <T> T requireEntry(Map<String, T> entries, String key, String kind) {
+        T entry = entries.get(key);
+        if (entry == null) {
+            throw new IllegalStateException("Recipe template catalog has no default " + kind + " '" + key + "'");
+        }
+        return entry;
+    }
+
+    private static TemplateFile load(ObjectMapper objectMapper, String resource) {
+        try (InputStream in = new ClassPathResource(resource).getInputStream()) {
+            return objectMapper.readValue(in, TemplateFile.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load recipe template catalog from " + resource, e);
+        }
+    }
+
+    // ===== CATALOG ENTRIES =====
+
+    public record CuisinePhrases(List<String> cooking, List<String> seasoning, List<String> tips) {
+
+        CuisinePhrases withFallback(CuisinePhrases fallback) {
+            return new CuisinePhrases(
+                    cooking != null ? List.copyOf(cooking) : fallback.cooking(),
+                    seasoning != null ? List.copyOf(seasoning) : fallback.seasoning(),
+                    tips != null ? List.copyOf(tips) : fallback.tips());
+        }
+
+        CuisinePhrases immutableCopy() {
+            return new CuisinePhrases(List.copyOf(cooking), List.copyOf(seasoning), List.copyOf(tips));
+        }
+    }
+
+    public record CookingTimePhrases(String label, List<String> cooking, List<String> tips) {
+
+        CookingTimePhrases immutableCopy() {
+            return new CookingTimePhrases(label, List.copyOf(cooking), List.copyOf(tips));
+        }
+    }
+
+    /**
+     * Tips for one ingredient; a pairing replaces the plain tips when the paired ingredient is also present
+     */
+    public record IngredientTips(IngredientKeyword ingredient,
+                                 List<String> tips,
+                                 Map<IngredientKeyword, List<String>> pairings) {
+
+        public List<String> tipsFor(RecipeFeatures features) {
+            for (Map.Entry<IngredientKeyword, List<String>> pairing : pairings.entrySet()) {
+                if (features.has(pairing.getKey())) {
+                    return pairing.getValue();
+                }
+            }
+            return tips;
+        }
+
+        IngredientTips immutableCopy() {
+            Map<IngredientKeyword, List<String>> orderedPairings = new LinkedHashMap<>();
+            if (pairings != null) {
+                pairings.forEach((keyword, pool) -> orderedPairings.put(keyword, List.copyOf(pool)));
+            }
+            return new IngredientTips(ingredient, List.copyOf(tips), Collections.unmodifiableMap(orderedPairings));
+        }
+    }
+
+    record TemplateFile(Map<String, CuisinePhrases> cuisines,
+                        CuisinePhrases defaultCuisine,
+                        Map<String, List<String>> complexityTips,
+                        String defaultComplexity,
+                        Map<String, CookingTimePhrases> cookingTimes,
+                        String defaultCookingTime,
+                        List<IngredientTips> ingredientTips,
+                        Map<String, List<String>> mealTypeTips,
+                        List<String> generalTips) {
+    }
+}
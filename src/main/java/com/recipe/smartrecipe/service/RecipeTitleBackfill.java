@@ -0,0 +1,51 @@
+package com.recipe.smartrecipe.service;
+
+import com.recipe.smartrecipe.entity.Recipe;
+import com.recipe.smartrecipe.repository.RecipeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+/**
+ * Stores the title of recipes saved before it had its own column.
+ */
+@Component
+public class RecipeTitleBackfill extends WindowedBackfill {
+
+    private final RecipeRepository recipeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public RecipeTitleBackfill(RecipeRepository recipeRepository,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${recipe.backfill.title.enabled:true}") boolean enabled,
+                               @Value("${recipe.backfill.title.window-size:1000}") int windowSize) {
+        super("recipe-title-backfill", transactionManager, enabled, windowSize);
+        this.recipeRepository = recipeRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    protected Long firstId() {
+        return recipeRepository.findFirstIdWithoutTitle();
+    }
+
+    @Override
+    protected Long lastId() {
+        return recipeRepository.findLastIdWithoutTitle();
+    }
+
+    @Override
+    protected int processWindow(long fromId, long toId) {
+        // Loaded recipes are managed, so the new titles are flushed on commit
+        List<Recipe> recipes = recipeRepository.findWithoutTitle(fromId, toId);
+        recipes.forEach(recipe -> recipe.setTitle(Recipe.titleOf(recipe.getContent())));
+        if (!recipes.isEmpty()) {
+            eventPublisher.publishEvent(RecipesChanged.recipes(recipes.stream().map(Recipe::getId).toList()));
+        }
+        return recipes.size();
+    }
+}
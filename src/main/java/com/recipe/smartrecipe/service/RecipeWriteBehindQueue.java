@@ -0,0 +1,227 @@
+package com.recipe.smartrecipe.service;
+
+import com.recipe.smartrecipe.entity.Recipe;
+import com.recipe.smartrecipe.entity.RecipeRequestEntity;
+import com.recipe.smartrecipe.repository.RecipeRepository;
+import com.recipe.smartrecipe.repository.RecipeRequestRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind persistence for generated recipes.
+ *
+ * When enabled, {@code /generate} responds as soon as content is rendered and the request and
+ * recipe rows are queued here. A background writer drains the bounded queue and persists rows in
+ * batches, one transaction per batch. When the queue is full, callers wait up to the offer
+ * timeout and then write synchronously themselves, so a slow database pushes back on request
+ * threads instead of growing memory. On shutdown the queue is drained before the data source
+ * closes.
+ */
+@Component
+@Slf4j
+public class RecipeWriteBehindQueue implements SmartLifecycle {
+
+    private final RecipeRequestRepository recipeRequestRepository;
+    private final RecipeRepository recipeRepository;
+    private final RecipeIngredientIndex recipeIngredientIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration offerTimeout;
+    private final Duration pollInterval;
+    private final Duration shutdownTimeout;
+    private final boolean virtualThreads;
+    private final BlockingQueue<PendingRecipe> queue;
+    private final Counter overflowCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public RecipeWriteBehindQueue(RecipeRequestRepository recipeRequestRepository,
+                                  RecipeRepository recipeRepository,
+                                  RecipeIngredientIndex recipeIngredientIndex,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${recipe.persistence.write-behind.enabled:false}") boolean enabled,
+                                  @Value("${recipe.persistence.write-behind.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${recipe.persistence.write-behind.batch-size:100}") int batchSize,
+                                  @Value("${recipe.persistence.write-behind.offer-timeout:100ms}") Duration offerTimeout,
+                                  @Value("${recipe.persistence.write-behind.poll-interval:200ms}") Duration pollInterval,
+                                  @Value("${recipe.persistence.write-behind.shutdown-timeout:30s}") Duration shutdownTimeout,
+                                  @Value(BackgroundThreads.VIRTUAL_PROPERTY) boolean virtualThreads) {
+        this.recipeRequestRepository = recipeRequestRepository;
+        this.recipeRepository = recipeRepository;
+        this.recipeIngredientIndex = recipeIngredientIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.offerTimeout = offerTimeout;
+        this.pollInterval = pollInterval;
+        this.shutdownTimeout = shutdownTimeout;
+        this.virtualThreads = virtualThreads;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Gauge.builder("recipe.writebehind.queue.depth", queue, BlockingQueue::size)
+                .description("Generated recipes waiting to be persisted")
+                .register(meterRegistry);
+        this.overflowCounter = Counter.builder("recipe.writebehind.overflow")
+                .description("Recipes written synchronously because the write-behind queue was full")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("recipe.writebehind.failed")
+                .description("Recipes that could not be persisted by the background writer")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queue a recipe request and its generated recipe for persistence. The recipe's request ID
+     * is assigned when the batch is written.
+     */
+    public void enqueue(RecipeRequestEntity request, Recipe recipe) {
+        PendingRecipe pending = new PendingRecipe(request, recipe);
+        if (running) {
+            try {
+                if (queue.offer(pending, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // Queue full or writer stopped: persist on the caller's thread
+        overflowCounter.increment();
+        log.warn("Write-behind queue unavailable, persisting recipe synchronously (depth {})", queue.size());
+        transactionTemplate.executeWithoutResult(status -> persist(List.of(pending)));
+    }
+
+    // ===== BACKGROUND WRITER =====
+
+    private void runWriter() {
+        List<PendingRecipe> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingRecipe first = queue.poll(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Write-behind writer interrupted with {} recipes still queued", queue.size());
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingRecipe> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(batch));
+            log.debug("Persisted {} queued recipes", batch.size());
+        } catch (Exception e) {
+            log.error("Failed to persist batch of {} recipes, retrying individually: {}", batch.size(), e.getMessage());
+            for (PendingRecipe pending : batch) {
+                // IDs assigned by the rolled-back insert are no longer valid
+                pending.request().setId(null);
+                pending.recipe().setId(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persist(List.of(pending)));
+                } catch (Exception single) {
+                    failedCounter.increment();
+                    log.error("Dropping recipe for user {}: {}", pending.recipe().getUserId(), single.getMessage());
+                }
+            }
+        }
+    }
+
+    private void persist(List<PendingRecipe> batch) {
+        List<RecipeRequestEntity> requests = new ArrayList<>(batch.size());
+        for (PendingRecipe pending : batch) {
+            requests.add(pending.request());
+        }
+        recipeRequestRepository.saveAll(requests);
+
+        List<Recipe> recipes = new ArrayList<>(batch.size());
+        Map<Recipe, String> ingredients = new IdentityHashMap<>(batch.size());
+        for (PendingRecipe pending : batch) {
+            pending.recipe().setRequestId(pending.request().getId());
+            recipes.add(pending.recipe());
+            ingredients.put(pending.recipe(), pending.request().getIngredients());
+        }
+        recipeRepository.saveAll(recipes);
+        recipeIngredientIndex.index(recipes, ingredients::get);
+    }
+
+    // ===== LIFECYCLE =====
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        // Not a daemon on platform threads: stop() waits for the final drain either way
+        writer = virtualThreads
+                ? Thread.ofVirtual().name("recipe-write-behind").start(this::runWriter)
+                : Thread.ofPlatform().name("recipe-write-behind").start(this::runWriter);
+        log.info("Recipe write-behind persistence enabled (batch size {}, capacity {})",
+                batchSize, queue.remainingCapacity());
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        log.info("Draining {} queued recipes before shutdown", queue.size());
+        try {
+            writer.join(shutdownTimeout.toMillis());
+            if (writer.isAlive()) {
+                log.warn("Write-behind drain timed out with {} recipes still queued", queue.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Start before and stop after the web server, so no request can enqueue after the final drain
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    record PendingRecipe(RecipeRequestEntity request, Recipe recipe) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.recipe.smartrecipe.service;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Recipe and recipe request rows written by the current transaction. Published so that
+ * {@link RecipeEntityCache} drops its copies once the transaction completes. A window covers the
+ * recipe IDs in {@code [fromRecipeId, toRecipeId)}; it is empty when both bounds are equal.
+ */
+public record RecipesChanged(Collection<Long> recipeIds,
+                             Collection<Long> requestIds,
+                             long fromRecipeId,
+                             long toRecipeId) {
+
+    public static RecipesChanged recipes(Collection<Long> recipeIds) {
+        return new RecipesChanged(recipeIds, List.of(), 0, 0);
+    }
+
+    public static RecipesChanged request(Long requestId, Collection<Long> recipeIds) {
+        return new RecipesChanged(recipeIds, List.of(requestId), 0, 0);
+    }
+
+    public static RecipesChanged recipeWindow(long fromRecipeId, long toRecipeId) {
+        return new RecipesChanged(List.of(), List.of(), fromRecipeId, toRecipeId);
+    }
+}
@@ -0,0 +1,17 @@
+package com.recipe.smartrecipe.service;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with jitter: after attempt n, wait between half and all of
+ * {@code initial * 2^(n - 1)}, capped at {@code max}.
+ */
+record RetryBackoff(Duration initial, Duration max) {
+
+    long delayMillis(int attempt) {
+        long ceiling = initial.toMillis() << Math.min(Math.max(attempt - 1, 0), 20);
+        long delay = Math.min(ceiling, max.toMillis());
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+}
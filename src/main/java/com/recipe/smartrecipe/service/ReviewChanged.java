@@ -0,0 +1,25 @@
+package com.recipe.smartrecipe.service;
+
+import com.recipe.smartrecipe.dto.ReviewResponse;
+
+/**
+ * A review created, updated or deleted by the current transaction. Published so that
+ * {@link RecentReviewFeed} only shows reviews once they are committed. A deletion carries no
+ * review, only its ID.
+ */
+public record ReviewChanged(Kind kind, Long reviewId, ReviewResponse review) {
+
+    public enum Kind { CREATED, UPDATED, DELETED }
+
+    public static ReviewChanged created(ReviewResponse review) {
+        return new ReviewChanged(Kind.CREATED, review.getId(), review);
+    }
+
+    public static ReviewChanged updated(ReviewResponse review) {
+        return new ReviewChanged(Kind.UPDATED, review.getId(), review);
+    }
+
+    public static ReviewChanged deleted(Long reviewId) {
+        return new ReviewChanged(Kind.DELETED, reviewId, null);
+    }
+}
@@ -1,20 +1,24 @@
 package com.recipe.smartrecipe.service;
 
+import com.recipe.smartrecipe.dto.CursorPage;
+import com.recipe.smartrecipe.dto.PageCursor;
 import com.recipe.smartrecipe.dto.ReviewRequest;
 import com.recipe.smartrecipe.dto.ReviewResponse;
 import com.recipe.smartrecipe.entity.Recipe;
+import com.recipe.smartrecipe.entity.RecipeRatingStats;
 import com.recipe.smartrecipe.entity.Review;
-import com.recipe.smartrecipe.repository.RecipeRepository;
+import com.recipe.smartrecipe.repository.RecipeRatingStatsRepository;
 import com.recipe.smartrecipe.repository.ReviewRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -22,7 +26,10 @@ import java.util.stream.Collectors;
 public class ReviewService {
     
     private final ReviewRepository reviewRepository;
-    private final RecipeRepository recipeRepository;
+    private final RecipeRatingStatsRepository recipeRatingStatsRepository;
+    private final RecentReviewFeed recentReviewFeed;
+    private final RecipeEntityCache recipeEntityCache;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * Create a new review
@@ -31,8 +38,8 @@ public class ReviewService {
     public ReviewResponse createReview(ReviewRequest request) {
         log.info("Creating review for recipe ID: {}", request.getRecipeId());
         
-        // Find the recipe
-        Recipe recipe = recipeRepository.findById(request.getRecipeId())
+        // Find the recipe; the cached copy is only read for its ID and title
+        Recipe recipe = recipeEntityCache.findRecipe(request.getRecipeId())
                 .orElseThrow(() -> new RuntimeException("Recipe not found with ID: " + request.getRecipeId()));
         
         // Set review date to current time if not provided
@@ -50,33 +57,44 @@ public class ReviewService {
         
         // Save review
         Review savedReview = reviewRepository.save(review);
+        applyRatingDelta(recipe.getId(), savedReview.getRating(), 1);
         log.info("Review created with ID: {}", savedReview.getId());
         
-        return convertToResponse(savedReview);
+        ReviewResponse response = convertToResponse(savedReview);
+        eventPublisher.publishEvent(ReviewChanged.created(response));
+        return response;
     }
     
     /**
-     * Get all reviews for a recipe
+     * Get one page of reviews for a recipe, newest first
      */
-    public List<ReviewResponse> getReviewsByRecipeId(Long recipeId) {
+    public CursorPage<ReviewResponse> getReviewsByRecipeId(Long recipeId, String cursor, int size) {
         log.info("Fetching reviews for recipe ID: {}", recipeId);
         
-        List<Review> reviews = reviewRepository.findByRecipeIdOrderByReviewDateDesc(recipeId);
-        return reviews.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        List<ReviewResponse> reviews;
+        if (cursor == null) {
+            reviews = reviewRepository.findPageByRecipeId(recipeId, size + 1);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            reviews = reviewRepository.findPageByRecipeIdAfter(recipeId, after.createdAt(), after.id(), size + 1);
+        }
+        return CursorPage.of(reviews, size, ReviewService::cursorOf, review -> review);
     }
     
     /**
-     * Get all reviews by user
+     * Get one page of reviews by user, newest first
      */
-    public List<ReviewResponse> getReviewsByUserId(Long userId) {
+    public CursorPage<ReviewResponse> getReviewsByUserId(Long userId, String cursor, int size) {
         log.info("Fetching reviews for user ID: {}", userId);
         
-        List<Review> reviews = reviewRepository.findByUserIdOrderByReviewDateDesc(userId);
-        return reviews.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        List<ReviewResponse> reviews;
+        if (cursor == null) {
+            reviews = reviewRepository.findPageByUserId(userId, size + 1);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            reviews = reviewRepository.findPageByUserIdAfter(userId, after.createdAt(), after.id(), size + 1);
+        }
+        return CursorPage.of(reviews, size, ReviewService::cursorOf, review -> review);
     }
     
     /**
@@ -85,8 +103,7 @@ public class ReviewService {
     public Optional<ReviewResponse> getReviewById(Long id) {
         log.info("Fetching review with ID: {}", id);
         
-        return reviewRepository.findById(id)
-                .map(this::convertToResponse);
+        return reviewRepository.findResponseById(id);
     }
     
     /**
@@ -98,6 +115,7 @@ public class ReviewService {
         
         return reviewRepository.findById(id)
                 .map(review -> {
+                    Integer previousRating = review.getRating();
                     review.setReviewText(request.getReviewText());
                     review.setRating(request.getRating());
                     if (request.getReviewDate() != null) {
@@ -105,8 +123,17 @@ public class ReviewService {
                     }
                     
                     Review updatedReview = reviewRepository.save(review);
+                    if (!Objects.equals(previousRating, updatedReview.getRating())) {
+                        applyRatingDelta(review.getRecipe().getId(), previousRating, -1);
+                        applyRatingDelta(review.getRecipe().getId(), updatedReview.getRating(), 1);
+                    } else {
+                        // Totals are unchanged, but the review listing is not
+                        applyRatingDelta(review.getRecipe().getId(), null, 0);
+                    }
                     log.info("Review updated with ID: {}", updatedReview.getId());
-                    return convertToResponse(updatedReview);
+                    ReviewResponse response = convertToResponse(updatedReview);
+                    eventPublisher.publishEvent(ReviewChanged.updated(response));
+                    return response;
                 });
     }
     
@@ -117,62 +144,74 @@ public class ReviewService {
     public boolean deleteReview(Long id) {
         log.info("Deleting review with ID: {}", id);
         
-        if (reviewRepository.existsById(id)) {
-            reviewRepository.deleteById(id);
+        Optional<Review> review = reviewRepository.findById(id);
+        if (review.isPresent()) {
+            reviewRepository.delete(review.get());
+            applyRatingDelta(review.get().getRecipe().getId(), review.get().getRating(), -1);
+            eventPublisher.publishEvent(ReviewChanged.deleted(id));
             log.info("Review deleted with ID: {}", id);
             return true;
         }
         return false;
     }
     
+    /**
+     * Get pre-aggregated rating stats for a recipe (a single primary-key read)
+     */
+    public RecipeRatingStats getRatingStats(Long recipeId) {
+        log.info("Getting rating stats for recipe ID: {}", recipeId);
+        
+        return recipeRatingStatsRepository.findById(recipeId)
+                .orElseGet(() -> new RecipeRatingStats(recipeId));
+    }
+    
+    /**
+     * Version of a recipe's reviews and stats, for conditional GETs; 0 until its first review
+     */
+    public long getReviewVersion(Long recipeId) {
+        return recipeRatingStatsRepository.findReviewVersion(recipeId).orElse(0L);
+    }
+    
     /**
      * Get average rating for a recipe
      */
     public Double getAverageRating(Long recipeId) {
-        log.info("Getting average rating for recipe ID: {}", recipeId);
-        
-        Double averageRating = reviewRepository.getAverageRatingByRecipeId(recipeId);
-        return averageRating != null ? Math.round(averageRating * 10.0) / 10.0 : 0.0;
+        return Math.round(getRatingStats(recipeId).averageRating() * 10.0) / 10.0;
     }
     
     /**
      * Get review count for a recipe
      */
     public Long getReviewCount(Long recipeId) {
-        log.info("Getting review count for recipe ID: {}", recipeId);
-        
-        return reviewRepository.getReviewCountByRecipeId(recipeId);
+        return getRatingStats(recipeId).getRatingCount();
     }
     
     /**
-     * Get recent reviews
+     * Add or remove one rating from the recipe's running totals, atomically in SQL. Every call
+     * bumps the recipe's review version, also for unrated reviews that leave the totals alone.
      */
-    public List<ReviewResponse> getRecentReviews() {
-        log.info("Fetching recent reviews");
-        
-        List<Review> reviews = reviewRepository.findRecentReviews();
-        return reviews.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    private void applyRatingDelta(Long recipeId, Integer rating, int sign) {
+        long[] stars = new long[5];
+        long sum = 0;
+        long count = 0;
+        if (rating != null && rating >= 1 && rating <= 5) {
+            stars[rating - 1] = sign;
+            sum = (long) sign * rating;
+            count = sign;
+        }
+        recipeRatingStatsRepository.applyDelta(recipeId, sum, count,
+                stars[0], stars[1], stars[2], stars[3], stars[4]);
     }
     
     /**
-     * Extract recipe title from content
+     * Get the latest reviews across all recipes, newest first (served from memory)
      */
-    private String extractRecipeTitle(String content) {
-        if (content == null || content.isEmpty()) {
-            return "Untitled Recipe";
-        }
-        
-        // Split by newlines and get the first line
-        String[] lines = content.split("\n");
-        if (lines.length > 0) {
-            String firstLine = lines[0].trim();
-            // Remove emoji and "RECIPE" text to get a cleaner title
-            return firstLine.replaceAll("🍳\\s*", "").replaceAll("\\s+RECIPE$", "");
-        }
-        
-        return "Untitled Recipe";
+    public List<ReviewResponse> getRecentReviews(int limit) {
+        return recentReviewFeed.latest(limit);
+    }
+    
+    private static PageCursor cursorOf(ReviewResponse review) {
+        return new PageCursor(review.getCreatedAt(), review.getId());
     }
     
     /**
@@ -182,7 +221,9 @@ public class ReviewService {
         ReviewResponse response = new ReviewResponse();
         response.setId(review.getId());
         response.setRecipeId(review.getRecipe().getId());
-        response.setRecipeTitle(extractRecipeTitle(review.getRecipe().getContent()));
+        // Same fallback as the listing queries until the title backfill reaches older recipes
+        response.setRecipeTitle(review.getRecipe().getTitle() != null
+                ? review.getRecipe().getTitle() : Recipe.UNTITLED);
         response.setUserId(review.getUserId());
         response.setReviewText(review.getReviewText());
         response.setRating(review.getRating());
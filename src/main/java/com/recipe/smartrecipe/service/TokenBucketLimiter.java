@@ -0,0 +1,94 @@
+package com.recipe.smartrecipe.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-key token buckets, admitting {@code permitsPerSecond} on average with bursts of up to {@code burst}.
+ *
+ * Each bucket is a single {@link AtomicLong} holding the time at which it will be full again
+ * (the generic cell rate algorithm), so an admission is one CAS and never takes a lock. Buckets
+ * live in a Caffeine map whose reads are lock-free. A bucket idle for longer than the idle timeout
+ * is evicted; the timeout is never shorter than a full refill, so an evicted bucket would have
+ * been full anyway. The map is also capped in size, which bounds memory however many keys are
+ * seen. Rejections are counted as {@code rate.limit.rejected} and live buckets are gauged as
+ * {@code rate.limit.buckets}, both tagged {@code limiter=<name>}.
+ */
+public class TokenBucketLimiter {
+
+    private final int burst;
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final LongSupplier nanoClock;
+    private final Cache<String, AtomicLong> buckets;
+    private final Counter rejected;
+
+    public TokenBucketLimiter(String name, double permitsPerSecond, int burst, Duration idleTimeout,
+                              long maximumBuckets, MeterRegistry meterRegistry) {
+        this(name, permitsPerSecond, burst, idleTimeout, maximumBuckets, meterRegistry, System::nanoTime);
+    }
+
+    TokenBucketLimiter(String name, double permitsPerSecond, int burst, Duration idleTimeout,
+                       long maximumBuckets, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate limit " + name + " needs a positive rate and burst");
+        }
+        this.burst = burst;
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.capacityNanos = intervalNanos * burst;
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(Math.max(idleTimeout.toNanos(), capacityNanos), TimeUnit.NANOSECONDS)
+                .maximumSize(maximumBuckets)
+                .build();
+
+        this.rejected = Counter.builder("rate.limit.rejected")
+                .description("Requests rejected by a rate limit")
+                .tag("limiter", name)
+                .register(meterRegistry);
+        Gauge.builder("rate.limit.buckets", buckets, Cache::estimatedSize)
+                .description("Token buckets currently tracked")
+                .tag("limiter", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Take one permit for a key; returns 0 when admitted, otherwise the nanoseconds until one is free
+     */
+    public long tryAcquire(String key) {
+        return tryAcquire(key, 1);
+    }
+
+    /**
+     * Take {@code permits} at once, all or none; more than the burst can never be admitted
+     */
+    public long tryAcquire(String key, int permits) {
+        if (permits < 1 || permits > burst) {
+            throw new IllegalArgumentException("Cannot take " + permits + " permits from a burst of " + burst);
+        }
+        long cost = intervalNanos * permits;
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = buckets.get(key, k -> new AtomicLong(now));
+        while (true) {
+            long fullAt = bucket.get();
+            // Compared by difference, as nanoTime values may wrap
+            long next = (fullAt - now < 0 ? now : fullAt) + cost;
+            long wait = next - now - capacityNanos;
+            if (wait > 0) {
+                rejected.increment();
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.recipe.smartrecipe.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.recipe.smartrecipe.entity.User;
+import com.recipe.smartrecipe.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache in front of {@link UserRepository}, keyed by the user ID a caller asked for.
+ *
+ * Users are practically immutable, so found users are kept for the configured TTL while unknown
+ * IDs are cached as absent for a much shorter time. Lookups and creations for the same ID are
+ * coalesced: concurrent callers wait for the one in-flight load instead of each hitting the
+ * database. The cache holds futures and loads run after the future is installed, outside the
+ * map's bin lock, so callers on virtual threads park on the future instead of pinning their
+ * carrier for a database round trip. Hit and miss counts are published as {@code cache.*}
+ * metrics tagged {@code cache=users}; {@code users.cache.time.saved} records the average lookup
+ * time avoided by each hit.
+ */
+@Component
+@Slf4j
+public class UserCache {
+
+    static final String CACHE_NAME = "users";
+
+    // Weight of the newest sample in the moving average of database lookup time
+    private static final double LOOKUP_TIME_ALPHA = 0.1;
+
+    private final UserRepository userRepository;
+    private final AsyncCache<Long, Optional<User>> users;
+    private final Timer lookupTimer;
+    private final Timer savedTimer;
+
+    private volatile double averageLookupNanos;
+
+    public UserCache(UserRepository userRepository,
+                     MeterRegistry meterRegistry,
+                     @Value("${recipe.users.cache.maximum-size:10000}") long maximumSize,
+                     @Value("${recipe.users.cache.expire-after-write:10m}") Duration expireAfterWrite,
+                     @Value("${recipe.users.cache.negative-expire-after-write:30s}") Duration negativeExpireAfterWrite) {
+        this.userRepository = userRepository;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new PresenceExpiry(expireAfterWrite, negativeExpireAfterWrite))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, users.synchronous(), CACHE_NAME);
+
+        this.lookupTimer = Timer.builder("users.cache.lookup")
+                .description("Database lookups made on user cache misses")
+                .register(meterRegistry);
+        this.savedTimer = Timer.builder("users.cache.time.saved")
+                .description("Estimated database lookup time avoided by each user cache hit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Find a user by ID; a miss is remembered for the negative TTL
+     */
+    public Optional<User> find(Long userId) {
+        CompletableFuture<Optional<User>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<User>> user = users.get(userId, (id, executor) -> load);
+        if (user != load) {
+            recordHit();
+            return await(user);
+        }
+        try {
+            Optional<User> found = lookup(userId);
+            load.complete(found);
+            return found;
+        } catch (RuntimeException e) {
+            // Failed futures are dropped from the cache
+            load.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Return the user for an ID, calling the creator when it is unknown. Concurrent callers for
+     * the same ID share one creation. A creator that throws leaves nothing cached.
+     */
+    public User resolve(Long userId, Function<Long, User> creator) {
+        Optional<User> cached = find(userId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        ConcurrentMap<Long, CompletableFuture<Optional<User>>> map = users.asMap();
+        while (true) {
+            CompletableFuture<Optional<User>> current = map.get(userId);
+            if (current != null) {
+                Optional<User> existing = awaitOrEmpty(current);
+                if (existing.isPresent()) {
+                    // Another caller created the user while we waited
+                    return existing.get();
+                }
+            }
+
+            // Claim the creation; losing the race means another caller's creation is now in the map
+            CompletableFuture<Optional<User>> creation = new CompletableFuture<>();
+            boolean claimed = current == null
+                    ? map.putIfAbsent(userId, creation) == null
+                    : map.replace(userId, current, creation);
+            if (!claimed) {
+                continue;
+            }
+
+            try {
+                User user = creator.apply(userId);
+                creation.complete(Optional.of(user));
+                if (!user.getId().equals(userId)) {
+                    users.put(user.getId(), CompletableFuture.completedFuture(Optional.of(user)));
+                }
+                return user;
+            } catch (RuntimeException e) {
+                creation.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    private Optional<User> lookup(Long userId) {
+        long start = System.nanoTime();
+        Optional<User> user = userRepository.findById(userId);
+        long elapsed = System.nanoTime() - start;
+
+        lookupTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        double average = averageLookupNanos;
+        averageLookupNanos = average == 0 ? elapsed : average + LOOKUP_TIME_ALPHA * (elapsed - average);
+        return user;
+    }
+
+    // Another caller's load; its failure is rethrown as thrown
+    private static Optional<User> await(CompletableFuture<Optional<User>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Optional<User> awaitOrEmpty(CompletableFuture<Optional<User>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            return Optional.empty();
+        }
+    }
+
+    private void recordHit() {
+        long saved = (long) averageLookupNanos;
+        if (saved > 0) {
+            savedTimer.record(saved, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Found users live for the regular TTL, absent ones for the negative TTL
+     */
+    private record PresenceExpiry(Duration present, Duration absent) implements Expiry<Long, Optional<User>> {
+
+        @Override
+        public long expireAfterCreate(Long key, Optional<User> value, long currentTime) {
+            return (value.isPresent() ? present : absent).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, Optional<User> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long key, Optional<User> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
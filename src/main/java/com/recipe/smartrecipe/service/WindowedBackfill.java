@@ -0,0 +1,82 @@
+package com.recipe.smartrecipe.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Base for data migrations and repairs that walk a table in ID windows.
+ *
+ * Runs once in the background after startup, one short transaction per window, so it never
+ * holds locks on more than a window of rows; subclasses may also schedule {@link #backfill()}.
+ * The backfills only touch rows that still need work, so a restart simply resumes. A repair
+ * such as {@link RecipeRatingStatsReconciler} cannot tell which rows drifted and rescans every
+ * window on each run.
+ */
+@Slf4j
+abstract class WindowedBackfill {
+
+    private final String name;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int windowSize;
+
+    @Value(BackgroundThreads.VIRTUAL_PROPERTY)
+    private boolean virtualThreads;
+
+    protected WindowedBackfill(String name, PlatformTransactionManager transactionManager, boolean enabled, int windowSize) {
+        this.name = name;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Lowest and highest ID that may still need work, or null when there is none
+     */
+    protected abstract Long firstId();
+
+    protected abstract Long lastId();
+
+    /**
+     * Process IDs in {@code [fromId, toId)} inside the current transaction; returns rows changed
+     */
+    protected abstract int processWindow(long fromId, long toId);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startInBackground() {
+        if (!enabled) {
+            return;
+        }
+        BackgroundThreads.named(name, virtualThreads).start(this::backfill);
+    }
+
+    /**
+     * Run every window now; returns the number of rows changed
+     */
+    public long backfill() {
+        Long firstId = firstId();
+        Long lastId = lastId();
+        if (firstId == null || lastId == null) {
+            return 0;
+        }
+
+        log.info("Running {} for IDs {} to {}", name, firstId, lastId);
+        long updated = 0;
+        for (long from = firstId; from <= lastId; from += windowSize) {
+            long windowStart = from;
+            try {
+                Integer rows = transactionTemplate.execute(status -> processWindow(windowStart, windowStart + windowSize));
+                updated += rows != null ? rows : 0;
+            } catch (Exception e) {
+                log.error("{} stopped at ID {}: {}", name, windowStart, e.getMessage());
+                break;
+            }
+        }
+        log.info("{} updated {} rows", name, updated);
+        return updated;
+    }
+}
@@ -0,0 +1,226 @@
+package com.recipe.smartrecipe.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Open-loop load test of the REST API against the embedded H2 database.
+ *
+ * Seeds recipes and reviews, warms up, then drives the configured mix of {@code /generate},
+ * filter, search and {@code /stats} requests at a fixed arrival rate (see {@link LoadTestConfig}).
+ * Prints p50/p99/p99.9 per operation, corrected for coordinated omission, and fails when an
+ * operation is slower than its baseline by more than the allowed regression or when the error
+ * rate is too high. Results are written to {@code target/load-test/results.properties} in the
+ * baseline format, so a run on the reference machine can be copied into
+ * {@code load-test.properties}.
+ *
+ * Excluded from the normal build; run with {@code mvn -P load-test test}.
+ */
+@Tag("load-test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "logging.level.com.recipe.smartrecipe=WARN",
+        "recipe.backfill.filter-attributes.enabled=false",
+        "recipe.backfill.ingredient-index.enabled=false",
+        "recipe.backfill.title.enabled=false",
+        // Measures the API itself, not the per-user limits on /generate
+        "recipe.rate-limit.enabled=false"
+})
+class ApiLoadTest {
+
+    private static final String[] INGREDIENTS = {
+            "eggs, tomatoes, milk",
+            "chicken breast, onions, garlic, rice",
+            "salmon, spinach, lemon",
+            "beef, potatoes, carrots, onions",
+            "pasta, mushrooms, cream, parmesan"
+    };
+    private static final String[] MEAL_TYPES = {"BREAKFAST", "LUNCH", "DINNER", "SNACK"};
+    private static final String[] CUISINES = {"Italian", "Asian", "Mexican", "Indian", "French"};
+    private static final String[] COOKING_TIMES = {"UNDER_30", "MIN_30_60", "OVER_60"};
+    private static final String[] COMPLEXITIES = {"Beginner", "Intermediate", "Advanced"};
+    private static final String[] SEARCH_TERMS = {"eggs", "chicken,onions", "salmon", "potatoes", "mushrooms"};
+    private static final int USERS = 20;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    // Filled by seeding
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Long> recipeIds = new ArrayList<>();
+
+    @Test
+    void latencyStaysWithinBaseline() throws Exception {
+        LoadTestConfig config = LoadTestConfig.load();
+        seed(config.seedRecipes());
+
+        OpenLoopLoadGenerator generator = new OpenLoopLoadGenerator(operations(), config.mix(), 42);
+        generator.run(config.ratePerSecond(), config.warmup());
+        List<OpenLoopLoadGenerator.Result> results = generator.run(config.ratePerSecond(), config.duration());
+
+        report(config, results);
+        writeResults(results);
+
+        List<String> failures = new ArrayList<>();
+        for (OpenLoopLoadGenerator.Result result : results) {
+            if (result.errorRate() > config.maxErrorRate()) {
+                failures.add(String.format("%s: error rate %.3f%% exceeds %.3f%%",
+                        result.operation(), result.errorRate() * 100, config.maxErrorRate() * 100));
+            }
+            for (String percentile : List.of("p50", "p99", "p999")) {
+                Double baseline = config.baseline(result.operation(), percentile);
+                double limit = baseline != null ? baseline * (1 + config.maxRegression()) : Double.MAX_VALUE;
+                if (result.percentile(percentile) > limit) {
+                    failures.add(String.format("%s %s: %.2f ms exceeds baseline %.2f ms by more than %.0f%%",
+                            result.operation(), percentile, result.percentile(percentile), baseline,
+                            config.maxRegression() * 100));
+                }
+            }
+        }
+        assertTrue(failures.isEmpty(), "Latency regressions:\n" + String.join("\n", failures));
+    }
+
+    // ===== WORKLOAD =====
+
+    private Map<String, OpenLoopLoadGenerator.Operation> operations() {
+        Map<String, OpenLoopLoadGenerator.Operation> operations = new LinkedHashMap<>();
+        operations.put("generate", () -> generate(1 + random().nextInt(USERS)));
+        operations.put("filter-cuisine", () -> get("/user/" + anyUser() + "/cuisine/" + pick(CUISINES)));
+        operations.put("filter-meal-type", () -> get("/user/" + anyUser() + "/meal-type/" + pick(MEAL_TYPES)));
+        operations.put("filter-complexity", () -> get("/user/" + anyUser() + "/complexity/" + pick(COMPLEXITIES)));
+        operations.put("filter-cooking-time", () -> get("/user/" + anyUser() + "/cooking-time/" + pick(COOKING_TIMES)));
+        operations.put("search", () -> get("/user/" + anyUser() + "/search?ingredient=" + pick(SEARCH_TERMS) + "&match=any"));
+        operations.put("stats", () -> get("/" + recipeIds.get(random().nextInt(recipeIds.size())) + "/stats"));
+        return operations;
+    }
+
+    private boolean generate(long userId) throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "ingredients", pick(INGREDIENTS),
+                "mealType", pick(MEAL_TYPES),
+                "cuisine", pick(CUISINES),
+                "cookingTime", pick(COOKING_TIMES),
+                "complexity", pick(COMPLEXITIES)));
+        HttpRequest request = HttpRequest.newBuilder(uri("/generate"))
+                .header("Content-Type", "application/json")
+                .header("X-USER-ID", Long.toString(userId))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return ok(client.send(request, HttpResponse.BodyHandlers.discarding()));
+    }
+
+    private boolean get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri(path)).GET().build();
+        return ok(client.send(request, HttpResponse.BodyHandlers.discarding()));
+    }
+
+    // ===== SEEDING =====
+
+    private void seed(int recipes) throws IOException, InterruptedException {
+        for (int i = 0; i < recipes; i++) {
+            if (!generate(1 + i % USERS)) {
+                throw new IllegalStateException("Seeding /generate failed");
+            }
+        }
+
+        // Demo users get their own IDs, so read back who owns the seeded recipes
+        HttpRequest list = HttpRequest.newBuilder(uri("?size=" + recipes)).GET().build();
+        JsonNode page = objectMapper.readTree(client.send(list, HttpResponse.BodyHandlers.ofString()).body());
+        for (JsonNode recipe : page) {
+            recipeIds.add(recipe.get("id").asLong());
+            long userId = recipe.get("userId").asLong();
+            if (!userIds.contains(userId)) {
+                userIds.add(userId);
+            }
+        }
+
+        for (Long recipeId : recipeIds) {
+            String review = objectMapper.writeValueAsString(Map.of(
+                    "recipeId", recipeId,
+                    "reviewText", "Seeded review",
+                    "rating", 1 + random().nextInt(5)));
+            HttpRequest request = HttpRequest.newBuilder(uri("/reviews"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(review))
+                    .build();
+            client.send(request, HttpResponse.BodyHandlers.discarding());
+        }
+    }
+
+    // ===== REPORTING =====
+
+    private static void report(LoadTestConfig config, List<OpenLoopLoadGenerator.Result> results) {
+        System.out.printf("%nLoad test: %d req/s for %s (response time from intended start; service time in brackets)%n",
+                config.ratePerSecond(), config.duration());
+        System.out.printf("%-20s %8s %7s %18s %18s %18s %10s%n",
+                "operation", "count", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (OpenLoopLoadGenerator.Result r : results) {
+            System.out.printf("%-20s %8d %7d %8.2f [%7.2f] %8.2f [%7.2f] %8.2f [%7.2f] %10.2f%n",
+                    r.operation(), r.count(), r.errors(), r.p50(), r.serviceP50(), r.p99(), r.serviceP99(),
+                    r.p999(), r.serviceP999(), r.max());
+        }
+    }
+
+    private static void writeResults(List<OpenLoopLoadGenerator.Result> results) throws IOException {
+        StringBuilder out = new StringBuilder("# Measured by ApiLoadTest; copy into load-test.properties to rebaseline\n");
+        for (OpenLoopLoadGenerator.Result r : results) {
+            out.append(String.format("load-test.baseline.%s.p50=%.2f%n", r.operation(), r.p50()));
+            out.append(String.format("load-test.baseline.%s.p99=%.2f%n", r.operation(), r.p99()));
+            out.append(String.format("load-test.baseline.%s.p999=%.2f%n", r.operation(), r.p999()));
+        }
+        Path file = Path.of("target", "load-test", "results.properties");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, out);
+    }
+
+    // ===== HELPERS =====
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + port + "/api/recipes" + path);
+    }
+
+    private long anyUser() {
+        return userIds.get(random().nextInt(userIds.size()));
+    }
+
+    private static String pick(String[] values) {
+        return values[random().nextInt(values.length)];
+    }
+
+    private static ThreadLocalRandom random() {
+        return ThreadLocalRandom.current();
+    }
+
+    private static boolean ok(HttpResponse<?> response) {
+        return response.statusCode() >= 200 && response.statusCode() < 300;
+    }
+}
@@ -0,0 +1,115 @@
+package com.recipe.smartrecipe.benchmark;
+
+import com.recipe.smartrecipe.service.EmailService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rendering the recipe email from precompiled templates against the previous
+ * {@code String.format} over the HTML and text blocks on every send. The template path also
+ * HTML-escapes the recipe, which the old one did not.
+ *
+ * Run the main method from the IDE (test classpath) after `mvn test-compile`.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private static final String LEGACY_HTML = """
+            <!DOCTYPE html>
+            <html>
+            <head>
+                <meta charset="utf-8">
+                <meta name="viewport" content="width=device-width, initial-scale=1.0">
+                <title>Your Recipe</title>
+                <style>
+                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
+                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
+                    .header { background: linear-gradient(135deg, #e74c3c 0%%, #c0392b 100%%);
+                             color: white; padding: 30px; border-radius: 10px; text-align: center; }
+                    .recipe-content { background: #f8f9fa; padding: 25px; border-radius: 10px;
+                                    margin: 20px 0; border-left: 5px solid #e74c3c; }
+                    .footer { text-align: center; margin-top: 30px; color: #666; font-size: 14px; }
+                    .btn { display: inline-block; background: #e74c3c; color: white;
+                           padding: 12px 25px; text-decoration: none; border-radius: 5px;
+                           margin: 10px 5px; }
+                </style>
+            </head>
+            <body>
+                <div class="container">
+                    <div class="header">
+                        <h1>🍳 Smart Recipe Generator</h1>
+                        <p>Your delicious recipe is ready!</p>
+                    </div>
+
+                    <div class="recipe-content">
+                        <h2>%s</h2>
+                        <pre style="white-space: pre-wrap; font-family: inherit;">%s</pre>
+                    </div>
+
+                    <div class="footer">
+                        <p>Generated by Smart Recipe Generator</p>
+                        <p>Happy cooking! 👨‍🍳</p>
+                    </div>
+                </div>
+            </body>
+            </html>
+            """;
+
+    private static final String LEGACY_TEXT = """
+            🍳 Smart Recipe Generator
+
+            Your Recipe: %s
+
+            %s
+
+            ---
+            Generated by Smart Recipe Generator
+            Happy cooking! 👨‍🍳
+            """;
+
+    @Param({"500", "4000"})
+    public int contentLength;
+
+    private String title;
+    private String content;
+    private EmailService emailService;
+
+    @Setup
+    public void setUp() {
+        title = "Spicy Chicken & Rice Bowl";
+        StringBuilder recipe = new StringBuilder(contentLength);
+        while (recipe.length() < contentLength) {
+            recipe.append("1. Heat the oil & fry the onions until golden <about 5 minutes>.\n");
+        }
+        content = recipe.substring(0, contentLength);
+        emailService = new EmailService(null, new SimpleMeterRegistry(), "recipes@example.com", "Smart Recipe Generator");
+    }
+
+    @Benchmark
+    public void legacyFormat(Blackhole blackhole) {
+        blackhole.consume(String.format(LEGACY_HTML, title, content));
+        blackhole.consume(String.format(LEGACY_TEXT, title, content));
+    }
+
+    @Benchmark
+    public void compiledTemplates(Blackhole blackhole) {
+        blackhole.consume(emailService.recipeEmail("cook@example.com", content, title));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmailTemplateBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
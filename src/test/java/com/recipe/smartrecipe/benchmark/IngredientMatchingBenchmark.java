@@ -0,0 +1,76 @@
+package com.recipe.smartrecipe.benchmark;
+
+import com.recipe.smartrecipe.dto.RecipeRequest;
+import com.recipe.smartrecipe.service.IngredientAnalyzer;
+import com.recipe.smartrecipe.service.IngredientKeyword;
+import com.recipe.smartrecipe.service.RecipeFeatures;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the single-pass {@link IngredientAnalyzer} against the previous approach of
+ * lowercasing and rescanning the ingredient list for every keyword check.
+ *
+ * Run the main method from the IDE (test classpath) after `mvn test-compile`.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IngredientMatchingBenchmark {
+
+    // Keyword checks the generators made per request before the analyzer existed
+    private static final String[] LEGACY_CHECKS = {
+            "egg", "tomato", "milk", "potato", "onion",                       // instructions
+            "egg", "milk", "tomato", "egg", "milk", "egg", "potato", "onion", // tips
+            "salmon", "chicken", "beef", "fish", "egg", "tomato", "milk",     // prep time
+            "potato", "onion", "rice", "pasta", "carrot", "spinach", "mushroom",
+            "egg", "tomato", "milk", "potato", "onion",                       // servings
+            "egg", "tomato", "milk", "potato", "onion"                        // calories
+    };
+
+    @Param({
+            "eggs, tomatoes, milk",
+            "Chicken Breast, Onions, Garlic, Bell Pepper, Basmati Rice, Spinach, Mushrooms, Carrots, Olive Oil"
+    })
+    public String ingredients;
+
+    private RecipeRequest request;
+    private IngredientAnalyzer analyzer;
+
+    @Setup
+    public void setUp() {
+        request = new RecipeRequest(ingredients, "DINNER", "Italian", "MIN_30_60", "Intermediate");
+        analyzer = new IngredientAnalyzer();
+    }
+
+    @Benchmark
+    public void legacyContains(Blackhole blackhole) {
+        String[] split = request.getIngredients().toLowerCase().split(",");
+        blackhole.consume(split);
+        for (String keyword : LEGACY_CHECKS) {
+            blackhole.consume(request.getIngredients().toLowerCase().contains(keyword));
+        }
+    }
+
+    @Benchmark
+    public void analyzer(Blackhole blackhole) {
+        RecipeFeatures features = analyzer.analyze(request);
+        for (IngredientKeyword keyword : IngredientKeyword.values()) {
+            blackhole.consume(features.has(keyword));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(IngredientMatchingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,172 @@
+package com.recipe.smartrecipe.benchmark;
+
+import com.recipe.smartrecipe.service.IngredientTokenizer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingredient search through the {@code recipe_ingredient} token table versus the old
+ * {@code LIKE %ingredient%} scan over the joined request, on an in-memory H2 database in
+ * MySQL mode with the same indexes as production.
+ *
+ * Setup inserts the full data set once per trial and takes a while at one million recipes.
+ * Run the main method from the IDE (test classpath) after `mvn test-compile`.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class IngredientSearchBenchmark {
+
+    private static final String[] INGREDIENTS = {
+            "eggs", "eggplant", "tomatoes", "milk", "cheese", "chicken", "beef", "pork", "rice", "pasta",
+            "onion", "garlic", "potatoes", "carrots", "spinach", "mushrooms", "bread", "butter", "flour", "sugar",
+            "salmon", "shrimp", "tofu", "beans", "lentils", "peppers", "zucchini", "broccoli", "lemon", "basil",
+            "cilantro", "ginger", "yogurt", "cream", "bacon", "corn", "peas", "apples", "berries", "oats"
+    };
+    private static final int USERS = 1_000;
+
+    @Param({"1000000"})
+    public int recipes;
+
+    private Connection connection;
+    private PreparedStatement likeScan;
+    private PreparedStatement tokenAny;
+    private PreparedStatement tokenAll;
+    private final Random random = new Random(7);
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:ingredient-bench;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE recipe_request (id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, ingredients VARCHAR(1000) NOT NULL)");
+            statement.execute("CREATE TABLE recipe (id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, request_id BIGINT NOT NULL, "
+                    + "content VARCHAR(200) NOT NULL, created_at TIMESTAMP NOT NULL)");
+            statement.execute("CREATE INDEX idx_recipe_user_created_at ON recipe (user_id, created_at)");
+            statement.execute("CREATE TABLE recipe_ingredient (id BIGINT PRIMARY KEY, recipe_id BIGINT NOT NULL, "
+                    + "user_id BIGINT NOT NULL, ingredient_token VARCHAR(100) NOT NULL)");
+            statement.execute("CREATE INDEX idx_recipe_ingredient_user_token ON recipe_ingredient (user_id, ingredient_token, recipe_id)");
+        }
+        populate();
+
+        likeScan = connection.prepareStatement("SELECT r.id FROM recipe r JOIN recipe_request q ON r.request_id = q.id "
+                + "WHERE r.user_id = ? AND q.ingredients LIKE ? ORDER BY r.created_at DESC");
+        tokenAny = connection.prepareStatement("SELECT r.id FROM recipe r WHERE r.id IN (SELECT ri.recipe_id FROM recipe_ingredient ri "
+                + "WHERE ri.user_id = ? AND ri.ingredient_token IN (?, ?)) ORDER BY r.created_at DESC");
+        tokenAll = connection.prepareStatement("SELECT r.id FROM recipe r WHERE r.id IN (SELECT ri.recipe_id FROM recipe_ingredient ri "
+                + "WHERE ri.user_id = ? AND ri.ingredient_token IN (?, ?) GROUP BY ri.recipe_id "
+                + "HAVING COUNT(DISTINCT ri.ingredient_token) = 2) ORDER BY r.created_at DESC");
+    }
+
+    private void populate() throws SQLException {
+        connection.setAutoCommit(false);
+        long tokenId = 0;
+        try (PreparedStatement request = connection.prepareStatement("INSERT INTO recipe_request VALUES (?, ?, ?)");
+             PreparedStatement recipe = connection.prepareStatement("INSERT INTO recipe VALUES (?, ?, ?, 'content', DATEADD('SECOND', ?, TIMESTAMP '2024-01-01 00:00:00'))");
+             PreparedStatement token = connection.prepareStatement("INSERT INTO recipe_ingredient VALUES (?, ?, ?, ?)")) {
+            for (int id = 1; id <= recipes; id++) {
+                long userId = id % USERS;
+                String ingredients = randomIngredients();
+                request.setLong(1, id);
+                request.setLong(2, userId);
+                request.setString(3, ingredients);
+                request.addBatch();
+                recipe.setLong(1, id);
+                recipe.setLong(2, userId);
+                recipe.setLong(3, id);
+                recipe.setInt(4, id);
+                recipe.addBatch();
+                for (String ingredientToken : IngredientTokenizer.tokens(ingredients)) {
+                    token.setLong(1, ++tokenId);
+                    token.setLong(2, id);
+                    token.setLong(3, userId);
+                    token.setString(4, ingredientToken);
+                    token.addBatch();
+                }
+                if (id % 5_000 == 0) {
+                    request.executeBatch();
+                    recipe.executeBatch();
+                    token.executeBatch();
+                    connection.commit();
+                }
+            }
+            request.executeBatch();
+            recipe.executeBatch();
+            token.executeBatch();
+            connection.commit();
+        }
+        connection.setAutoCommit(true);
+    }
+
+    private String randomIngredients() {
+        StringJoiner joiner = new StringJoiner(", ");
+        int count = 3 + random.nextInt(4);
+        for (int i = 0; i < count; i++) {
+            joiner.add(INGREDIENTS[random.nextInt(INGREDIENTS.length)]);
+        }
+        return joiner.toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void likeScanSingle(Blackhole blackhole) throws SQLException {
+        likeScan.setLong(1, random.nextInt(USERS));
+        likeScan.setString(2, "%egg%");
+        drain(likeScan, blackhole);
+    }
+
+    @Benchmark
+    public void tokenLookupAny(Blackhole blackhole) throws SQLException {
+        bindTokens(tokenAny);
+        drain(tokenAny, blackhole);
+    }
+
+    @Benchmark
+    public void tokenLookupAll(Blackhole blackhole) throws SQLException {
+        bindTokens(tokenAll);
+        drain(tokenAll, blackhole);
+    }
+
+    private void bindTokens(PreparedStatement statement) throws SQLException {
+        Set<String> tokens = IngredientTokenizer.tokens("tomatoes, eggs");
+        statement.setLong(1, random.nextInt(USERS));
+        int index = 2;
+        for (String token : tokens) {
+            statement.setString(index++, token);
+        }
+    }
+
+    private static void drain(PreparedStatement statement, Blackhole blackhole) throws SQLException {
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(rs.getLong(1));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(IngredientSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
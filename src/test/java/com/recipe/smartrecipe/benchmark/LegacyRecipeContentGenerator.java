@@ -0,0 +1,644 @@
+package com.recipe.smartrecipe.benchmark;
+
+import com.recipe.smartrecipe.dto.RecipeRequest;
+import com.recipe.smartrecipe.service.IngredientAnalyzer;
+import com.recipe.smartrecipe.service.RecipeFeatures;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.recipe.smartrecipe.service.IngredientKeyword.*;
+
+/**
+ * RecipeContentGenerator as it was before the template catalog: phrase pools are
+ * {@code String[]} literals built inside switch statements on every call. Kept only as the
+ * baseline for {@link RecipeGenerationBenchmark}.
+ */
+class LegacyRecipeContentGenerator {
+
+    private static final DateTimeFormatter GENERATED_ON_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final IngredientAnalyzer ingredientAnalyzer;
+
+    LegacyRecipeContentGenerator(IngredientAnalyzer ingredientAnalyzer) {
+        this.ingredientAnalyzer = ingredientAnalyzer;
+    }
+
+    public String generate(RecipeRequest request) {
+        RecipeFeatures features = ingredientAnalyzer.analyze(request);
+        StringBuilder recipe = new StringBuilder();
+        String currentTime = LocalDateTime.now().format(GENERATED_ON_FORMAT);
+        
+        recipe.append("🍳 ").append(request.getMealType()).append(" RECIPE\n");
+        recipe.append("⏰ Generated on: ").append(currentTime).append("\n");
+        recipe.append("🌍 Cuisine: ").append(request.getCuisine()).append("\n");
+        recipe.append("⏱️  Cooking Time: ").append(formatCookingTime(request.getCookingTime())).append("\n");
+        recipe.append("📊 Difficulty: ").append(request.getComplexity()).append("\n\n");
+        
+        recipe.append("📝 INGREDIENTS:\n");
+        List<String> ingredients = features.ingredients();
+        for (int i = 0; i < ingredients.size(); i++) {
+            recipe.append("   ").append(i + 1).append(". ").append(ingredients.get(i)).append("\n");
+        }
+        
+        // Generate unique instructions based on ingredients and preferences
+        recipe.append("\n👨‍🍳 INSTRUCTIONS:\n");
+        String[] instructions = generateUniqueInstructions(features);
+        for (int i = 0; i < instructions.length; i++) {
+            recipe.append("   ").append(i + 1).append(". ").append(instructions[i]).append("\n");
+        }
+        
+        // Generate unique cooking tips based on cuisine and complexity
+        recipe.append("\n💡 COOKING TIPS:\n");
+        String[] tips = generateUniqueCookingTips(features);
+        for (String tip : tips) {
+            recipe.append("   • ").append(tip).append("\n");
+        }
+        
+        // Generate dynamic prep time, servings, and calories
+        recipe.append("\n⏰ Estimated Prep Time: ").append(getDynamicPrepTime(features)).append("\n");
+        recipe.append("👥 Servings: ").append(getDynamicServings(features)).append("\n");
+        recipe.append("🔥 Calories per serving: ").append(getDynamicCalories(features)).append("\n\n");
+        
+        recipe.append("Bon appétit! 🎉");
+        
+        return recipe.toString();
+    }
+    
+    private String[] generateUniqueInstructions(RecipeFeatures features) {
+        String cuisine = features.cuisine();
+        String complexity = features.complexity();
+        String cookingTime = features.cookingTime();
+        Random random = new Random();
+        
+        // Base instructions that adapt to ingredients and preferences
+        List<String> baseInstructions = new ArrayList<>();
+        
+        // Step 1: Ingredient preparation (varies by ingredients)
+        if (features.ingredientCount() > 0) {
+            if (features.firstIngredientHas(EGG)) {
+                baseInstructions.add("Crack and whisk the eggs in a bowl, season with salt and pepper");
+            } else if (features.firstIngredientHas(MILK)) {
+                baseInstructions.add("Measure and warm the milk slightly (not boiling)");
+            } else if (features.firstIngredientHas(TOMATO)) {
+                baseInstructions.add("Wash and dice the tomatoes into small cubes");
+            } else if (features.firstIngredientHas(POTATO)) {
+                baseInstructions.add("Wash and dice the potatoes into small cubes");
+            } else if (features.firstIngredientHas(ONION)) {
+                baseInstructions.add("Peel and finely dice the onion");
+            } else if (features.firstIngredientHas(CHICKEN)) {
+                baseInstructions.add("Cut the chicken into bite-sized pieces and season with salt and pepper");
+            } else {
+                baseInstructions.add("Prepare your ingredients by washing and chopping as needed");
+            }
+        }
+        
+        // Step 2: Cooking method (varies by cuisine and complexity)
+        if (cuisine.equals("italian")) {
+            baseInstructions.add(getRandomVariation("italian_cooking", random));
+        } else if (cuisine.equals("asian")) {
+            baseInstructions.add(getRandomVariation("asian_cooking", random));
+        } else if (cuisine.equals("mexican")) {
+            baseInstructions.add(getRandomVariation("mexican_cooking", random));
+        } else if (cuisine.equals("indian")) {
+            baseInstructions.add(getRandomVariation("indian_cooking", random));
+        } else {
+            baseInstructions.add(getRandomVariation("general_cooking", random));
+        }
+        
+        // Step 3: Ingredient cooking (varies by ingredients and combinations)
+        if (features.ingredientCount() > 1) {
+            // Special handling for common ingredient combinations
+            boolean hasEggs = features.has(EGG);
+            boolean hasTomatoes = features.has(TOMATO);
+            boolean hasMilk = features.has(MILK);
+            boolean hasPotatoes = features.has(POTATO);
+            boolean hasOnions = features.has(ONION);
+            
+            if (hasEggs && hasTomatoes && !hasMilk) {
+                // Scrambled eggs with tomatoes
+                baseInstructions.add("Add diced tomatoes to the pan and sauté for 2-3 minutes until softened");
+                baseInstructions.add("Pour the whisked eggs over the tomatoes and cook, stirring gently until eggs are set");
+            } else if (hasMilk && hasEggs) {
+                // Custard or creamy egg dish
+                baseInstructions.add("Slowly pour the warm milk into the eggs while whisking constantly");
+                baseInstructions.add("Cook over low heat, stirring continuously until thickened to custard consistency");
+            } else if (hasPotatoes && hasOnions) {
+                // Potato and onion dish
+                baseInstructions.add("Add diced onions to the pan and sauté until translucent");
+                baseInstructions.add("Add potato cubes and cook, stirring occasionally, until potatoes are tender");
+            } else if (hasTomatoes && hasOnions) {
+                // Tomato and onion base
+                baseInstructions.add("Sauté onions until golden, then add tomatoes and cook until they break down");
+            } else {
+                baseInstructions.add("Add your prepared ingredients to the pan in order of cooking time needed");
+                baseInstructions.add("Cook each ingredient until tender before adding the next");
+            }
+        } else {
+            baseInstructions.add("Add your prepared ingredients to the pan and cook until fragrant and tender");
+        }
+        
+        // Step 4: Seasoning and finishing (varies by cuisine)
+        if (cuisine.equals("italian")) {
+            baseInstructions.add(getRandomVariation("italian_seasoning", random));
+        } else if (cuisine.equals("mexican")) {
+            baseInstructions.add(getRandomVariation("mexican_seasoning", random));
+        } else if (cuisine.equals("asian")) {
+            baseInstructions.add(getRandomVariation("asian_seasoning", random));
+        } else if (cuisine.equals("indian")) {
+            baseInstructions.add(getRandomVariation("indian_seasoning", random));
+        } else if (cuisine.equals("french")) {
+            baseInstructions.add(getRandomVariation("french_seasoning", random));
+        } else {
+            baseInstructions.add("Season with salt, pepper, and herbs that complement your ingredients");
+        }
+        
+        // Step 5: Final cooking (varies by complexity and cooking time)
+        if (cookingTime.equals("UNDER_30")) {
+            baseInstructions.add(getRandomVariation("quick_cooking", random));
+        } else if (cookingTime.equals("MIN_30_60")) {
+            baseInstructions.add(getRandomVariation("medium_cooking", random));
+        } else {
+            baseInstructions.add(getRandomVariation("slow_cooking", random));
+        }
+        
+        // Step 6: Serving (varies by complexity and meal type)
+        if (complexity.equals("beginner")) {
+            baseInstructions.add("Serve hot and enjoy your delicious " + features.mealType().toLowerCase() + "!");
+        } else if (complexity.equals("intermediate")) {
+            baseInstructions.add("Plate with care, ensuring good visual presentation before serving");
+        } else {
+            baseInstructions.add("Plate beautifully with garnishes and arrange ingredients artistically");
+        }
+        
+        return baseInstructions.toArray(new String[0]);
+    }
+    
+    private String getRandomVariation(String type, Random random) {
+        switch (type) {
+            case "italian_cooking":
+                String[] italianMethods = {
+                    "Heat extra virgin olive oil in a large pan over medium heat",
+                    "Warm olive oil in a deep skillet until shimmering",
+                    "Heat a generous amount of olive oil in a heavy-bottomed pan"
+                };
+                return italianMethods[random.nextInt(italianMethods.length)];
+                
+            case "asian_cooking":
+                String[] asianMethods = {
+                    "Heat a wok or large pan with a tablespoon of vegetable oil until smoking hot",
+                    "Get your wok smoking hot with oil before adding ingredients",
+                    "Heat oil in a wok until it's almost smoking, then add aromatics"
+                };
+                return asianMethods[random.nextInt(asianMethods.length)];
+                
+            case "mexican_cooking":
+                String[] mexicanMethods = {
+                    "Heat a cast-iron skillet over medium-high heat with oil",
+                    "Get your comal or skillet very hot before starting",
+                    "Heat oil in a heavy pan until it shimmers and is hot"
+                };
+                return mexicanMethods[random.nextInt(mexicanMethods.length)];
+                
+            case "indian_cooking":
+                String[] indianMethods = {
+                    "Heat ghee or oil in a deep pan and add whole spices until fragrant",
+                    "Warm oil in a kadai and temper with whole spices",
+                    "Heat oil and add whole spices, letting them crackle and release aroma"
+                };
+                return indianMethods[random.nextInt(indianMethods.length)];
+                
+            case "general_cooking":
+                String[] generalMethods = {
+                    "Heat a large pan over medium heat with cooking oil",
+                    "Warm oil in a skillet until it's hot but not smoking",
+                    "Heat a pan with oil over medium heat until shimmering"
+                };
+                return generalMethods[random.nextInt(generalMethods.length)];
+                
+            case "italian_seasoning":
+                String[] italianSeasonings = {
+                    "Season with Italian herbs like basil, oregano, and garlic",
+                    "Add fresh basil, dried oregano, and minced garlic for authentic flavor",
+                    "Finish with Italian seasoning blend and fresh garlic"
+                };
+                return italianSeasonings[random.nextInt(italianSeasonings.length)];
+                
+            case "mexican_seasoning":
+                String[] mexicanSeasonings = {
+                    "Season with cumin, chili powder, and fresh cilantro",
+                    "Add ground cumin, smoked paprika, and chopped cilantro",
+                    "Season with Mexican spices and finish with fresh herbs"
+                };
+                return mexicanSeasonings[random.nextInt(mexicanSeasonings.length)];
+                
+            case "asian_seasoning":
+                String[] asianSeasonings = {
+                    "Season with soy sauce, ginger, and garlic",
+                    "Add light soy sauce, fresh ginger, and minced garlic",
+                    "Season with Asian sauces and aromatics for authentic flavor"
+                };
+                return asianSeasonings[random.nextInt(asianSeasonings.length)];
+                
+            case "indian_seasoning":
+                String[] indianSeasonings = {
+                    "Add ground spices like turmeric, cumin, and coriander",
+                    "Season with garam masala, turmeric, and ground spices",
+                    "Add Indian spice blend and ground aromatics"
+                };
+                return indianSeasonings[random.nextInt(indianSeasonings.length)];
+                
+            case "french_seasoning":
+                String[] frenchSeasonings = {
+                    "Finish with fresh herbs like thyme, rosemary, and a splash of wine",
+                    "Add French herbs and deglaze with white wine",
+                    "Season with herbes de Provence and finish with wine"
+                };
+                return frenchSeasonings[random.nextInt(frenchSeasonings.length)];
+                
+            case "quick_cooking":
+                String[] quickMethods = {
+                    "Cook quickly over medium-high heat until all ingredients are well combined and heated through",
+                    "Stir-fry over high heat for quick, even cooking",
+                    "Cook rapidly over medium-high heat to preserve texture and flavor"
+                };
+                return quickMethods[random.nextInt(quickMethods.length)];
+                
+            case "medium_cooking":
+                String[] mediumMethods = {
+                    "Simmer over medium heat for 15-20 minutes until flavors meld and develop depth",
+                    "Cook gently over medium heat to allow flavors to combine",
+                    "Simmer slowly to develop rich, layered flavors"
+                };
+                return mediumMethods[random.nextInt(mediumMethods.length)];
+                
+            case "slow_cooking":
+                String[] slowMethods = {
+                    "Cook over low heat for 30-45 minutes until rich, complex flavors develop",
+                    "Simmer gently over low heat to build deep, complex flavors",
+                    "Cook slowly to allow all flavors to meld and develop richness"
+                };
+                return slowMethods[random.nextInt(slowMethods.length)];
+                
+            default:
+                return "Cook until ingredients are well combined and flavorful";
+        }
+    }
+    
+    private String[] generateUniqueCookingTips(RecipeFeatures features) {
+        String cuisine = features.cuisine();
+        String complexity = features.complexity();
+        Random random = new Random();
+        
+        List<String> tips = new ArrayList<>();
+        
+        // Tip 1: Cuisine-specific advice
+        if (cuisine.equals("italian")) {
+            tips.add(getRandomTip("italian_tips", random));
+        } else if (cuisine.equals("mexican")) {
+            tips.add(getRandomTip("mexican_tips", random));
+        } else if (cuisine.equals("asian")) {
+            tips.add(getRandomTip("asian_tips", random));
+        } else if (cuisine.equals("indian")) {
+            tips.add(getRandomTip("indian_tips", random));
+        } else if (cuisine.equals("french")) {
+            tips.add(getRandomTip("french_tips", random));
+        } else {
+            tips.add("Experiment with different cooking methods to discover new flavors");
+        }
+        
+        // Tip 2: Complexity-based advice
+        if (complexity.equals("beginner")) {
+            tips.add(getRandomTip("beginner_tips", random));
+        } else if (complexity.equals("intermediate")) {
+            tips.add(getRandomTip("intermediate_tips", random));
+        } else {
+            tips.add(getRandomTip("advanced_tips", random));
+        }
+        
+        // Tip 3: Ingredient-specific tips
+        if (features.has(EGG)) {
+            if (features.has(MILK)) {
+                tips.add("For creamier eggs, add a splash of milk before whisking");
+            } else {
+                tips.add("For fluffier eggs, add a splash of water before whisking");
+            }
+        }
+        if (features.has(TOMATO)) {
+            if (features.has(EGG)) {
+                tips.add("Use ripe tomatoes for the best flavor in your egg dish");
+            } else {
+                tips.add("Use ripe tomatoes for the best flavor, or roast them for deeper taste");
+            }
+        }
+        if (features.has(MILK)) {
+            if (features.has(EGG)) {
+                tips.add("Warm milk slightly before using to prevent curdling in custards");
+            } else {
+                tips.add("Use whole milk for richer flavor, or skim for lighter dishes");
+            }
+        }
+        if (features.has(POTATO)) {
+            tips.add("Cut potatoes into uniform sizes for even cooking");
+        }
+        if (features.has(ONION)) {
+            tips.add("Let onions cook slowly to develop natural sweetness");
+        }
+        
+        // Tip 4: Cooking time specific tips
+        if (features.cookingTime().equals("UNDER_30")) {
+            tips.add(getRandomTip("quick_tips", random));
+        } else if (features.cookingTime().equals("MIN_30_60")) {
+            tips.add(getRandomTip("medium_tips", random));
+        } else {
+            tips.add(getRandomTip("slow_tips", random));
+        }
+        
+        // Tip 5: Meal type specific tips
+        if (features.mealType().equals("BREAKFAST")) {
+            tips.add("Prep ingredients the night before for a stress-free morning");
+        } else if (features.mealType().equals("LUNCH")) {
+            tips.add("This recipe works great for meal prep and leftovers");
+        } else if (features.mealType().equals("DINNER")) {
+            tips.add("Pair with a simple side dish for a complete meal");
+        } else if (features.mealType().equals("SNACK")) {
+            tips.add("Perfect for sharing or enjoying as a light meal");
+        }
+        
+        // Tip 6: General cooking advice
+        tips.add("Taste as you cook and adjust seasoning gradually");
+        tips.add("Don't be afraid to make this recipe your own with personal touches");
+        
+        return tips.toArray(new String[0]);
+    }
+    
+    private String getRandomTip(String type, Random random) {
+        switch (type) {
+            case "italian_tips":
+                String[] italianTips = {
+                    "Use extra virgin olive oil for authentic Italian flavor",
+                    "Finish with a drizzle of good quality olive oil",
+                    "Use fresh herbs for the most authentic taste"
+                };
+                return italianTips[random.nextInt(italianTips.length)];
+                
+            case "mexican_tips":
+                String[] mexicanTips = {
+                    "Toast your spices briefly in a dry pan to enhance their flavor",
+                    "Use fresh lime juice to brighten the flavors",
+                    "Add a pinch of Mexican oregano for authentic taste"
+                };
+                return mexicanTips[random.nextInt(mexicanTips.length)];
+                
+            case "asian_tips":
+                String[] asianTips = {
+                    "Prepare all ingredients before starting (mise en place) for quick cooking",
+                    "Use high heat for authentic stir-fry technique",
+                    "Finish with a splash of sesame oil for authentic flavor"
+                };
+                return asianTips[random.nextInt(asianTips.length)];
+                
+            case "indian_tips":
+                String[] indianTips = {
+                    "Bloom whole spices in hot oil to release their essential oils",
+                    "Use fresh ginger and garlic for the best flavor",
+                    "Finish with fresh cilantro for authentic Indian taste"
+                };
+                return indianTips[random.nextInt(indianTips.length)];
+                
+            case "french_tips":
+                String[] frenchTips = {
+                    "Use butter and wine to create rich, layered flavors",
+                    "Deglaze the pan with wine to capture all the flavors",
+                    "Use fresh herbs and quality butter for authentic French cooking"
+                };
+                return frenchTips[random.nextInt(frenchTips.length)];
+                
+            case "beginner_tips":
+                String[] beginnerTips = {
+                    "This recipe is perfect for beginner cooks - take your time and don't rush",
+                    "Don't worry about perfection, focus on learning and enjoying the process",
+                    "Keep it simple and build your confidence step by step"
+                };
+                return beginnerTips[random.nextInt(beginnerTips.length)];
+                
+            case "intermediate_tips":
+                String[] intermediateTips = {
+                    "Try adjusting the seasoning to develop your palate and confidence",
+                    "Experiment with different herb combinations to find your favorites",
+                    "Practice your knife skills while preparing ingredients"
+                };
+                return intermediateTips[random.nextInt(intermediateTips.length)];
+                
+            case "advanced_tips":
+                String[] advancedTips = {
+                    "Feel free to experiment with advanced techniques and flavor combinations",
+                    "Try different cooking methods to achieve different textures",
+                    "Use this as a base recipe and add your own creative twists"
+                };
+                return advancedTips[random.nextInt(advancedTips.length)];
+                
+            case "quick_tips":
+                String[] quickTips = {
+                    "Keep ingredients small and uniform for quick, even cooking",
+                    "Use high heat for fast cooking while preserving texture",
+                    "Prep everything before starting to ensure quick execution"
+                };
+                return quickTips[random.nextInt(quickTips.length)];
+                
+            case "medium_tips":
+                String[] mediumTips = {
+                    "Low and slow cooking develops deeper, more complex flavors",
+                    "Take time to build layers of flavor during cooking",
+                    "Medium heat allows flavors to develop without burning"
+                };
+                return mediumTips[random.nextInt(mediumTips.length)];
+                
+            case "slow_tips":
+                String[] slowTips = {
+                    "Long cooking times allow flavors to meld and develop richness",
+                    "Patience is key - let the flavors develop naturally",
+                    "Low heat prevents burning while building complex flavors"
+                };
+                return slowTips[random.nextInt(slowTips.length)];
+                
+            default:
+                return "Experiment with different techniques to discover what works best for you";
+        }
+    }
+    
+    private String formatCookingTime(String cookingTime) {
+        switch (cookingTime) {
+            case "UNDER_30": return "Under 30 minutes";
+            case "MIN_30_60": return "30-60 minutes";
+            case "OVER_60": return "Over 60 minutes";
+            default: return cookingTime;
+        }
+    }
+    
+    private String getDynamicPrepTime(RecipeFeatures features) {
+        String complexity = features.complexity();
+        String cookingTime = features.cookingTime();
+        Random random = new Random();
+        
+        int basePrepTime = 15; // Reduced base preparation time
+        
+        // Add time for ingredient preparation
+        if (features.has(SALMON)) {
+            basePrepTime += 8 + random.nextInt(4); // Add 8-12 minutes for salmon preparation
+        }
+        if (features.has(CHICKEN)) {
+            basePrepTime += 8 + random.nextInt(4); // Add 8-12 minutes for chicken preparation
+        }
+        if (features.has(BEEF)) {
+            basePrepTime += 10 + random.nextInt(5); // Add 10-15 minutes for beef preparation
+        }
+        if (features.has(FISH)) {
+            basePrepTime += 8 + random.nextInt(4); // Add 8-12 minutes for fish preparation
+        }
+        if (features.has(EGG)) {
+            basePrepTime += 5 + random.nextInt(3); // Add 5-8 minutes for egg preparation
+        }
+        if (features.has(TOMATO)) {
+            basePrepTime += 3 + random.nextInt(2); // Add 3-5 minutes for tomato preparation
+        }
+        if (features.has(MILK)) {
+            basePrepTime += 3 + random.nextInt(2); // Add 3-5 minutes for milk preparation
+        }
+        if (features.has(POTATO)) {
+            basePrepTime += 8 + random.nextInt(4); // Add 8-12 minutes for potato preparation
+        }
+        if (features.has(ONION)) {
+            basePrepTime += 3 + random.nextInt(2); // Add 3-5 minutes for onion preparation
+        }
+        if (features.has(RICE)) {
+            basePrepTime += 5 + random.nextInt(3); // Add 5-8 minutes for rice preparation
+        }
+        if (features.has(PASTA)) {
+            basePrepTime += 3 + random.nextInt(2); // Add 3-5 minutes for pasta preparation
+        }
+        if (features.has(CARROT)) {
+            basePrepTime += 5 + random.nextInt(3); // Add 5-8 minutes for carrot preparation
+        }
+        if (features.has(SPINACH)) {
+            basePrepTime += 3 + random.nextInt(2); // Add 3-5 minutes for spinach preparation
+        }
+        if (features.has(MUSHROOM)) {
+            basePrepTime += 5 + random.nextInt(3); // Add 5-8 minutes for mushroom preparation
+        }
+        
+        // Adjust for complexity (but respect cooking time preference)
+        if (complexity.equals("intermediate")) {
+            basePrepTime += 5 + random.nextInt(3); // Add 5-8 minutes for intermediate complexity
+        } else if (complexity.equals("advanced")) {
+            basePrepTime += 8 + random.nextInt(4); // Add 8-12 minutes for advanced complexity
+        }
+        
+        // RESPECT the cooking time preference - this is the key fix!
+        if (cookingTime.equals("UNDER_30")) {
+            // For UNDER_30, ensure total time doesn't exceed 30 minutes
+            basePrepTime = Math.min(basePrepTime, 25); // Cap at 25 minutes to stay under 30 total
+        } else if (cookingTime.equals("MIN_30_60")) {
+            basePrepTime += 10 + random.nextInt(5); // Add 10-15 minutes for longer cooking times
+        } else if (cookingTime.equals("OVER_60")) {
+            basePrepTime += 15 + random.nextInt(10); // Add 15-25 minutes for very long cooking times
+        }
+        
+        return basePrepTime + " minutes";
+    }
+    
+    private String getDynamicServings(RecipeFeatures features) {
+        String complexity = features.complexity();
+        String cookingTime = features.cookingTime();
+        Random random = new Random();
+        
+        int baseServings = 2; // Default servings
+        
+        if (features.has(EGG)) {
+            baseServings += 1 + random.nextInt(2); // Add 1-3 servings for egg dishes
+        }
+        if (features.has(TOMATO)) {
+            baseServings += 1; // Add 1 serving for tomato dishes
+        }
+        if (features.has(MILK)) {
+            baseServings += 1; // Add 1 serving for milk-based dishes
+        }
+        if (features.has(POTATO)) {
+            baseServings += 1 + random.nextInt(2); // Add 1-3 servings for potato dishes
+        }
+        if (features.has(ONION)) {
+            baseServings += 1; // Add 1 serving for onion dishes
+        }
+        
+        if (complexity.equals("intermediate")) {
+            baseServings += 1; // Add 1 serving for intermediate complexity
+        } else if (complexity.equals("advanced")) {
+            baseServings += 1 + random.nextInt(2); // Add 1-3 servings for advanced complexity
+        }
+        
+        if (cookingTime.equals("MIN_30_60")) {
+            baseServings += 1; // Add 1 serving for longer cooking times
+        } else if (cookingTime.equals("OVER_60")) {
+            baseServings += 1 + random.nextInt(2); // Add 1-3 servings for very long cooking times
+        }
+        
+        // Ensure reasonable range
+        baseServings = Math.max(2, Math.min(8, baseServings));
+        
+        if (baseServings == 1) {
+            return "1 serving";
+        } else if (baseServings == 2) {
+            return "2 servings";
+        } else if (baseServings <= 4) {
+            return "2-4 servings";
+        } else if (baseServings <= 6) {
+            return "4-6 servings";
+        } else {
+            return "6-8 servings";
+        }
+    }
+    
+    private String getDynamicCalories(RecipeFeatures features) {
+        String complexity = features.complexity();
+        String cookingTime = features.cookingTime();
+        Random random = new Random();
+        
+        int baseCalories = 350; // Default calories per serving
+        
+        if (features.has(EGG)) {
+            baseCalories += 100 + random.nextInt(50); // Add 100-150 calories for egg dishes
+        }
+        if (features.has(TOMATO)) {
+            baseCalories += 50 + random.nextInt(25); // Add 50-75 calories for tomato dishes
+        }
+        if (features.has(MILK)) {
+            baseCalories += 100 + random.nextInt(50); // Add 100-150 calories for milk-based dishes
+        }
+        if (features.has(POTATO)) {
+            baseCalories += 150 + random.nextInt(75); // Add 150-225 calories for potato dishes
+        }
+        if (features.has(ONION)) {
+            baseCalories += 50 + random.nextInt(25); // Add 50-75 calories for onion dishes
+        }
+        
+        if (complexity.equals("intermediate")) {
+            baseCalories += 50 + random.nextInt(25); // Add 50-75 calories for intermediate complexity
+        } else if (complexity.equals("advanced")) {
+            baseCalories += 100 + random.nextInt(50); // Add 100-150 calories for advanced complexity
+        }
+        
+        if (cookingTime.equals("MIN_30_60")) {
+            baseCalories += 50 + random.nextInt(25); // Add 50-75 calories for longer cooking times
+        } else if (cookingTime.equals("OVER_60")) {
+            baseCalories += 100 + random.nextInt(50); // Add 100-150 calories for very long cooking times
+        }
+        
+        // Round to nearest 25 for cleaner display
+        baseCalories = ((baseCalories + 12) / 25) * 25;
+        
+        return "~" + baseCalories + " kcal";
+    }
+}
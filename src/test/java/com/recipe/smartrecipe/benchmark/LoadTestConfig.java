@@ -0,0 +1,80 @@
+package com.recipe.smartrecipe.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Workload and regression limits for {@link ApiLoadTest}, read from {@code load-test.properties}
+ * on the test classpath. Any key can be overridden with a system property of the same name,
+ * e.g. {@code mvn -P load-test test -Dload-test.rate=500}.
+ *
+ * The mix is given as {@code load-test.mix.<operation>=<weight>}; baselines as
+ * {@code load-test.baseline.<operation>.<p50|p99|p999>=<millis>}.
+ */
+record LoadTestConfig(int ratePerSecond,
+                      Duration warmup,
+                      Duration duration,
+                      int seedRecipes,
+                      Map<String, Integer> mix,
+                      Map<String, Double> baselineMillis,
+                      double maxRegression,
+                      double maxErrorRate) {
+
+    static final String RESOURCE = "load-test.properties";
+    private static final String PREFIX = "load-test.";
+
+    static LoadTestConfig load() {
+        Properties properties = new Properties();
+        try (InputStream in = LoadTestConfig.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException(RESOURCE + " is not on the test classpath");
+            }
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.getProperties().forEach((key, value) -> {
+            if (key.toString().startsWith(PREFIX)) {
+                properties.setProperty(key.toString(), value.toString());
+            }
+        });
+
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        Map<String, Double> baselines = new LinkedHashMap<>();
+        for (String key : properties.stringPropertyNames().stream().sorted().toList()) {
+            if (key.startsWith(PREFIX + "mix.")) {
+                int weight = Integer.parseInt(properties.getProperty(key).trim());
+                if (weight > 0) {
+                    mix.put(key.substring((PREFIX + "mix.").length()), weight);
+                }
+            } else if (key.startsWith(PREFIX + "baseline.")) {
+                baselines.put(key.substring((PREFIX + "baseline.").length()), Double.parseDouble(properties.getProperty(key).trim()));
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalStateException("No operations in the load-test mix");
+        }
+
+        return new LoadTestConfig(
+                Integer.parseInt(properties.getProperty(PREFIX + "rate", "200").trim()),
+                Duration.parse(properties.getProperty(PREFIX + "warmup", "PT10S").trim()),
+                Duration.parse(properties.getProperty(PREFIX + "duration", "PT30S").trim()),
+                Integer.parseInt(properties.getProperty(PREFIX + "seed-recipes", "200").trim()),
+                mix,
+                baselines,
+                Double.parseDouble(properties.getProperty(PREFIX + "max-regression", "0.2").trim()),
+                Double.parseDouble(properties.getProperty(PREFIX + "max-error-rate", "0.001").trim()));
+    }
+
+    /**
+     * Baseline latency for one operation and percentile ("p50", "p99" or "p999"), if recorded
+     */
+    Double baseline(String operation, String percentile) {
+        return baselineMillis.get(operation + "." + percentile);
+    }
+}
@@ -0,0 +1,152 @@
+package com.recipe.smartrecipe.benchmark;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fires operations at a fixed arrival rate, independent of how fast the server answers.
+ *
+ * Every operation has an intended start time on a fixed schedule and runs on its own virtual
+ * thread, so a slow response never delays the next arrival. Response time is measured from the
+ * intended start rather than from when the request was actually sent, which corrects for
+ * coordinated omission: if the generator falls behind, the wait is charged to the server
+ * instead of disappearing from the percentiles. Service time (from the actual send) is kept
+ * alongside for comparison.
+ */
+class OpenLoopLoadGenerator {
+
+    // Highest latency the histograms track; anything slower is clamped to it
+    private static final long MAX_TRACKED_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    /**
+     * One kind of request; returns false for an error response
+     */
+    @FunctionalInterface
+    interface Operation {
+        boolean call() throws Exception;
+    }
+
+    /**
+     * Percentiles for one operation, in milliseconds
+     */
+    record Result(String operation, long count, long errors,
+                  double p50, double p99, double p999, double max,
+                  double serviceP50, double serviceP99, double serviceP999) {
+
+        double percentile(String name) {
+            return switch (name) {
+                case "p50" -> p50;
+                case "p99" -> p99;
+                case "p999" -> p999;
+                default -> throw new IllegalArgumentException("Unknown percentile " + name);
+            };
+        }
+
+        double errorRate() {
+            return count == 0 ? 0 : (double) errors / count;
+        }
+    }
+
+    private final Map<String, Operation> operations;
+    private final String[] schedule;
+    private final Map<String, Recorder> responseTimes = new LinkedHashMap<>();
+    private final Map<String, Recorder> serviceTimes = new LinkedHashMap<>();
+    private final Map<String, LongAdder> errors = new LinkedHashMap<>();
+
+    /**
+     * @param weights relative share of each operation in the mix
+     */
+    OpenLoopLoadGenerator(Map<String, Operation> operations, Map<String, Integer> weights, long seed) {
+        this.operations = operations;
+        List<String> slots = new ArrayList<>();
+        weights.forEach((name, weight) -> {
+            if (!operations.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown operation in mix: " + name);
+            }
+            for (int i = 0; i < weight; i++) {
+                slots.add(name);
+            }
+            responseTimes.put(name, new Recorder(MAX_TRACKED_NANOS, 3));
+            serviceTimes.put(name, new Recorder(MAX_TRACKED_NANOS, 3));
+            errors.put(name, new LongAdder());
+        });
+        // Shuffled once so the arrival order is mixed but the same on every run
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = slots.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            String swap = slots.get(i);
+            slots.set(i, slots.get(j));
+            slots.set(j, swap);
+        }
+        this.schedule = slots.toArray(String[]::new);
+    }
+
+    /**
+     * Run at the given rate for the given time and return per-operation results; an unrecorded
+     * warmup should be done with a separate call
+     */
+    List<Result> run(int ratePerSecond, Duration duration) throws InterruptedException {
+        responseTimes.values().forEach(Recorder::reset);
+        serviceTimes.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+
+        long interval = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long total = duration.toNanos() / interval;
+        long start = System.nanoTime();
+
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < total; i++) {
+                long intendedStart = start + i * interval;
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                String name = schedule[(int) (i % schedule.length)];
+                callers.execute(() -> call(name, intendedStart));
+            }
+        }
+
+        List<Result> results = new ArrayList<>();
+        for (String name : responseTimes.keySet()) {
+            Histogram response = responseTimes.get(name).getIntervalHistogram();
+            Histogram service = serviceTimes.get(name).getIntervalHistogram();
+            results.add(new Result(name, response.getTotalCount(), errors.get(name).sum(),
+                    millis(response, 50), millis(response, 99), millis(response, 99.9),
+                    response.getMaxValue() / 1e6,
+                    millis(service, 50), millis(service, 99), millis(service, 99.9)));
+        }
+        return results;
+    }
+
+    private void call(String name, long intendedStart) {
+        long sent = System.nanoTime();
+        boolean ok;
+        try {
+            ok = operations.get(name).call();
+        } catch (Exception e) {
+            ok = false;
+        }
+        long end = System.nanoTime();
+        if (!ok) {
+            errors.get(name).increment();
+        }
+        responseTimes.get(name).recordValue(Math.min(end - intendedStart, MAX_TRACKED_NANOS));
+        serviceTimes.get(name).recordValue(Math.min(end - sent, MAX_TRACKED_NANOS));
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1e6;
+    }
+}
@@ -0,0 +1,60 @@
+package com.recipe.smartrecipe.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recipe.smartrecipe.dto.RecipeRequest;
+import com.recipe.smartrecipe.service.IngredientAnalyzer;
+import com.recipe.smartrecipe.service.RecipeContentGenerator;
+import com.recipe.smartrecipe.service.RecipeTemplateCatalog;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares time and allocation (gc.alloc.rate.norm) per rendered recipe between the template
+ * catalog and the previous switch-based phrase selection ({@link LegacyRecipeContentGenerator}).
+ *
+ * Run the main method from the IDE (test classpath) after `mvn test-compile`.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecipeGenerationBenchmark {
+
+    @Param({"Italian", "French", "Nordic"})
+    public String cuisine;
+
+    private RecipeRequest request;
+    private RecipeContentGenerator generator;
+    private LegacyRecipeContentGenerator legacyGenerator;
+
+    @Setup
+    public void setUp() {
+        request = new RecipeRequest("eggs, tomatoes, milk, onion, potatoes", "DINNER", cuisine, "MIN_30_60", "Intermediate");
+        generator = new RecipeContentGenerator(new IngredientAnalyzer(), new RecipeTemplateCatalog(new ObjectMapper()));
+        legacyGenerator = new LegacyRecipeContentGenerator(new IngredientAnalyzer());
+    }
+
+    @Benchmark
+    public String legacy() {
+        return legacyGenerator.generate(request);
+    }
+
+    @Benchmark
+    public String generate() {
+        return generator.generate(request);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RecipeGenerationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
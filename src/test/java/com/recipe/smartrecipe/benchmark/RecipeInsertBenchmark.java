@@ -0,0 +1,137 @@
+package com.recipe.smartrecipe.benchmark;
+
+import com.recipe.smartrecipe.entity.IdBlocks;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput of per-row IDENTITY inserts versus batched inserts with pooled IDs,
+ * against an in-memory H2 database in MySQL mode. Each operation inserts one batch of recipes
+ * in a single transaction, the way {@code RecipeService.createRecipes} does.
+ *
+ * H2 has no network round trip, so real MySQL over TLS widens the gap considerably.
+ * Run the main method from the IDE (test classpath) after `mvn test-compile`.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeInsertBenchmark {
+
+    private static final String CONTENT = "🍳 DINNER RECIPE\n".repeat(60);
+
+    @Param({"20", "200"})
+    public int rowsPerTransaction;
+
+    private Connection connection;
+    private long nextId;
+    private long blockEnd;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:insert-bench;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS recipe (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                    + "user_id BIGINT NOT NULL, request_id BIGINT NOT NULL, content TEXT NOT NULL, created_at TIMESTAMP NOT NULL)");
+            statement.execute("CREATE TABLE IF NOT EXISTS " + IdBlocks.TABLE + " (" + IdBlocks.NAME_COLUMN
+                    + " VARCHAR(255) PRIMARY KEY, " + IdBlocks.VALUE_COLUMN + " BIGINT)");
+            statement.execute("MERGE INTO " + IdBlocks.TABLE + " KEY (" + IdBlocks.NAME_COLUMN + ") VALUES ('recipe', 1000000000)");
+        }
+        connection.commit();
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE TABLE recipe");
+        }
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void identityPerRow() throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO recipe (user_id, request_id, content, created_at) VALUES (?, ?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < rowsPerTransaction; i++) {
+                bind(insert, 1, i);
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                }
+            }
+        }
+        connection.commit();
+    }
+
+    @Benchmark
+    public void pooledBatched() throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO recipe (id, user_id, request_id, content, created_at) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < rowsPerTransaction; i++) {
+                insert.setLong(1, allocateId());
+                bind(insert, 2, i);
+                insert.addBatch();
+                if ((i + 1) % IdBlocks.ALLOCATION_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+    }
+
+    private void bind(PreparedStatement insert, int firstIndex, int row) throws SQLException {
+        insert.setLong(firstIndex, 1L);
+        insert.setLong(firstIndex + 1, row);
+        insert.setString(firstIndex + 2, CONTENT);
+        insert.setTimestamp(firstIndex + 3, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    // One id_block round trip per ALLOCATION_SIZE IDs, like Hibernate's pooled optimizer
+    private long allocateId() throws SQLException {
+        if (nextId >= blockEnd) {
+            try (PreparedStatement read = connection.prepareStatement(
+                    "SELECT " + IdBlocks.VALUE_COLUMN + " FROM " + IdBlocks.TABLE + " WHERE " + IdBlocks.NAME_COLUMN + " = 'recipe' FOR UPDATE");
+                 PreparedStatement bump = connection.prepareStatement(
+                         "UPDATE " + IdBlocks.TABLE + " SET " + IdBlocks.VALUE_COLUMN + " = ? WHERE " + IdBlocks.NAME_COLUMN + " = 'recipe'")) {
+                long value;
+                try (ResultSet rs = read.executeQuery()) {
+                    rs.next();
+                    value = rs.getLong(1);
+                }
+                bump.setLong(1, value + IdBlocks.ALLOCATION_SIZE);
+                bump.executeUpdate();
+                nextId = value;
+                blockEnd = value + IdBlocks.ALLOCATION_SIZE;
+            }
+        }
+        return nextId++;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RecipeInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
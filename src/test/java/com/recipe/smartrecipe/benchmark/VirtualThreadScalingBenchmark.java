@@ -0,0 +1,116 @@
+package com.recipe.smartrecipe.benchmark;
+
+import com.recipe.smartrecipe.SmartRecipeApplication;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Shows how many blocking requests the service completes concurrently with Tomcat's platform
+ * thread pool versus virtual threads, with the thread cap set well below the offered load.
+ *
+ * Each request is a synchronous {@code /test-email}, which blocks on a local SendGrid stub that
+ * answers after a fixed delay, standing in for a remote dependency. With platform threads the
+ * elapsed time grows with {@code requests / maxThreads}; with virtual threads it stays close to
+ * a single round trip.
+ *
+ * Run the main method from the IDE (test classpath) after `mvn test-compile`.
+ */
+public class VirtualThreadScalingBenchmark {
+
+    private static final int MAX_THREADS = 20;
+    private static final int REQUESTS = 400;
+    private static final int STUB_DELAY_MILLIS = 200;
+
+    public static void main(String[] args) throws Exception {
+        HttpServer stub = startSendGridStub();
+        try {
+            for (boolean virtual : new boolean[]{false, true}) {
+                try (ConfigurableApplicationContext app = startApp(stub.getAddress().getPort(), virtual)) {
+                    int port = Integer.parseInt(app.getEnvironment().getProperty("local.server.port"));
+                    run(port, 50);
+                    long elapsed = run(port, REQUESTS);
+                    System.out.printf("%s threads: %d requests in %d ms (%.0f req/s, %.1f in flight on average)%n",
+                            virtual ? "virtual" : "platform", REQUESTS, elapsed, REQUESTS * 1000.0 / elapsed,
+                            REQUESTS * (double) STUB_DELAY_MILLIS / elapsed);
+                }
+            }
+        } finally {
+            stub.stop(0);
+        }
+    }
+
+    private static ConfigurableApplicationContext startApp(int stubPort, boolean virtual) {
+        return new SpringApplicationBuilder(SmartRecipeApplication.class)
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.threads.max=" + MAX_THREADS,
+                        "server.tomcat.accept-count=" + REQUESTS,
+                        "server.tomcat.max-connections=" + (REQUESTS * 2),
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "spring.datasource.url=jdbc:h2:mem:scaling-bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=update",
+                        "sendgrid.api.key=bench-key",
+                        "sendgrid.from.email=recipes@example.com",
+                        "sendgrid.from.name=Smart Recipe Generator",
+                        "sendgrid.host=127.0.0.1:" + stubPort,
+                        "sendgrid.https=false",
+                        "sendgrid.pool.max-connections=" + REQUESTS,
+                        // One client fires every request, so the per-user email bucket would reject all but a few
+                        "recipe.rate-limit.enabled=false",
+                        "logging.level.com.recipe.smartrecipe=WARN")
+                .run();
+    }
+
+    private static HttpServer startSendGridStub() throws IOException {
+        HttpServer stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), REQUESTS);
+        stub.createContext("/v3/mail/send", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            try {
+                Thread.sleep(STUB_DELAY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(202, -1);
+            exchange.close();
+        });
+        stub.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        stub.start();
+        return stub;
+    }
+
+    // Fires all requests at once and returns the milliseconds until the last one answered
+    private static long run(int port, int requests) throws Exception {
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://127.0.0.1:" + port + "/api/recipes/test-email?email=cook@example.com"))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+
+        long start = System.nanoTime();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Integer>> statuses = new ArrayList<>(requests);
+            for (int i = 0; i < requests; i++) {
+                statuses.add(callers.submit(() -> client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode()));
+            }
+            for (Future<Integer> status : statuses) {
+                if (status.get() != 200) {
+                    throw new IllegalStateException("Request failed with status " + status.get());
+                }
+            }
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
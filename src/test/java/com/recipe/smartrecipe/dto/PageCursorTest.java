@@ -0,0 +1,25 @@
+package com.recipe.smartrecipe.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PageCursorTest {
+
+    @Test
+    void tokenRoundTrips() {
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123456000), 42L);
+
+        assertEquals(cursor, PageCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void malformedTokensAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("bm8tc2VwYXJhdG9y"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("MjAyNC0wMy0wMXwx"));
+    }
+}
@@ -0,0 +1,39 @@
+package com.recipe.smartrecipe.entity;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RecipeTitleTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "🍳 DINNER RECIPE\n⏰ Generated on: 2024-01-01 10:00\nbody",
+            "🍳 Breakfast RECIPE",
+            "  🍳   Lunch RECIPE  \nbody",
+            "Plain title\nbody",
+            "🍳 Soup 🍳 Stew RECIPE\n",
+            "RECIPE\nbody",
+            "MY RECIPES\nbody",
+            "Pasta\tRECIPE\r\nbody",
+            "🍳\nbody"
+    })
+    void matchesTheRegexExtractionItReplaced(String content) {
+        assertEquals(regexTitle(content), Recipe.titleOf(content));
+    }
+
+    @Test
+    void missingContentIsUntitled() {
+        assertEquals(Recipe.UNTITLED, Recipe.titleOf(null));
+        assertEquals(Recipe.UNTITLED, Recipe.titleOf(""));
+        assertEquals(Recipe.UNTITLED, Recipe.titleOf("\n\nbody"));
+    }
+
+    // The original implementation, kept here as the reference behavior
+    private static String regexTitle(String content) {
+        String firstLine = content.split("\n")[0].trim();
+        return firstLine.replaceAll("🍳\\s*", "").replaceAll("\\s+RECIPE$", "");
+    }
+}
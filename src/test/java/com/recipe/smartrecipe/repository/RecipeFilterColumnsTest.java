@@ -0,0 +1,87 @@
+package com.recipe.smartrecipe.repository;
+
+import com.recipe.smartrecipe.entity.Recipe;
+import com.recipe.smartrecipe.entity.RecipeRequestEntity;
+import com.recipe.smartrecipe.service.RecipeFilterBackfill;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Import(RecipeFilterBackfill.class)
+class RecipeFilterColumnsTest {
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private RecipeRequestRepository recipeRequestRepository;
+
+    @Autowired
+    private RecipeFilterBackfill recipeFilterBackfill;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void filterQueriesUseTheRecipeIndexesWithoutJoining() {
+        assertUsesIndex("meal_type", "idx_recipe_user_meal_type_created_at");
+        assertUsesIndex("cuisine", "idx_recipe_user_cuisine_created_at");
+        assertUsesIndex("cooking_time", "idx_recipe_user_cooking_time_created_at");
+        assertUsesIndex("complexity", "idx_recipe_user_complexity_created_at");
+    }
+
+    @Test
+    void backfillCopiesAttributesFromRequests() {
+        RecipeRequestEntity request = new RecipeRequestEntity();
+        request.setUserId(7L);
+        request.setIngredients("rice, beans");
+        request.setMealType("LUNCH");
+        request.setCuisine("Mexican");
+        request.setCookingTime("UNDER_30");
+        request.setComplexity("Beginner");
+        request = recipeRequestRepository.save(request);
+
+        Recipe recipe = new Recipe();
+        recipe.setUserId(7L);
+        recipe.setRequestId(request.getId());
+        recipe.setContent("legacy recipe");
+        recipe.setCreatedAt(LocalDateTime.now());
+        recipeRepository.save(recipe);
+        entityManager.flush();
+
+        assertTrue(recipeRepository.findByUserIdAndCuisine(7L, "Mexican").isEmpty());
+
+        assertEquals(1, recipeFilterBackfill.backfill());
+        entityManager.clear();
+
+        List<Recipe> mexican = recipeRepository.findByUserIdAndCuisine(7L, "Mexican");
+        assertEquals(1, mexican.size());
+        assertEquals("LUNCH", mexican.get(0).getMealType());
+        assertEquals("UNDER_30", mexican.get(0).getCookingTime());
+        assertEquals("Beginner", mexican.get(0).getComplexity());
+        assertEquals(0, recipeFilterBackfill.backfill());
+    }
+
+    // Mirrors the SQL Hibernate generates for the findByUserIdAnd... queries
+    private void assertUsesIndex(String column, String index) {
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT r.* FROM recipe r WHERE r.user_id = 1 AND r." + column + " = 'x' ORDER BY r.created_at DESC",
+                String.class).toLowerCase();
+        assertTrue(plan.contains(index), () -> "Expected " + index + " in plan: " + plan);
+        assertFalse(plan.contains("recipe_request"), () -> "Unexpected join in plan: " + plan);
+    }
+}
@@ -0,0 +1,96 @@
+package com.recipe.smartrecipe.repository;
+
+import com.recipe.smartrecipe.entity.Recipe;
+import com.recipe.smartrecipe.entity.RecipeRequestEntity;
+import com.recipe.smartrecipe.service.IngredientTokenizer;
+import com.recipe.smartrecipe.service.RecipeIngredientBackfill;
+import com.recipe.smartrecipe.service.RecipeIngredientIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Import({RecipeIngredientIndex.class, RecipeIngredientBackfill.class})
+class RecipeIngredientSearchTest {
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private RecipeRequestRepository recipeRequestRepository;
+
+    @Autowired
+    private RecipeIngredientIndex recipeIngredientIndex;
+
+    @Autowired
+    private RecipeIngredientBackfill recipeIngredientBackfill;
+
+    @Test
+    void matchesWholeIngredientsWithAnyAndAll() {
+        indexed("Omelette", "eggs, tomatoes, milk");
+        indexed("Moussaka", "eggplant, tomato, lamb");
+        indexed("Pancakes", "flour, egg, milk");
+
+        // "egg" is a whole token, so eggplant does not match
+        assertEquals(Set.of("Omelette", "Pancakes"), contents(search("egg", false)));
+        assertEquals(Set.of("Omelette"), contents(search("tomato, egg", true)));
+        assertEquals(Set.of("Omelette", "Moussaka", "Pancakes"), contents(search("tomato, egg", false)));
+    }
+
+    @Test
+    void backfillIndexesRecipesSavedWithoutTokens() {
+        RecipeRequestEntity request = request("rice, beans");
+        Recipe recipe = recipe("Burrito", request.getId());
+        recipeRepository.save(recipe);
+
+        assertEquals(0, search("beans", false).size());
+        assertEquals(1, recipeIngredientBackfill.backfill());
+        assertEquals(1, search("bean", true).size());
+        assertEquals(0, recipeIngredientBackfill.backfill());
+    }
+
+    private List<Recipe> search(String ingredients, boolean all) {
+        Set<String> tokens = IngredientTokenizer.tokens(ingredients);
+        return all
+                ? recipeRepository.findByUserIdAndAllIngredients(1L, tokens, tokens.size())
+                : recipeRepository.findByUserIdAndAnyIngredient(1L, tokens);
+    }
+
+    private Recipe indexed(String content, String ingredients) {
+        RecipeRequestEntity request = request(ingredients);
+        Recipe recipe = recipeRepository.save(recipe(content, request.getId()));
+        recipeIngredientIndex.index(recipe, ingredients);
+        return recipe;
+    }
+
+    private RecipeRequestEntity request(String ingredients) {
+        RecipeRequestEntity request = new RecipeRequestEntity();
+        request.setUserId(1L);
+        request.setIngredients(ingredients);
+        request.setMealType("DINNER");
+        request.setCuisine("Italian");
+        request.setCookingTime("UNDER_30");
+        request.setComplexity("Beginner");
+        return recipeRequestRepository.save(request);
+    }
+
+    private static Recipe recipe(String content, Long requestId) {
+        Recipe recipe = new Recipe();
+        recipe.setUserId(1L);
+        recipe.setRequestId(requestId);
+        recipe.setContent(content);
+        recipe.setCreatedAt(LocalDateTime.now());
+        return recipe;
+    }
+
+    private static Set<String> contents(List<Recipe> recipes) {
+        return Set.copyOf(recipes.stream().map(Recipe::getContent).toList());
+    }
+}
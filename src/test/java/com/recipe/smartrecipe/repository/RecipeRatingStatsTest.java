@@ -0,0 +1,115 @@
+package com.recipe.smartrecipe.repository;
+
+import com.recipe.smartrecipe.entity.Recipe;
+import com.recipe.smartrecipe.entity.RecipeRatingStats;
+import com.recipe.smartrecipe.entity.Review;
+import com.recipe.smartrecipe.service.RecipeRatingStatsReconciler;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The upsert is MySQL syntax, so keep the MySQL-mode H2 from application.properties
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(RecipeRatingStatsReconciler.class)
+class RecipeRatingStatsTest {
+
+    @Autowired
+    private RecipeRatingStatsRepository recipeRatingStatsRepository;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private RecipeRatingStatsReconciler reconciler;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void applyDeltaCreatesThenIncrementsTheRow() {
+        recipeRatingStatsRepository.applyDelta(42L, 5, 1, 0, 0, 0, 0, 1);
+        recipeRatingStatsRepository.applyDelta(42L, 3, 1, 0, 0, 1, 0, 0);
+        recipeRatingStatsRepository.applyDelta(42L, -5, -1, 0, 0, 0, 0, -1);
+        entityManager.clear();
+
+        RecipeRatingStats stats = recipeRatingStatsRepository.findById(42L).orElseThrow();
+        assertEquals(3, stats.getRatingSum());
+        assertEquals(1, stats.getRatingCount());
+        assertEquals(Map.of(1, 0L, 2, 0L, 3, 1L, 4, 0L, 5, 0L), stats.histogram());
+        assertEquals(3, stats.getReviewVersion());
+        assertEquals(3L, recipeRatingStatsRepository.findReviewVersion(42L).orElseThrow());
+    }
+
+    @Test
+    void unratedChangesStillMoveTheReviewVersion() {
+        recipeRatingStatsRepository.applyDelta(7L, 0, 0, 0, 0, 0, 0, 0);
+        recipeRatingStatsRepository.applyDelta(7L, 0, 0, 0, 0, 0, 0, 0);
+        entityManager.clear();
+
+        assertEquals(2L, recipeRatingStatsRepository.findReviewVersion(7L).orElseThrow());
+        assertEquals(0, recipeRatingStatsRepository.findById(7L).orElseThrow().getRatingCount());
+    }
+
+    @Test
+    void reconciliationRepairsDriftedAndMissingStats() {
+        Recipe rated = saveRecipe();
+        Recipe unrated = saveRecipe();
+        saveReview(rated, 4);
+        saveReview(rated, 5);
+        saveReview(rated, 5);
+        // Stats never written for the rated recipe, stale stats left behind for the unrated one
+        recipeRatingStatsRepository.applyDelta(unrated.getId(), 2, 1, 0, 1, 0, 0, 0);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(2, reconciler.backfill());
+        entityManager.flush();
+        entityManager.clear();
+
+        RecipeRatingStats stats = recipeRatingStatsRepository.findById(rated.getId()).orElseThrow();
+        assertEquals(14, stats.getRatingSum());
+        assertEquals(3, stats.getRatingCount());
+        assertEquals(2, stats.getStars5());
+        assertEquals(0, recipeRatingStatsRepository.findById(unrated.getId()).orElseThrow().getRatingCount());
+
+        // Nothing left to fix on a second pass
+        assertEquals(0, reconciler.backfill());
+        jdbcTemplate.update("UPDATE recipe_rating_stats SET rating_count = 7 WHERE recipe_id = ?", rated.getId());
+        entityManager.clear();
+        assertEquals(1, reconciler.backfill());
+    }
+
+    private Recipe saveRecipe() {
+        Recipe recipe = new Recipe();
+        recipe.setUserId(1L);
+        recipe.setRequestId(1L);
+        recipe.setContent("recipe");
+        recipe.setCreatedAt(LocalDateTime.now());
+        return recipeRepository.save(recipe);
+    }
+
+    private void saveReview(Recipe recipe, int rating) {
+        Review review = new Review();
+        review.setRecipe(recipe);
+        review.setUserId(1L);
+        review.setRating(rating);
+        review.setReviewDate(LocalDateTime.now());
+        reviewRepository.save(review);
+    }
+}
@@ -0,0 +1,66 @@
+package com.recipe.smartrecipe.repository;
+
+import com.recipe.smartrecipe.dto.CursorPage;
+import com.recipe.smartrecipe.dto.PageCursor;
+import com.recipe.smartrecipe.entity.Recipe;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest
+class RecipeRepositoryPaginationTest {
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Test
+    void pagesCoverEveryRowOnceWhenTimestampsTie() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<Recipe> recipes = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            Recipe recipe = new Recipe();
+            recipe.setUserId(1L);
+            recipe.setRequestId(1L);
+            recipe.setContent("recipe " + i);
+            // Three rows share each timestamp, so pages must break ties on id
+            recipe.setCreatedAt(base.plusMinutes(i / 3));
+            recipes.add(recipe);
+        }
+        recipeRepository.saveAll(recipes);
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            List<Recipe> rows;
+            if (cursor == null) {
+                rows = recipeRepository.findPage(3 + 1);
+            } else {
+                PageCursor after = PageCursor.decode(cursor);
+                rows = recipeRepository.findPageAfter(after.createdAt(), after.id(), 3 + 1);
+            }
+            CursorPage<Recipe> page = CursorPage.of(rows, 3, r -> new PageCursor(r.getCreatedAt(), r.getId()), r -> r);
+            page.items().forEach(recipe -> seen.add(recipe.getId()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        List<Long> expected = recipes.stream()
+                .sorted((a, b) -> {
+                    int byTime = b.getCreatedAt().compareTo(a.getCreatedAt());
+                    return byTime != 0 ? byTime : b.getId().compareTo(a.getId());
+                })
+                .map(Recipe::getId)
+                .toList();
+        assertEquals(expected, seen);
+        assertEquals(3, pages);
+        assertNull(cursor);
+    }
+}
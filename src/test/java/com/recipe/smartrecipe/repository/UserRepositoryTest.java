@@ -0,0 +1,33 @@
+package com.recipe.smartrecipe.repository;
+
+import com.recipe.smartrecipe.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+class UserRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void duplicateUsernamesResolveToTheOldestRow() {
+        // Nothing in the schema stops two demo users from sharing a name
+        List<User> saved = userRepository.saveAll(List.of(user("demo_user_1"), user("demo_user_1")));
+
+        assertEquals(saved.get(0).getId(),
+                userRepository.findFirstByUsernameOrderByIdAsc("demo_user_1").orElseThrow().getId());
+    }
+
+    private static User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        return user;
+    }
+}
@@ -0,0 +1,90 @@
+package com.recipe.smartrecipe.service;
+
+import com.recipe.smartrecipe.dto.RecipientStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BulkEmailSenderTest {
+
+    private final EmailService emailService = new EmailService(null, new SimpleMeterRegistry(), "recipes@example.com", "Smart Recipe Generator");
+    private final EmailQueue emailQueue = mock(EmailQueue.class);
+
+    @Test
+    void groupsRecipientsIntoBatchesSharingOneRendering() {
+        when(emailQueue.submit(any())).thenAnswer(call -> job(call.getArgument(0)));
+        BulkEmailSender sender = new BulkEmailSender(emailService, emailQueue, 2);
+
+        List<RecipientStatus> statuses = sender.sendRecipe(
+                List.of("a@example.com", "b@example.com", "c@example.com"), "Boil water", "Tea");
+
+        ArgumentCaptor<EmailMessage> batches = ArgumentCaptor.forClass(EmailMessage.class);
+        verify(emailQueue, times(2)).submit(batches.capture());
+        assertEquals(List.of("a@example.com", "b@example.com"), batches.getAllValues().get(0).recipients());
+        assertEquals(List.of("c@example.com"), batches.getAllValues().get(1).recipients());
+        assertSame(batches.getAllValues().get(0).html(), batches.getAllValues().get(1).html());
+
+        assertTrue(statuses.stream().allMatch(s -> s.status() == RecipientStatus.Status.QUEUED));
+        assertEquals(statuses.get(0).jobId(), statuses.get(1).jobId());
+        assertFalse(statuses.get(0).jobId().equals(statuses.get(2).jobId()));
+    }
+
+    @Test
+    void reportsInvalidAndDuplicateAddressesInRequestOrder() {
+        when(emailQueue.submit(any())).thenAnswer(call -> job(call.getArgument(0)));
+        BulkEmailSender sender = new BulkEmailSender(emailService, emailQueue, 10);
+
+        List<RecipientStatus> statuses = sender.sendRecipe(
+                Arrays.asList("cook@example.com", "not-an-email", null, " COOK@example.com", "chef@example.com"),
+                "Boil water", "Tea");
+
+        assertEquals(List.of(RecipientStatus.Status.QUEUED, RecipientStatus.Status.INVALID,
+                        RecipientStatus.Status.INVALID, RecipientStatus.Status.DUPLICATE, RecipientStatus.Status.QUEUED),
+                statuses.stream().map(RecipientStatus::status).toList());
+        assertEquals("COOK@example.com", statuses.get(3).email());
+        verify(emailQueue, times(1)).submit(any());
+    }
+
+    @Test
+    void rejectsTheRemainingBatchesOnceTheQueueIsFull() {
+        List<EmailMessage> accepted = new ArrayList<>();
+        when(emailQueue.submit(any())).thenAnswer(call -> {
+            if (!accepted.isEmpty()) {
+                throw new RejectedExecutionException();
+            }
+            accepted.add(call.getArgument(0));
+            return job(call.getArgument(0));
+        });
+        BulkEmailSender sender = new BulkEmailSender(emailService, emailQueue, 1);
+
+        List<RecipientStatus> statuses = sender.sendRecipe(
+                List.of("a@example.com", "b@example.com", "c@example.com"), "Boil water", "Tea");
+
+        assertEquals(RecipientStatus.Status.QUEUED, statuses.get(0).status());
+        assertEquals(RecipientStatus.Status.REJECTED, statuses.get(1).status());
+        assertEquals(RecipientStatus.Status.REJECTED, statuses.get(2).status());
+        assertNull(statuses.get(2).jobId());
+        // Stops submitting after the first rejection
+        verify(emailQueue, times(2)).submit(any());
+    }
+
+    private static EmailJob job(EmailMessage message) {
+        return new EmailJob(message.recipients().get(0) + "-job", message.recipients().get(0), message.recipients().size());
+    }
+}
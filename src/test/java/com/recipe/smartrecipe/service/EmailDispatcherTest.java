@@ -0,0 +1,145 @@
+package com.recipe.smartrecipe.service;
+
+import com.recipe.smartrecipe.config.SendGridConfig;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the real SendGrid client against a local stub server that plays back scripted statuses.
+ */
+class EmailDispatcherTest {
+
+    private final Queue<Integer> statuses = new ConcurrentLinkedQueue<>();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private HttpServer stub;
+    private CloseableHttpClient httpClient;
+    private EmailService emailService;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.createContext("/v3/mail/send", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            requests.add(exchange.getRequestHeaders().getFirst("Authorization") + " " + body);
+            Integer status = statuses.poll();
+            exchange.sendResponseHeaders(status != null ? status : 202, -1);
+            exchange.close();
+        });
+        stub.start();
+
+        SendGridConfig config = new SendGridConfig();
+        httpClient = config.sendGridHttpClient(4, Duration.ofSeconds(2), Duration.ofSeconds(2));
+        emailService = new EmailService(
+                config.sendGrid(httpClient, "test-key", "127.0.0.1:" + stub.getAddress().getPort(), false),
+                registry, "recipes@example.com", "Smart Recipe Generator");
+    }
+
+    @AfterEach
+    void stopStub() throws IOException {
+        httpClient.close();
+        stub.stop(0);
+    }
+
+    @Test
+    void retriesServerErrorsWithBackoffUntilSent() throws InterruptedException {
+        statuses.add(503);
+        statuses.add(429);
+        EmailDispatcher dispatcher = dispatcher(4, 10, 5);
+
+        EmailJob job = dispatcher.submit(emailService.recipeEmail("cook@example.com", "Boil water", "Tea"));
+        awaitFinished(job);
+
+        assertEquals(EmailJob.Status.SENT, job.getStatus());
+        assertEquals(3, job.getAttempts());
+        assertEquals(3, requests.size());
+        assertTrue(requests.get(2).startsWith("Bearer test-key "));
+        assertTrue(requests.get(2).contains("cook@example.com"));
+        assertEquals(job, dispatcher.getJob(job.getId()).orElseThrow());
+        assertEquals(2, registry.get("email.send").tag("outcome", "retryable-error").timer().count());
+        assertEquals(1, registry.get("email.send").tag("outcome", "success").timer().count());
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void clientErrorsFailWithoutRetrying() throws InterruptedException {
+        statuses.add(400);
+        EmailDispatcher dispatcher = dispatcher(4, 10, 5);
+
+        EmailJob job = dispatcher.submit(emailService.recipeEmail("cook@example.com", "Boil water", "Tea"));
+        awaitFinished(job);
+
+        assertEquals(EmailJob.Status.FAILED, job.getStatus());
+        assertEquals(1, job.getAttempts());
+        assertEquals("SendGrid returned 400", job.getLastError());
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() throws InterruptedException {
+        for (int i = 0; i < 5; i++) {
+            statuses.add(500);
+        }
+        EmailDispatcher dispatcher = dispatcher(4, 10, 3);
+
+        EmailJob job = dispatcher.submit(emailService.recipeEmail("cook@example.com", "Boil water", "Tea"));
+        awaitFinished(job);
+
+        assertEquals(EmailJob.Status.FAILED, job.getStatus());
+        assertEquals(3, job.getAttempts());
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void rejectsWhenTheQueueIsFull() {
+        // One worker blocked on a slow send, and room for one more job in the queue
+        stub.removeContext("/v3/mail/send");
+        stub.createContext("/v3/mail/send", exchange -> {
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(202, -1);
+            exchange.close();
+        });
+        EmailDispatcher dispatcher = dispatcher(1, 1, 1);
+        EmailMessage message = emailService.recipeEmail("cook@example.com", "Boil water", "Tea");
+
+        dispatcher.submit(message);
+        dispatcher.submit(message);
+        assertThrows(RejectedExecutionException.class, () -> dispatcher.submit(message));
+        dispatcher.shutdown();
+    }
+
+    private EmailDispatcher dispatcher(int workers, int queueCapacity, int maxAttempts) {
+        return new EmailDispatcher(emailService, workers, queueCapacity, maxAttempts,
+                Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofMinutes(1), false);
+    }
+
+    private static void awaitFinished(EmailJob job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (job.getStatus() != EmailJob.Status.SENT && job.getStatus() != EmailJob.Status.FAILED
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.recipe.smartrecipe.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmailTemplateTest {
+
+    @Test
+    void fillsRepeatedAndReorderedSlots() {
+        EmailTemplate template = EmailTemplate.text("{{b}} and {{a}}, then {{ b }}.", "a", "b");
+
+        assertEquals("2 and 1, then 2.", template.render("1", "2"));
+        assertEquals(" and 1, then .", template.render("1", null));
+    }
+
+    @Test
+    void htmlTemplatesEscapeValuesButNotMarkup() {
+        EmailTemplate template = EmailTemplate.html("<pre>{{content}}</pre>", "content");
+
+        assertEquals("<pre>Salt &amp; pepper &lt;b&gt;&quot;to taste&quot;&#39;</pre>",
+                template.render("Salt & pepper <b>\"to taste\"'"));
+    }
+
+    @Test
+    void rejectsUnknownMissingAndUnclosedPlaceholders() {
+        assertThrows(IllegalArgumentException.class, () -> EmailTemplate.text("{{title}}", "content"));
+        assertThrows(IllegalArgumentException.class, () -> EmailTemplate.text("{{title}}", "title", "content"));
+        assertThrows(IllegalArgumentException.class, () -> EmailTemplate.text("{{title", "title"));
+        assertThrows(IllegalArgumentException.class, () -> EmailTemplate.text("{{title}}", "title").render());
+    }
+
+    @Test
+    void recipeEmailEscapesOnlyTheHtmlBody() {
+        EmailService emailService = new EmailService(null, new SimpleMeterRegistry(), "recipes@example.com", "Smart Recipe Generator");
+
+        EmailMessage message = emailService.recipeEmail("cook@example.com", "Mix <flour> & eggs", "Mac & Cheese");
+
+        assertTrue(message.html().contains("<h2>Mac &amp; Cheese</h2>"));
+        assertTrue(message.html().contains(">Mix &lt;flour&gt; &amp; eggs</pre>"));
+        assertTrue(message.html().contains("#e74c3c 0%, #c0392b 100%"));
+        assertTrue(message.text().contains("Your Recipe: Mac & Cheese\n\nMix <flour> & eggs\n"));
+        assertFalse(message.text().contains("{{"));
+    }
+
+    @Test
+    void reviewEmailRendersStarsAndDefaults() {
+        EmailService emailService = new EmailService(null, new SimpleMeterRegistry(), "recipes@example.com", "Smart Recipe Generator");
+
+        EmailMessage message = emailService.reviewEmail("cook@example.com", "Lovely", "Tea", null, 4);
+
+        assertEquals("🍳 Your Recipe: Review for: Tea", message.subject());
+        assertTrue(message.text().contains("Reviewer: Anonymous\nRating: ★★★★ (4/5)\n\nReview:\nLovely\n"));
+    }
+}
@@ -0,0 +1,31 @@
+package com.recipe.smartrecipe.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GenerationStageTimersTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final GenerationStageTimers timers = new GenerationStageTimers(registry);
+
+    @Test
+    void recordsEachStageUnderItsOutcome() {
+        assertEquals("content", timers.time(GenerationStageTimers.Stage.RENDER, () -> "content"));
+        assertThrows(IllegalStateException.class, () -> timers.run(GenerationStageTimers.Stage.SAVE_RECIPE, () -> {
+            throw new IllegalStateException("deadlock");
+        }));
+
+        assertEquals(1, count("render", "success"));
+        assertEquals(0, count("render", "error"));
+        assertEquals(1, count("save-recipe", "error"));
+        // Registered up front, so dashboards see every stage from startup
+        assertEquals(0, count("ensure-user", "success"));
+    }
+
+    private long count(String stage, String outcome) {
+        return registry.get(GenerationStageTimers.METRIC).tag("stage", stage).tag("outcome", outcome).timer().count();
+    }
+}
@@ -0,0 +1,54 @@
+package com.recipe.smartrecipe.service;
+
+import com.recipe.smartrecipe.dto.RecipeRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IngredientAnalyzerTest {
+
+    private final IngredientAnalyzer analyzer = new IngredientAnalyzer();
+
+    @Test
+    void matchesSameKeywordsAsSubstringSearch() {
+        List<String> inputs = List.of(
+                "eggs, tomatoes, milk",
+                "Chicken Breast,ONIONS,  rice",
+                "eggplant, potatoes",
+                "smoked salmon, spinach, mushrooms, carrots",
+                "beef,pasta,fish sauce",
+                "shellfish,ricotta,onion",
+                "tomatoegg",
+                "water",
+                "  , egg"
+        );
+
+        for (String ingredients : inputs) {
+            RecipeFeatures features = analyzer.analyze(request(ingredients));
+            String lowered = ingredients.toLowerCase();
+            String firstIngredient = lowered.split(",")[0].trim();
+
+            for (IngredientKeyword keyword : IngredientKeyword.values()) {
+                assertEquals(lowered.contains(keyword.getToken()), features.has(keyword),
+                        keyword + " in '" + ingredients + "'");
+                assertEquals(firstIngredient.contains(keyword.getToken()), features.firstIngredientHas(keyword),
+                        keyword + " in first ingredient of '" + ingredients + "'");
+            }
+        }
+    }
+
+    @Test
+    void keepsTrimmedIngredientsInRequestOrder() {
+        RecipeFeatures features = analyzer.analyze(request(" Eggs , Milk,tomato "));
+
+        assertEquals(List.of("Eggs", "Milk", "tomato"), features.ingredients());
+        assertEquals("italian", features.cuisine());
+        assertEquals("beginner", features.complexity());
+    }
+
+    private static RecipeRequest request(String ingredients) {
+        return new RecipeRequest(ingredients, "DINNER", "Italian", "UNDER_30", "Beginner");
+    }
+}
@@ -0,0 +1,23 @@
+package com.recipe.smartrecipe.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IngredientTokenizerTest {
+
+    @Test
+    void splitsLowercasesAndFoldsPlurals() {
+        assertEquals(List.of("tomato", "egg", "cherry", "olive", "oil", "peach"),
+                List.copyOf(IngredientTokenizer.tokens("Tomatoes, 2 EGGS,  cherries; olive oil, peaches, eggs")));
+    }
+
+    @Test
+    void keepsWordsThatOnlyLookPlural() {
+        assertEquals("asparagus", IngredientTokenizer.singular("asparagus"));
+        assertEquals("swiss", IngredientTokenizer.singular("swiss"));
+        assertEquals("eggplant", IngredientTokenizer.singular("eggplants"));
+    }
+}
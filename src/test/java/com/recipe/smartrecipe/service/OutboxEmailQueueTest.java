@@ -0,0 +1,181 @@
+package com.recipe.smartrecipe.service;
+
+import com.recipe.smartrecipe.entity.EmailOutbox;
+import com.recipe.smartrecipe.repository.EmailOutboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// Claims and outcomes are separate transactions, so they have to really commit
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxEmailQueueTest {
+
+    private static final EmailMessage MESSAGE = new EmailMessage("cook@example.com", "Tea", "text", "<p>html</p>");
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final EmailService emailService = mock(EmailService.class);
+    private OutboxEmailQueue queue;
+
+    @BeforeEach
+    void createQueue() {
+        // Not started: the test drives the poller by hand
+        queue = new OutboxEmailQueue(emailOutboxRepository, emailService, transactionManager,
+                2, 10, Duration.ofSeconds(1), Duration.ofMinutes(2), 3,
+                Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ofHours(1), false);
+    }
+
+    @AfterEach
+    void clearOutbox() {
+        queue.stop();
+        emailOutboxRepository.deleteAll();
+    }
+
+    @Test
+    void submittedEmailsAreStoredAndSentByThePoller() throws InterruptedException {
+        doNothing().when(emailService).deliver(any());
+
+        EmailJob job = queue.submit(MESSAGE);
+        assertEquals(EmailJob.Status.QUEUED, queue.getJob(job.getId()).orElseThrow().getStatus());
+
+        assertEquals(1, queue.drainOnce());
+        verify(emailService).deliver(MESSAGE);
+
+        EmailJob sent = queue.getJob(job.getId()).orElseThrow();
+        assertEquals(EmailJob.Status.SENT, sent.getStatus());
+        assertEquals(1, sent.getAttempts());
+        assertEquals(0, queue.drainOnce());
+    }
+
+    @Test
+    void retryableFailuresWaitForTheirBackoff() throws InterruptedException {
+        doThrow(new EmailDeliveryException("SendGrid returned 503", true)).when(emailService).deliver(any());
+
+        EmailJob job = queue.submit(MESSAGE);
+        assertEquals(1, queue.drainOnce());
+
+        EmailJob retrying = queue.getJob(job.getId()).orElseThrow();
+        assertEquals(EmailJob.Status.RETRYING, retrying.getStatus());
+        assertEquals("SendGrid returned 503", retrying.getLastError());
+        // Next attempt is at least half the one-minute backoff away
+        assertEquals(0, queue.drainOnce());
+        verify(emailService, times(1)).deliver(any());
+    }
+
+    @Test
+    void permanentFailuresAreNotRetried() throws InterruptedException {
+        doThrow(new EmailDeliveryException("SendGrid returned 400", false)).when(emailService).deliver(any());
+
+        EmailJob job = queue.submit(MESSAGE);
+        queue.drainOnce();
+
+        assertEquals(EmailJob.Status.FAILED, queue.getJob(job.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void leasedRowsAreOnlyReclaimedAfterTheLeaseExpires() {
+        queue.submit(MESSAGE);
+        LocalDateTime now = LocalDateTime.now();
+
+        EmailOutbox claimed = claim(now).get(0);
+        assertEquals(EmailOutbox.SENDING, claimed.getStatus());
+        assertTrue(claim(now).isEmpty());
+        // As if the claiming instance died mid-send
+        assertEquals(1, claim(now.plusMinutes(3)).size());
+    }
+
+    @Test
+    void unexpectedErrorsAreRetriedInsteadOfLeavingTheRowLeased() throws InterruptedException {
+        doThrow(new IllegalStateException("connection pool shut down")).when(emailService).deliver(any());
+
+        EmailJob job = queue.submit(MESSAGE);
+        assertEquals(1, queue.drainOnce());
+
+        EmailJob retrying = queue.getJob(job.getId()).orElseThrow();
+        assertEquals(EmailJob.Status.RETRYING, retrying.getStatus());
+        assertEquals("java.lang.IllegalStateException: connection pool shut down", retrying.getLastError());
+    }
+
+    @Test
+    void expiredLeasesOnTheLastAttemptAreFailedNotReclaimed() {
+        EmailJob job = queue.submit(MESSAGE);
+        LocalDateTime now = LocalDateTime.now();
+        for (int attempt = 1; attempt <= 3; attempt++) {
+            // Each instance that claims the row dies mid-send
+            assertEquals(1, claim(now.plusMinutes(3L * attempt)).size());
+        }
+
+        assertTrue(claim(now.plusMinutes(12)).isEmpty());
+        int failed = new TransactionTemplate(transactionManager).execute(status ->
+                emailOutboxRepository.failExpiredLeases(now.plusMinutes(12), 3));
+        assertEquals(1, failed);
+        assertEquals(EmailJob.Status.FAILED, queue.getJob(job.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void aPollClaimsNoMoreRowsThanThereAreWorkers() throws InterruptedException {
+        doNothing().when(emailService).deliver(any());
+        for (int i = 0; i < 3; i++) {
+            queue.submit(MESSAGE);
+        }
+
+        // Two workers, so the third row stays queued instead of aging under a lease
+        assertEquals(2, queue.drainOnce());
+        assertEquals(1, queue.drainOnce());
+    }
+
+    @Test
+    void aStaleSenderCannotOverwriteANewerClaim() throws InterruptedException {
+        doAnswer(invocation -> {
+            // This send outlived its lease and another instance reclaimed the row meanwhile
+            assertEquals(1, claim(LocalDateTime.now().plusMinutes(3)).size());
+            throw new EmailDeliveryException("SendGrid read timed out", true);
+        }).when(emailService).deliver(any());
+
+        EmailJob job = queue.submit(MESSAGE);
+        assertEquals(1, queue.drainOnce());
+
+        // The RETRYING outcome of attempt 1 was dropped; attempt 2 still owns the row
+        EmailJob reclaimed = queue.getJob(job.getId()).orElseThrow();
+        assertEquals(EmailJob.Status.SENDING, reclaimed.getStatus());
+        assertEquals(2, reclaimed.getAttempts());
+    }
+
+    // One claim transaction, as the poller runs it
+    private List<EmailOutbox> claim(LocalDateTime now) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            List<EmailOutbox> due = emailOutboxRepository.claimDue(now, 3, 10);
+            due.forEach(row -> {
+                row.setStatus(EmailOutbox.SENDING);
+                row.setAttempts(row.getAttempts() + 1);
+                row.setLeaseExpiresAt(now.plusMinutes(2));
+            });
+            return due;
+        });
+    }
+}
@@ -0,0 +1,109 @@
+package com.recipe.smartrecipe.service;
+
+import com.recipe.smartrecipe.dto.ReviewResponse;
+import com.recipe.smartrecipe.repository.ReviewRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RecentReviewFeedTest {
+
+    private final ReviewRepository reviewRepository = mock(ReviewRepository.class);
+
+    @Test
+    void warmsFromTheNewestReviewsAndServesNewestFirst() {
+        when(reviewRepository.findLatest(3)).thenReturn(List.of(review(9), review(8), review(7)));
+        RecentReviewFeed feed = new RecentReviewFeed(reviewRepository, 3);
+        feed.warm();
+        verify(reviewRepository).findLatest(3);
+
+        assertEquals(List.of(9L, 8L, 7L), ids(feed.latest(10)));
+
+        feed.append(review(10));
+        assertEquals(List.of(10L, 9L), ids(feed.latest(2)));
+        assertEquals(List.of(10L, 9L, 8L), ids(feed.latest(10)));
+    }
+
+    @Test
+    void updatesAndDeletesApplyToReviewsStillInTheFeed() {
+        RecentReviewFeed feed = new RecentReviewFeed(reviewRepository, 4);
+        feed.append(review(1));
+        feed.append(review(2));
+
+        ReviewResponse edited = review(1);
+        edited.setRating(1);
+        feed.replace(edited);
+        feed.remove(2L);
+
+        List<ReviewResponse> latest = feed.latest(4);
+        assertEquals(List.of(1L), ids(latest));
+        assertEquals(1, latest.get(0).getRating());
+    }
+
+    @Test
+    void aSlowWriterNeverOverwritesANewerReview() {
+        RecentReviewFeed feed = new RecentReviewFeed(reviewRepository, 1);
+        feed.append(review(1));
+        feed.append(review(2));
+
+        // The writer that claimed sequence 0 only gets to store now
+        feed.store(0, review(1));
+
+        assertEquals(List.of(2L), ids(feed.latest(1)));
+    }
+
+    @Test
+    void concurrentAppendsKeepTheNewestWindow() throws InterruptedException {
+        RecentReviewFeed feed = new RecentReviewFeed(reviewRepository, 64);
+        ExecutorService writers = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            writers.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < 1000; i++) {
+                    feed.append(review(thread * 1000L + i));
+                    assertTrue(feed.latest(64).size() <= 64);
+                }
+            });
+        }
+        start.countDown();
+        writers.shutdown();
+        assertTrue(writers.awaitTermination(10, TimeUnit.SECONDS));
+
+        List<ReviewResponse> latest = feed.latest(64);
+        assertEquals(64, latest.size());
+        Set<Long> unique = new HashSet<>(ids(latest));
+        assertEquals(64, unique.size());
+    }
+
+    private static ReviewResponse review(long id) {
+        ReviewResponse review = new ReviewResponse();
+        review.setId(id);
+        review.setRating(5);
+        return review;
+    }
+
+    private static List<Long> ids(List<ReviewResponse> reviews) {
+        List<Long> ids = new ArrayList<>();
+        reviews.forEach(review -> ids.add(review.getId()));
+        return ids;
+    }
+}
@@ -0,0 +1,158 @@
+package com.recipe.smartrecipe.service;
+
+import com.recipe.smartrecipe.dto.RecipeRequest;
+import com.recipe.smartrecipe.dto.RecipeResponse;
+import com.recipe.smartrecipe.entity.Recipe;
+import com.recipe.smartrecipe.entity.RecipeRequestEntity;
+import com.recipe.smartrecipe.entity.User;
+import com.recipe.smartrecipe.repository.RecipeRepository;
+import com.recipe.smartrecipe.repository.RecipeRequestRepository;
+import com.recipe.smartrecipe.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RecipeBatchGenerationTest {
+
+    private static final long USER_ID = 7L;
+
+    private final RecipeRepository recipeRepository = mock(RecipeRepository.class);
+    private final RecipeRequestRepository recipeRequestRepository = mock(RecipeRequestRepository.class);
+    private final UserCache userCache = mock(UserCache.class);
+    private final RecipeGenerationCache recipeGenerationCache = mock(RecipeGenerationCache.class);
+    private final RecipeIngredientIndex recipeIngredientIndex = mock(RecipeIngredientIndex.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RecipeService recipeService = new RecipeService(
+            recipeRepository,
+            recipeRequestRepository,
+            mock(UserRepository.class),
+            userCache,
+            recipeGenerationCache,
+            mock(RecipeWriteBehindQueue.class),
+            recipeIngredientIndex,
+            new GenerationStageTimers(registry),
+            mock(RecipeEntityCache.class),
+            mock(ApplicationEventPublisher.class),
+            new TransactionTemplate(transactionManager));
+
+    private final AtomicLong requestIds = new AtomicLong(100);
+
+    @BeforeEach
+    void stubCollaborators() {
+        User user = new User();
+        user.setId(USER_ID);
+        when(userCache.resolve(eq(USER_ID), any())).thenReturn(user);
+        when(recipeGenerationCache.generate(any())).thenAnswer(invocation -> {
+            RecipeRequest request = invocation.getArgument(0);
+            if (request.getIngredients().equals("nothing")) {
+                throw new IllegalStateException("no ingredients");
+            }
+            return "🍳 " + request.getIngredients();
+        });
+        when(recipeRequestRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<RecipeRequestEntity> requests = invocation.getArgument(0);
+            requests.forEach(request -> request.setId(requestIds.incrementAndGet()));
+            return requests;
+        });
+        when(recipeRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void keepsInputOrderAndReportsFailuresPerItem() {
+        List<RecipeResponse> responses = recipeService.generateRecipes(List.of(
+                request("eggs"), request("rice"), request("nothing"), request("tofu"), request("beans")), USER_ID);
+
+        assertEquals(List.of("🍳 eggs", "🍳 rice", "", "🍳 tofu", "🍳 beans"),
+                responses.stream().map(RecipeResponse::getContent).toList());
+        assertEquals("error", responses.get(2).getStatus());
+        assertEquals("Failed to generate recipe: no ingredients", responses.get(2).getMessage());
+        verify(userCache, times(1)).resolve(eq(USER_ID), any());
+
+        // One batch of requests and one of recipes, each recipe pointing at its own request
+        ArgumentCaptor<List<Recipe>> saved = recipesCaptor();
+        verify(recipeRequestRepository, times(1)).saveAll(any());
+        verify(recipeRepository, times(1)).saveAll(saved.capture());
+        assertEquals(List.of(101L, 102L, 103L, 104L), saved.getValue().stream().map(Recipe::getRequestId).toList());
+        assertEquals("🍳 tofu", saved.getValue().get(2).getContent());
+        assertTrue(saved.getValue().stream().allMatch(recipe -> recipe.getUserId() == USER_ID));
+
+        // Render is timed per item, the batched writes once per batch
+        assertEquals(4, count("render", "success"));
+        assertEquals(1, count("render", "error"));
+        assertEquals(1, count("save-request", "success"));
+        assertEquals(1, count("save-recipe", "success"));
+        assertEquals(1, count("index-ingredients", "success"));
+    }
+
+    @Test
+    void aFailedUserLookupIsTimedAsAnError() {
+        when(userCache.resolve(eq(USER_ID), any())).thenThrow(new IllegalStateException("connection refused"));
+
+        // Generation carries on with a temporary user
+        List<RecipeResponse> responses = recipeService.generateRecipes(List.of(request("eggs")), USER_ID);
+
+        assertEquals("🍳 eggs", responses.get(0).getContent());
+        assertEquals(1, count("ensure-user", "error"));
+        assertEquals(0, count("ensure-user", "success"));
+    }
+
+    @Test
+    void aFailedSaveFailsEveryGeneratedItem() {
+        when(recipeRepository.saveAll(any())).thenThrow(new IllegalStateException("deadlock"));
+
+        List<RecipeResponse> responses = recipeService.generateRecipes(
+                List.of(request("eggs"), request("nothing")), USER_ID);
+
+        assertEquals("Failed to save recipe: deadlock", responses.get(0).getMessage());
+        assertEquals("Failed to generate recipe: no ingredients", responses.get(1).getMessage());
+        assertTrue(responses.stream().allMatch(response -> response.getStatus().equals("error")));
+    }
+
+    @Test
+    void singleGenerationRollsBackWhenIndexingFails() {
+        when(recipeRequestRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(recipeRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new IllegalStateException("lock wait timeout"))
+                .when(recipeIngredientIndex).index(any(Recipe.class), any());
+
+        assertThrows(IllegalStateException.class, () -> recipeService.generateRecipe(request("eggs"), USER_ID));
+
+        // Request, recipe and tokens share one transaction, so none of them is committed
+        verify(transactionManager, times(1)).getTransaction(any());
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    private long count(String stage, String outcome) {
+        return registry.get(GenerationStageTimers.METRIC).tag("stage", stage).tag("outcome", outcome).timer().count();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<Recipe>> recipesCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+
+    private static RecipeRequest request(String ingredients) {
+        return new RecipeRequest(ingredients, "DINNER", "Italian", "UNDER_30", "Beginner");
+    }
+}
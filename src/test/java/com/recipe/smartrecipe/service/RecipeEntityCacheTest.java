@@ -0,0 +1,171 @@
+package com.recipe.smartrecipe.service;
+
+import com.recipe.smartrecipe.entity.Recipe;
+import com.recipe.smartrecipe.entity.RecipeRequestEntity;
+import com.recipe.smartrecipe.repository.RecipeRepository;
+import com.recipe.smartrecipe.repository.RecipeRequestRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RecipeEntityCacheTest {
+
+    private final RecipeRepository recipeRepository = mock(RecipeRepository.class);
+    private final RecipeRequestRepository recipeRequestRepository = mock(RecipeRequestRepository.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    // Stands in for the recipe table
+    private final Map<Long, String> contents = new ConcurrentHashMap<>();
+
+    @Test
+    void repeatedReadsHitTheDatabaseOnce() {
+        RecipeEntityCache cache = cache(DataSize.ofMegabytes(1));
+        contents.put(1L, "Boil water");
+        when(recipeRepository.findById(1L)).thenAnswer(invocation -> row(1L));
+
+        cache.findRecipe(1L);
+        cache.findRecipe(1L);
+        cache.findRecipe(1L);
+
+        verify(recipeRepository, times(1)).findById(1L);
+        assertEquals(2.0, registry.get("cache.gets").tag("cache", "recipes").tag("result", "hit").functionCounter().count());
+        assertEquals(2.0 / 3, registry.get("cache.hit.ratio").tag("cache", "recipes").gauge().value(), 1e-9);
+    }
+
+    @Test
+    void unknownIdsAreNotCached() {
+        RecipeEntityCache cache = cache(DataSize.ofMegabytes(1));
+        when(recipeRepository.findById(2L)).thenAnswer(invocation -> row(2L));
+
+        assertTrue(cache.findRecipe(2L).isEmpty());
+        // Written later, e.g. by the write-behind queue
+        contents.put(2L, "Toast bread");
+
+        assertEquals("Toast bread", cache.findRecipe(2L).orElseThrow().getContent());
+    }
+
+    @Test
+    void readsAfterAnUpdateNeverSeeTheOldRow() throws Exception {
+        RecipeEntityCache cache = cache(DataSize.ofMegabytes(1));
+        contents.put(3L, "old");
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        when(recipeRepository.findById(3L)).thenAnswer(invocation -> {
+            Optional<Recipe> recipe = row(3L);
+            if (loads.incrementAndGet() == 1) {
+                // The first load has read the old row and is still in flight
+                loaded.countDown();
+                release.await();
+            }
+            return recipe;
+        });
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Optional<Recipe>> inFlight = executor.submit(() -> cache.findRecipe(3L));
+            assertTrue(loaded.await(5, TimeUnit.SECONDS));
+
+            // Commit, then invalidate, while the old row is still on its way into the cache
+            contents.put(3L, "new");
+            cache.onRecipesChanged(RecipesChanged.recipes(List.of(3L)));
+            release.countDown();
+
+            assertEquals("old", inFlight.get(5, TimeUnit.SECONDS).orElseThrow().getContent());
+            assertEquals("new", cache.findRecipe(3L).orElseThrow().getContent());
+            assertEquals("new", cache.findRecipe(3L).orElseThrow().getContent());
+            assertEquals(2, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void requestChangesDropTheRequestAndItsRecipes() {
+        RecipeEntityCache cache = cache(DataSize.ofMegabytes(1));
+        contents.put(4L, "Stir fry");
+        contents.put(5L, "Fried rice");
+        when(recipeRepository.findById(anyLong())).thenAnswer(invocation -> row(invocation.getArgument(0)));
+        RecipeRequestEntity request = new RecipeRequestEntity();
+        request.setId(9L);
+        request.setIngredients("rice");
+        when(recipeRequestRepository.findById(9L)).thenReturn(Optional.of(request));
+
+        cache.findRecipe(4L);
+        cache.findRecipe(5L);
+        cache.findRecipeRequest(9L);
+        cache.onRecipesChanged(RecipesChanged.request(9L, List.of(4L)));
+
+        assertTrue(cache.cachedRecipe(4L).isEmpty());
+        assertTrue(cache.cachedRecipe(5L).isPresent());
+        cache.findRecipeRequest(9L);
+        verify(recipeRequestRepository, times(2)).findById(9L);
+
+        cache.onRecipesChanged(RecipesChanged.recipeWindow(5L, 6L));
+        assertTrue(cache.cachedRecipe(5L).isEmpty());
+    }
+
+    @Test
+    void evictsByContentSize() throws InterruptedException {
+        String content = "x".repeat(1000);
+        int weight = RecipeEntityCache.weighRecipe(recipe(0L, content));
+        RecipeEntityCache cache = cache(DataSize.ofBytes(3L * weight));
+        when(recipeRepository.findById(anyLong())).thenAnswer(invocation -> row(invocation.getArgument(0)));
+        for (long id = 10; id < 20; id++) {
+            contents.put(id, content);
+            cache.findRecipe(id);
+        }
+
+        // Completed loads are weighed, and evicted, on Caffeine's maintenance executor
+        long deadline = System.currentTimeMillis() + 5000;
+        while (evictions() < 7 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(evictions() >= 7);
+        assertTrue(registry.get("cache.weighted.size").tag("cache", "recipes").gauge().value() <= 3.0 * weight);
+    }
+
+    private double evictions() {
+        return registry.get("cache.evictions").tag("cache", "recipes").functionCounter().count();
+    }
+
+    private RecipeEntityCache cache(DataSize recipesMaximumWeight) {
+        return new RecipeEntityCache(recipeRepository, recipeRequestRepository, registry,
+                recipesMaximumWeight, DataSize.ofMegabytes(1), Duration.ofMinutes(30));
+    }
+
+    // A fresh entity per read, as a new persistence context would return
+    private Optional<Recipe> row(Long id) {
+        String content = contents.get(id);
+        return content != null ? Optional.of(recipe(id, content)) : Optional.empty();
+    }
+
+    private static Recipe recipe(Long id, String content) {
+        Recipe recipe = new Recipe();
+        recipe.setId(id);
+        recipe.setContent(content);
+        recipe.setTitle(Recipe.titleOf(content));
+        return recipe;
+    }
+}
@@ -0,0 +1,103 @@
+package com.recipe.smartrecipe.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recipe.smartrecipe.entity.Recipe;
+import com.recipe.smartrecipe.entity.RecipeRequestEntity;
+import com.recipe.smartrecipe.repository.RecipeRepository;
+import com.recipe.smartrecipe.repository.RecipeRequestRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// A fetch size below the row count, so the cursor is read in several round trips
+@DataJpaTest(properties = "recipe.export.fetch-size=2")
+@Import({RecipeExportService.class, JacksonAutoConfiguration.class})
+class RecipeExportServiceTest {
+
+    @Autowired
+    private RecipeExportService recipeExportService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private RecipeRequestRepository recipeRequestRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void writesOneJsonObjectPerLineOldestFirst() throws Exception {
+        LocalDateTime base = LocalDateTime.of(2024, 5, 1, 8, 0);
+        recipeRepository.saveAll(List.of(
+                recipe("second", base.plusHours(1)),
+                recipe("first", base),
+                recipe("third", base.plusHours(2))));
+
+        ByteArrayOutputStream all = new ByteArrayOutputStream();
+        assertEquals(3, recipeExportService.exportRecipes(null, all));
+        assertEquals(List.of("first", "second", "third"), contents(all));
+
+        ByteArrayOutputStream incremental = new ByteArrayOutputStream();
+        assertEquals(2, recipeExportService.exportRecipes(base.plusHours(1), incremental));
+        assertEquals(List.of("second", "third"), contents(incremental));
+    }
+
+    @Test
+    void exportsRecipeRequests() throws Exception {
+        recipeRequestRepository.saveAll(List.of(request("eggs"), request("rice"), request("tofu")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(3, recipeExportService.exportRecipeRequests(null, out));
+        assertEquals(List.of("eggs", "rice", "tofu"), fields(out, "ingredients"));
+    }
+
+    private List<String> contents(ByteArrayOutputStream out) throws Exception {
+        return fields(out, "content");
+    }
+
+    private List<String> fields(ByteArrayOutputStream out, String field) throws Exception {
+        String ndjson = out.toString(StandardCharsets.UTF_8);
+        assertEquals('\n', ndjson.charAt(ndjson.length() - 1));
+        return ndjson.lines()
+                .map(line -> {
+                    try {
+                        JsonNode node = objectMapper.readTree(line);
+                        return node.get(field).asText();
+                    } catch (Exception e) {
+                        throw new AssertionError("Not a JSON line: " + line, e);
+                    }
+                })
+                .toList();
+    }
+
+    private static RecipeRequestEntity request(String ingredients) {
+        RecipeRequestEntity request = new RecipeRequestEntity();
+        request.setUserId(1L);
+        request.setIngredients(ingredients);
+        request.setMealType("DINNER");
+        request.setCuisine("Italian");
+        request.setCookingTime("UNDER_30");
+        request.setComplexity("Beginner");
+        return request;
+    }
+
+    private static Recipe recipe(String content, LocalDateTime createdAt) {
+        Recipe recipe = new Recipe();
+        recipe.setUserId(1L);
+        recipe.setRequestId(1L);
+        recipe.setContent(content);
+        recipe.setCreatedAt(createdAt);
+        return recipe;
+    }
+}
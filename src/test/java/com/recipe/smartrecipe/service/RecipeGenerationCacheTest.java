@@ -0,0 +1,44 @@
+package com.recipe.smartrecipe.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recipe.smartrecipe.dto.RecipeRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RecipeGenerationCacheTest {
+
+    private final RecipeContentGenerator generator =
+            new RecipeContentGenerator(new IngredientAnalyzer(), new RecipeTemplateCatalog(new ObjectMapper()));
+
+    @Test
+    void deterministicModeRendersEquivalentRequestsIdentically() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RecipeGenerationCache cache = new RecipeGenerationCache(generator, registry, true, 100, Duration.ofMinutes(5));
+
+        String first = cache.generate(new RecipeRequest("Tomatoes, eggs ,milk", "DINNER", "Italian", "MIN_30_60", "Intermediate"));
+        String second = cache.generate(new RecipeRequest("milk,EGGS,tomatoes", "DINNER", "Italian", "MIN_30_60", "Intermediate"));
+
+        assertEquals(body(first), body(second));
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "recipe.generation").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "recipe.generation").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void seedIsStableAcrossCacheInstances() {
+        RecipeRequest request = new RecipeRequest("potato, onion", "LUNCH", "Mexican", "OVER_60", "Advanced");
+
+        String first = new RecipeGenerationCache(generator, new SimpleMeterRegistry(), true, 100, Duration.ofMinutes(5)).generate(request);
+        String second = new RecipeGenerationCache(generator, new SimpleMeterRegistry(), true, 100, Duration.ofMinutes(5)).generate(request);
+
+        assertEquals(body(first), body(second));
+    }
+
+    // Drop the title and timestamp lines, which are rendered per call
+    private static String body(String recipe) {
+        return recipe.substring(recipe.indexOf("🌍"));
+    }
+}
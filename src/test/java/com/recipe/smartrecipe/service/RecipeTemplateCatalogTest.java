@@ -0,0 +1,47 @@
+package com.recipe.smartrecipe.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recipe.smartrecipe.dto.RecipeRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecipeTemplateCatalogTest {
+
+    private final RecipeTemplateCatalog catalog = new RecipeTemplateCatalog(new ObjectMapper());
+
+    @Test
+    void missingCuisinePoolsFallBackToDefaults() {
+        RecipeTemplateCatalog.CuisinePhrases french = catalog.cuisine("french");
+        RecipeTemplateCatalog.CuisinePhrases unknown = catalog.cuisine("nordic");
+
+        assertSame(unknown.cooking(), french.cooking());
+        assertEquals(3, french.seasoning().size());
+        assertEquals(List.of("Season with salt, pepper, and herbs that complement your ingredients"), unknown.seasoning());
+    }
+
+    @Test
+    void unknownComplexityAndCookingTimeUseConfiguredDefaults() {
+        assertSame(catalog.complexityTips("advanced"), catalog.complexityTips("expert"));
+        assertSame(catalog.cookingTime("OVER_60"), catalog.cookingTime("ALL_DAY"));
+        assertEquals("30-60 minutes", catalog.cookingTimeLabel("MIN_30_60"));
+        assertEquals("ALL_DAY", catalog.cookingTimeLabel("ALL_DAY"));
+    }
+
+    @Test
+    void pairedIngredientTipsReplacePlainTips() {
+        IngredientAnalyzer analyzer = new IngredientAnalyzer();
+        RecipeTemplateCatalog.IngredientTips eggTips = catalog.ingredientTips().get(0);
+
+        RecipeFeatures eggsOnly = analyzer.analyze(new RecipeRequest("eggs", "BREAKFAST", "French", "UNDER_30", "Beginner"));
+        RecipeFeatures eggsAndMilk = analyzer.analyze(new RecipeRequest("eggs, milk", "BREAKFAST", "French", "UNDER_30", "Beginner"));
+
+        assertEquals(IngredientKeyword.EGG, eggTips.ingredient());
+        assertTrue(eggTips.tipsFor(eggsOnly).get(0).contains("water"));
+        assertTrue(eggTips.tipsFor(eggsAndMilk).get(0).contains("milk"));
+    }
+}
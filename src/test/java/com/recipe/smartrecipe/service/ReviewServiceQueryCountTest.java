@@ -0,0 +1,162 @@
+package com.recipe.smartrecipe.service;
+
+import com.recipe.smartrecipe.dto.CursorPage;
+import com.recipe.smartrecipe.dto.ReviewRequest;
+import com.recipe.smartrecipe.dto.ReviewResponse;
+import com.recipe.smartrecipe.entity.Recipe;
+import com.recipe.smartrecipe.entity.Review;
+import com.recipe.smartrecipe.repository.RecipeRepository;
+import com.recipe.smartrecipe.repository.ReviewRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// createReview runs the MySQL upsert on rating stats, so keep the MySQL-mode H2 from application.properties
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "recipe.backfill.title.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReviewService.class, RecentReviewFeed.class, RecipeTitleBackfill.class, RecipeEntityCache.class,
+        SimpleMeterRegistry.class})
+class ReviewServiceQueryCountTest {
+
+    private static final long USER_ID = 77L;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private RecipeTitleBackfill recipeTitleBackfill;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void reviewPagesRunOneQueryRegardlessOfSize() {
+        for (int i = 0; i < 10; i++) {
+            Recipe recipe = saveRecipe("🍳 Dish " + i + " RECIPE\nbody");
+            saveReview(recipe, 4);
+            saveReview(recipe, 5);
+        }
+        entityManager.flush();
+
+        assertEquals(1, statementsFor(5));
+        assertEquals(1, statementsFor(20));
+
+        entityManager.clear();
+        CursorPage<ReviewResponse> page = reviewService.getReviewsByUserId(USER_ID, null, 20);
+        assertEquals(20, page.items().size());
+        assertEquals("Dish 9", page.items().get(0).getRecipeTitle());
+    }
+
+    @Test
+    void backfillStoresTitlesForLegacyRecipes() {
+        Recipe recipe = saveRecipe("🍳 Lentil Soup RECIPE\nbody");
+        saveReview(recipe, 3);
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE recipe SET title = NULL WHERE id = ?", recipe.getId());
+        entityManager.clear();
+
+        assertEquals(1, recipeTitleBackfill.backfill());
+        entityManager.flush();
+        entityManager.clear();
+
+        ReviewResponse review = reviewService.getReviewsByRecipeId(recipe.getId(), null, 10).items().get(0);
+        assertEquals("Lentil Soup", review.getRecipeTitle());
+        assertEquals(0, recipeTitleBackfill.backfill());
+    }
+
+    @Test
+    void createReviewLoadsTheRecipeOnce() {
+        Recipe recipe = saveRecipe("🍳 Dal RECIPE\nbody");
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        reviewService.createReview(reviewRequest(recipe.getId(), 5));
+        ReviewResponse second = reviewService.createReview(reviewRequest(recipe.getId(), 4));
+
+        assertEquals(1, statistics.getEntityLoadCount());
+        assertEquals("Dal", second.getRecipeTitle());
+    }
+
+    @Test
+    void recentFeedIgnoresUncommittedAndRolledBackReviews() {
+        Recipe recipe = saveRecipe("🍳 Pho RECIPE\nbody");
+        ReviewResponse created = reviewService.createReview(reviewRequest(recipe.getId(), 5));
+        assertTrue(reviewService.getRecentReviews(200).stream().noneMatch(r -> r.getId().equals(created.getId())));
+
+        // The test transaction rolls back, so the review never reaches the feed
+        TestTransaction.end();
+        assertTrue(reviewService.getRecentReviews(200).stream().noneMatch(r -> r.getId().equals(created.getId())));
+    }
+
+    // Statements prepared and recipe entities loaded while listing one page of a user's reviews
+    private long statementsFor(int size) {
+        entityManager.clear();
+        statistics.clear();
+        CursorPage<ReviewResponse> page = reviewService.getReviewsByUserId(USER_ID, null, size);
+        assertEquals(size, page.items().size());
+        assertNotNull(page.items().get(0).getRecipeTitle());
+        assertEquals(0, statistics.getEntityLoadCount());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Recipe saveRecipe(String content) {
+        Recipe recipe = new Recipe();
+        recipe.setUserId(USER_ID);
+        recipe.setRequestId(1L);
+        recipe.setContent(content);
+        recipe.setCreatedAt(LocalDateTime.now());
+        return recipeRepository.save(recipe);
+    }
+
+    private static ReviewRequest reviewRequest(Long recipeId, int rating) {
+        ReviewRequest request = new ReviewRequest();
+        request.setRecipeId(recipeId);
+        request.setReviewText("Tasty");
+        request.setRating(rating);
+        return request;
+    }
+
+    private void saveReview(Recipe recipe, int rating) {
+        Review review = new Review();
+        review.setRecipe(recipe);
+        review.setUserId(USER_ID);
+        review.setRating(rating);
+        review.setReviewDate(LocalDateTime.now());
+        reviewRepository.save(review);
+    }
+}
@@ -0,0 +1,102 @@
+package com.recipe.smartrecipe.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong(-5 * SECOND);
+
+    @Test
+    void admitsABurstThenRefillsAtTheRate() {
+        TokenBucketLimiter limiter = limiter(2, 3);
+
+        assertEquals(0, limiter.tryAcquire("user:1"));
+        assertEquals(0, limiter.tryAcquire("user:1"));
+        assertEquals(0, limiter.tryAcquire("user:1"));
+        assertEquals(SECOND / 2, limiter.tryAcquire("user:1"));
+
+        // Other users have their own buckets
+        assertEquals(0, limiter.tryAcquire("user:2"));
+
+        clock.addAndGet(SECOND / 2);
+        assertEquals(0, limiter.tryAcquire("user:1"));
+        assertTrue(limiter.tryAcquire("user:1") > 0);
+
+        // Idle for long enough, the bucket is full again but holds no more than the burst
+        clock.addAndGet(10 * SECOND);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("user:1"));
+        }
+        assertTrue(limiter.tryAcquire("user:1") > 0);
+
+        assertEquals(3.0, registry.get("rate.limit.rejected").tag("limiter", "test").counter().count());
+    }
+
+    @Test
+    void multiPermitAcquisitionsAreAllOrNothing() {
+        TokenBucketLimiter limiter = limiter(2, 10);
+
+        assertEquals(0, limiter.tryAcquire("user:1", 7));
+        // Three permits left, so four are refused without taking any
+        assertEquals(SECOND / 2, limiter.tryAcquire("user:1", 4));
+        assertEquals(0, limiter.tryAcquire("user:1", 3));
+        assertTrue(limiter.tryAcquire("user:1") > 0);
+
+        clock.addAndGet(5 * SECOND);
+        assertEquals(0, limiter.tryAcquire("user:1", 10));
+        assertThrows(IllegalArgumentException.class, () -> limiter.tryAcquire("user:1", 11));
+    }
+
+    @Test
+    void concurrentCallersNeverExceedTheBurst() throws Exception {
+        TokenBucketLimiter limiter = limiter(1, 50);
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int admitted = 0;
+                    for (int i = 0; i < 100; i++) {
+                        if (limiter.tryAcquire("user:1") == 0) {
+                            admitted++;
+                        }
+                    }
+                    return admitted;
+                }));
+            }
+            start.countDown();
+            int admitted = 0;
+            for (Future<Integer> result : results) {
+                admitted += result.get();
+            }
+            assertEquals(50, admitted);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private TokenBucketLimiter limiter(double permitsPerSecond, int burst) {
+        return new TokenBucketLimiter("test", permitsPerSecond, burst, Duration.ofMinutes(10), 1000, registry, clock::get);
+    }
+}
@@ -0,0 +1,106 @@
+package com.recipe.smartrecipe.service;
+
+import com.recipe.smartrecipe.entity.User;
+import com.recipe.smartrecipe.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserCacheTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final UserCache cache =
+            new UserCache(userRepository, registry, 100, Duration.ofMinutes(10), Duration.ofSeconds(30));
+
+    @Test
+    void repeatedLookupsHitTheDatabaseOnce() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L)));
+
+        cache.find(1L);
+        cache.find(1L);
+        cache.find(1L);
+
+        verify(userRepository, times(1)).findById(1L);
+        assertEquals(2.0, registry.get("cache.gets").tag("cache", "users").tag("result", "hit").functionCounter().count());
+        assertEquals(2, registry.get("users.cache.time.saved").timer().count());
+    }
+
+    @Test
+    void unknownUsersAreCachedAsAbsent() {
+        when(userRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertTrue(cache.find(2L).isEmpty());
+        assertTrue(cache.find(2L).isEmpty());
+
+        verify(userRepository, times(1)).findById(2L);
+    }
+
+    @Test
+    void concurrentResolvesCreateOneUser() throws Exception {
+        when(userRepository.findById(3L)).thenReturn(Optional.empty());
+        AtomicInteger creations = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<User>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.resolve(3L, id -> {
+                        creations.incrementAndGet();
+                        return user(100L);
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<User> result : results) {
+                assertEquals(100L, result.get().getId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, creations.get());
+        // The created user is also reachable under its own ID
+        assertEquals(100L, cache.find(100L).orElseThrow().getId());
+    }
+
+    @Test
+    void failedLookupsAreNotCached() {
+        when(userRepository.findById(5L))
+                .thenThrow(new IllegalStateException("connection reset"))
+                .thenReturn(Optional.of(user(5L)));
+
+        assertThrows(IllegalStateException.class, () -> cache.find(5L));
+
+        assertEquals(5L, cache.find(5L).orElseThrow().getId());
+        verify(userRepository, times(2)).findById(5L);
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("demo_user_" + id);
+        user.setEmail("demo" + id + "@example.com");
+        return user;
+    }
+}